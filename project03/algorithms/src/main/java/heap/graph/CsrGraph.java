@@ -0,0 +1,220 @@
+package heap.graph;
+
+import java.util.Arrays;
+
+/**
+ * An immutable weighted directed graph in compressed sparse row form: the edges leaving vertex v
+ * are numbered firstEdge(v) to endEdge(v) - 1, and edge e leads to target(e) with weight(e).
+ * <p>
+ * The whole graph is three primitive arrays, offsets (one per vertex, plus one), targets and
+ * weights (one per edge), so scanning a vertex's edges touches two contiguous runs of memory and
+ * the graph holds no objects per vertex or edge. Vertices are 0 to vertexCount() - 1. An undirected
+ * graph stores each edge in both directions.
+ */
+public final class CsrGraph {
+
+    //
+    // PROPERTIES
+    //
+
+    private final int[] offsets;
+    private final int[] targets;
+    private final long[] weights;
+    private final long minWeight;
+    private final long maxWeight;
+
+    //
+    // METHODS
+    //
+
+    private CsrGraph(int[] offsets, int[] targets, long[] weights) {
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+        long min = 0, max = 0;
+        if (weights.length > 0)
+        {
+            min = max = weights[0];
+            for (long weight : weights)
+            {
+                min = Math.min(min, weight);
+                max = Math.max(max, weight);
+            }
+        }
+        this.minWeight = min;
+        this.maxWeight = max;
+    }
+
+    /**
+     * Builds a directed graph from the first edgeCount entries of three parallel edge arrays, which
+     * are left unchanged.
+     * <p>
+     * Runs in O(V + E) time. Edges keep their input order within each vertex's run.
+     *
+     * @param vertexCount The number of vertices.
+     * @param sources Source vertex of each edge.
+     * @param targets Target vertex of each edge.
+     * @param weights Weight of each edge.
+     * @param edgeCount The number of edges to take from the arrays.
+     * @return The new graph.
+     * @throws IllegalArgumentException If a count is negative or exceeds the arrays, or an edge
+     * names a vertex outside [0, vertexCount).
+     */
+    public static CsrGraph fromEdges(int vertexCount, int[] sources, int[] targets, long[] weights, int edgeCount) {
+        return build(vertexCount, sources, targets, weights, edgeCount, false);
+    }
+
+    /**
+     * Builds an undirected graph, storing each of the first edgeCount edges in both directions.
+     * <p>
+     * Runs in O(V + E) time.
+     *
+     * @param vertexCount The number of vertices.
+     * @param sources One end of each edge.
+     * @param targets The other end of each edge.
+     * @param weights Weight of each edge.
+     * @param edgeCount The number of edges to take from the arrays.
+     * @return The new graph, with 2 * edgeCount directed edges.
+     * @throws IllegalArgumentException If a count is negative or exceeds the arrays, an edge names
+     * a vertex outside [0, vertexCount), or 2 * edgeCount exceeds Integer.MAX_VALUE.
+     */
+    public static CsrGraph fromUndirectedEdges(int vertexCount, int[] sources, int[] targets, long[] weights,
+                                               int edgeCount) {
+        return build(vertexCount, sources, targets, weights, edgeCount, true);
+    }
+
+    /**
+     * Returns the graph with every edge reversed, as the backward search of a bidirectional query
+     * needs.
+     * <p>
+     * Runs in O(V + E) time.
+     *
+     * @return The transposed graph.
+     */
+    public CsrGraph transpose() {
+        int vertices = vertexCount();
+        int[] sources = new int[targets.length];
+        for (int vertex = 0; vertex < vertices; vertex++)
+            Arrays.fill(sources, offsets[vertex], offsets[vertex + 1], vertex);
+        return build(vertices, targets, sources, weights, targets.length, false);
+    }
+
+    /**
+     * Returns the number of vertices.
+     *
+     * @return The number of vertices.
+     */
+    public int vertexCount() {
+        return offsets.length - 1;
+    }
+
+    /**
+     * Returns the number of directed edges.
+     *
+     * @return The number of edges.
+     */
+    public int edgeCount() {
+        return targets.length;
+    }
+
+    /**
+     * Returns the first edge leaving vertex.
+     *
+     * @param vertex A vertex of the graph.
+     * @return The number of vertex's first edge.
+     */
+    public int firstEdge(int vertex) {
+        return offsets[vertex];
+    }
+
+    /**
+     * Returns one past the last edge leaving vertex.
+     *
+     * @param vertex A vertex of the graph.
+     * @return The number following vertex's last edge.
+     */
+    public int endEdge(int vertex) {
+        return offsets[vertex + 1];
+    }
+
+    /**
+     * Returns the vertex edge leads to.
+     *
+     * @param edge An edge of the graph.
+     * @return The edge's target.
+     */
+    public int target(int edge) {
+        return targets[edge];
+    }
+
+    /**
+     * Returns the weight of edge.
+     *
+     * @param edge An edge of the graph.
+     * @return The edge's weight.
+     */
+    public long weight(int edge) {
+        return weights[edge];
+    }
+
+    /**
+     * Returns the least edge weight, or 0 if the graph has no edges.
+     *
+     * @return The least weight.
+     */
+    public long minWeight() {
+        return minWeight;
+    }
+
+    /**
+     * Returns the greatest edge weight, or 0 if the graph has no edges.
+     *
+     * @return The greatest weight.
+     */
+    public long maxWeight() {
+        return maxWeight;
+    }
+
+    /**
+     * Lays the edges out by source with a counting sort.
+     */
+    private static CsrGraph build(int vertexCount, int[] sources, int[] targets, long[] weights, int edgeCount,
+                                  boolean undirected)
+    {
+        if (vertexCount < 0) throw new IllegalArgumentException("vertexCount is negative");
+        if (edgeCount < 0 || edgeCount > sources.length || edgeCount > targets.length || edgeCount > weights.length)
+            throw new IllegalArgumentException("edgeCount is out of bounds");
+        long total = undirected ? 2L * edgeCount : edgeCount;
+        if (total > Integer.MAX_VALUE) throw new IllegalArgumentException("Too many edges");
+
+        int[] offsets = new int[vertexCount + 1];
+        for (int edge = 0; edge < edgeCount; edge++)
+        {
+            int source = sources[edge], target = targets[edge];
+            if (source < 0 || source >= vertexCount || target < 0 || target >= vertexCount)
+                throw new IllegalArgumentException("Edge " + edge + " has a vertex out of bounds");
+            offsets[source + 1]++;
+            if (undirected) offsets[target + 1]++;
+        }
+        for (int vertex = 0; vertex < vertexCount; vertex++)
+            offsets[vertex + 1] += offsets[vertex];
+
+        int[] fill = Arrays.copyOf(offsets, vertexCount);
+        int[] edgeTargets = new int[(int) total];
+        long[] edgeWeights = new long[(int) total];
+        for (int edge = 0; edge < edgeCount; edge++)
+        {
+            int source = sources[edge], target = targets[edge];
+            int slot = fill[source]++;
+            edgeTargets[slot] = target;
+            edgeWeights[slot] = weights[edge];
+            if (undirected)
+            {
+                slot = fill[target]++;
+                edgeTargets[slot] = source;
+                edgeWeights[slot] = weights[edge];
+            }
+        }
+        return new CsrGraph(offsets, edgeTargets, edgeWeights);
+    }
+}
@@ -0,0 +1,201 @@
+package heap.graph;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Reads a text edge list into a CsrGraph through memory-mapped I/O.
+ * <p>
+ * Each line is {@code source target [weight]}, separated by spaces or tabs, with vertices as
+ * non-negative ints and the optional weight as a long that defaults to 1. Blank lines and lines
+ * starting with '#' or '%' are skipped, as are any fields after the weight, which covers the usual
+ * SNAP-style dumps. The graph has one vertex per id up to the largest one seen.
+ * <p>
+ * The file is mapped in windows of up to 1 GiB, each cut after its last newline so that no line
+ * spans two windows, and parsed byte by byte without building a String per line. So files larger
+ * than 2 GiB load too, and the page cache rather than the Java heap holds the text. The edges are
+ * collected in growing primitive arrays and laid out once at the end.
+ */
+public final class EdgeListLoader {
+
+    private static final int WINDOW = 1 << 30;
+
+    private EdgeListLoader() {
+    }
+
+    /**
+     * Loads a directed graph.
+     *
+     * @param path The edge list file.
+     * @return The graph.
+     * @throws IOException If the file cannot be read or has a malformed line.
+     */
+    public static CsrGraph load(Path path) throws IOException {
+        return load(path, false);
+    }
+
+    /**
+     * Loads a graph, storing each line's edge in both directions if undirected is set.
+     *
+     * @param path The edge list file.
+     * @param undirected Whether each edge also leads from target to source.
+     * @return The graph.
+     * @throws IOException If the file cannot be read or has a malformed line.
+     */
+    public static CsrGraph load(Path path, boolean undirected) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ))
+        {
+            long size = channel.size();
+            Parser parser = new Parser(path, (int) Math.min(size / 16 + 16, 1 << 24));
+            long position = 0;
+            while (position < size)
+            {
+                long length = Math.min(WINDOW, size - position);
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                int limit = (int) length;
+                if (position + length < size)
+                {
+                    while (limit > 0 && window.get(limit - 1) != '\n') limit--;
+                    if (limit == 0) throw new IOException(path + " has a line longer than " + WINDOW + " bytes");
+                }
+                parser.parse(window, limit);
+                position += limit;
+            }
+            return parser.build(undirected);
+        }
+    }
+
+    /**
+     * Parses lines into edge arrays, keeping the line count across windows for error messages.
+     */
+    private static final class Parser {
+
+        private final Path path;
+        private int[] sources;
+        private int[] targets;
+        private long[] weights;
+        private int count;
+        private int maxVertex;
+        private long line;
+
+        // Cursor into the current window.
+        private MappedByteBuffer buffer;
+        private int at;
+        private int limit;
+
+        Parser(Path path, int capacity) {
+            this.path = path;
+            this.sources = new int[capacity];
+            this.targets = new int[capacity];
+            this.weights = new long[capacity];
+            this.maxVertex = -1;
+        }
+
+        void parse(MappedByteBuffer buffer, int limit) throws IOException {
+            this.buffer = buffer;
+            this.at = 0;
+            this.limit = limit;
+            while (at < limit)
+            {
+                line++;
+                skipBlanks();
+                if (atLineEnd() || buffer.get(at) == '#' || buffer.get(at) == '%')
+                {
+                    skipLine();
+                    continue;
+                }
+
+                long source = number(false);
+                skipBlanks();
+                long target = number(false);
+                skipBlanks();
+                long weight = atLineEnd() ? 1 : number(true);
+                if (source > Integer.MAX_VALUE - 1 || target > Integer.MAX_VALUE - 1)
+                    throw malformed("vertex id is too large");
+                add((int) source, (int) target, weight);
+                skipLine();
+            }
+        }
+
+        CsrGraph build(boolean undirected) {
+            int vertices = maxVertex + 1;
+            if (undirected) return CsrGraph.fromUndirectedEdges(vertices, sources, targets, weights, count);
+            return CsrGraph.fromEdges(vertices, sources, targets, weights, count);
+        }
+
+        private void add(int source, int target, long weight) throws IOException
+        {
+            if (count == sources.length)
+            {
+                if (count == Integer.MAX_VALUE - 8) throw malformed("too many edges");
+                int capacity = (int) Math.min(2L * count, Integer.MAX_VALUE - 8);
+                sources = Arrays.copyOf(sources, capacity);
+                targets = Arrays.copyOf(targets, capacity);
+                weights = Arrays.copyOf(weights, capacity);
+            }
+            sources[count] = source;
+            targets[count] = target;
+            weights[count] = weight;
+            count++;
+            maxVertex = Math.max(maxVertex, Math.max(source, target));
+        }
+
+        /**
+         * Reads a decimal number at the cursor, with an optional minus sign if signed.
+         */
+        private long number(boolean signed) throws IOException
+        {
+            boolean negative = false;
+            if (signed && at < limit && buffer.get(at) == '-')
+            {
+                negative = true;
+                at++;
+            }
+            int start = at;
+            long value = 0;
+            while (at < limit)
+            {
+                int digit = buffer.get(at) - '0';
+                if (digit < 0 || digit > 9) break;
+                if (value > (Long.MAX_VALUE - digit) / 10) throw malformed("number is too large");
+                value = 10 * value + digit;
+                at++;
+            }
+            if (at == start) throw malformed("expected a number");
+            if (at < limit && !isBlank(buffer.get(at)) && !atLineEnd()) throw malformed("expected a number");
+            return negative ? -value : value;
+        }
+
+        private void skipBlanks()
+        {
+            while (at < limit && isBlank(buffer.get(at))) at++;
+        }
+
+        private void skipLine()
+        {
+            while (at < limit)
+                if (buffer.get(at++) == '\n') break;
+        }
+
+        private boolean atLineEnd()
+        {
+            if (at == limit) return true;
+            byte b = buffer.get(at);
+            return b == '\n' || b == '\r';
+        }
+
+        private static boolean isBlank(byte b)
+        {
+            return b == ' ' || b == '\t';
+        }
+
+        private IOException malformed(String problem)
+        {
+            return new IOException(path + " line " + line + ": " + problem);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package heap.graph;
+
+import java.util.Arrays;
+
+/**
+ * Prim's algorithm over an undirected CsrGraph (each edge stored in both directions), with the
+ * frontier on any non-monotone QueueEngine. Weights may be negative.
+ * <p>
+ * The tree grows from a root; every vertex outside it but adjacent to it waits in the frontier
+ * keyed by its cheapest edge into the tree, lowered by decreaseKey as the tree grows. As in
+ * ShortestPaths, the per-vertex arrays are allocated once and stamped with a run number rather
+ * than cleared, so repeated runs allocate nothing themselves. Not thread-safe.
+ */
+public final class MinimumSpanningTree {
+
+    //
+    // PROPERTIES
+    //
+
+    private final CsrGraph graph;
+    private final long[] keys;
+    private final int[] parents;
+    private final int[] reached; // Run that last put each vertex in the frontier.
+    private final int[] added;   // Run that last added each vertex to the tree.
+    private final VertexQueue queue;
+    private int run;
+
+    //
+    // METHODS
+    //
+
+    /**
+     * Prepares runs over graph with the frontier on engine.
+     * <p>
+     * Runs in O(V) time, to allocate the per-vertex arrays.
+     *
+     * @param graph An undirected graph.
+     * @param engine The priority queue for the frontier.
+     * @throws IllegalArgumentException If engine is monotone, since Prim's keys are not.
+     */
+    public MinimumSpanningTree(CsrGraph graph, QueueEngine engine) {
+        if (engine.isMonotone()) throw new IllegalArgumentException("Prim needs a non-monotone engine");
+        int vertices = graph.vertexCount();
+        this.graph = graph;
+        this.keys = new long[vertices];
+        this.parents = new int[vertices];
+        this.reached = new int[vertices];
+        this.added = new int[vertices];
+        this.queue = engine.newQueue(vertices, Long.MAX_VALUE);
+        this.run = 0;
+    }
+
+    /**
+     * Builds a minimum spanning tree of the component containing root, for {@link #parent}.
+     * <p>
+     * Runs in O(E) time plus the frontier's cost for O(V) inserts and deleteMins and O(E)
+     * decreaseKeys, over the component.
+     *
+     * @param root The vertex to grow the tree from.
+     * @return The total weight of the tree.
+     * @throws IllegalArgumentException If root is not a vertex of the graph.
+     */
+    public long run(int root) {
+        if (root < 0 || root >= graph.vertexCount()) throw new IllegalArgumentException("vertex is out of bounds");
+        nextRun();
+        return grow(root);
+    }
+
+    /**
+     * Builds a minimum spanning forest: one tree per connected component.
+     * <p>
+     * Runs in the time of {@link #run} over the whole graph.
+     *
+     * @return The total weight of the forest.
+     */
+    public long runForest() {
+        nextRun();
+        long total = 0;
+        for (int vertex = 0; vertex < graph.vertexCount(); vertex++)
+            if (added[vertex] != run) total += grow(vertex);
+        return total;
+    }
+
+    /**
+     * Returns whether the last run added vertex to the tree.
+     *
+     * @param vertex A vertex of the graph.
+     * @return true if vertex is in the tree or forest.
+     */
+    public boolean inTree(int vertex) {
+        return added[vertex] == run;
+    }
+
+    /**
+     * Returns the vertex that vertex hangs from in the tree built by the last run.
+     *
+     * @param vertex A vertex of the graph.
+     * @return The parent of vertex, or -1 for roots and for vertices outside the tree.
+     */
+    public int parent(int vertex) {
+        return (added[vertex] == run) ? parents[vertex] : -1;
+    }
+
+    /**
+     * Grows a tree from root, which is not in any tree of this run, and returns its weight.
+     */
+    private long grow(int root)
+    {
+        queue.clear();
+        reached[root] = run;
+        keys[root] = 0;
+        parents[root] = -1;
+        queue.insert(root, 0);
+
+        long total = 0;
+        while (!queue.isEmpty())
+        {
+            int vertex = queue.deleteMin();
+            added[vertex] = run;
+            total += keys[vertex];
+            for (int edge = graph.firstEdge(vertex), end = graph.endEdge(vertex); edge < end; edge++)
+            {
+                int next = graph.target(edge);
+                if (added[next] == run) continue;
+                long weight = graph.weight(edge);
+                if (reached[next] != run)
+                {
+                    reached[next] = run;
+                    keys[next] = weight;
+                    parents[next] = vertex;
+                    queue.insert(next, weight);
+                }
+                else if (weight < keys[next])
+                {
+                    keys[next] = weight;
+                    parents[next] = vertex;
+                    queue.decreaseKey(next, weight);
+                }
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Moves on to a new run number, clearing the stamps when it wraps around to 0.
+     */
+    private void nextRun()
+    {
+        if (++run == 0)
+        {
+            Arrays.fill(reached, 0);
+            Arrays.fill(added, 0);
+            run = 1;
+        }
+    }
+}
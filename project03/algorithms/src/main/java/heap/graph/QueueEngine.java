@@ -0,0 +1,105 @@
+package heap.graph;
+
+import heap.BucketQueue;
+import heap.FibonacciHeap;
+import heap.HeapEngine;
+import heap.RadixHeap;
+
+/**
+ * The priority queues a graph search can run its frontier on: every {@link HeapEngine}, plus the
+ * long-keyed LongFibonacciHeap and the monotone RadixHeap and BucketQueue.
+ * <p>
+ * Monotone engines only accept keys that never fall below the last one removed, which holds for
+ * Dijkstra and A* with non-negative weights but not for Prim, so MinimumSpanningTree rejects them.
+ */
+public enum QueueEngine {
+    /** A FibonacciHeap that recycles the nodes of removed vertices. */
+    FIBONACCI {
+        @Override
+        VertexQueue newQueue(int vertices, long range) {
+            return new VertexQueue.Mergeable(new FibonacciHeap<>(vertices), vertices);
+        }
+    },
+    BINOMIAL {
+        @Override
+        VertexQueue newQueue(int vertices, long range) {
+            return new VertexQueue.Mergeable(HeapEngine.BINOMIAL.newHeap(), vertices);
+        }
+    },
+    LAZY_BINOMIAL {
+        @Override
+        VertexQueue newQueue(int vertices, long range) {
+            return new VertexQueue.Mergeable(HeapEngine.LAZY_BINOMIAL.newHeap(), vertices);
+        }
+    },
+    PAIRING {
+        @Override
+        VertexQueue newQueue(int vertices, long range) {
+            return new VertexQueue.Mergeable(HeapEngine.PAIRING.newHeap(), vertices);
+        }
+    },
+    RANK_PAIRING {
+        @Override
+        VertexQueue newQueue(int vertices, long range) {
+            return new VertexQueue.Mergeable(HeapEngine.RANK_PAIRING.newHeap(), vertices);
+        }
+    },
+    /** A 4-ary DaryHeap. */
+    DARY {
+        @Override
+        VertexQueue newQueue(int vertices, long range) {
+            return new VertexQueue.Mergeable(HeapEngine.DARY.newHeap(), vertices);
+        }
+    },
+    LONG_FIBONACCI {
+        @Override
+        VertexQueue newQueue(int vertices, long range) {
+            return new VertexQueue.LongFibonacci(vertices);
+        }
+    },
+    RADIX {
+        @Override
+        VertexQueue newQueue(int vertices, long range) {
+            return new VertexQueue.Monotone(new RadixHeap<>(), vertices);
+        }
+
+        @Override
+        public boolean isMonotone() {
+            return true;
+        }
+    },
+    /**
+     * A BucketQueue with one bucket per key in the search's key range, which is the greatest edge
+     * weight for Dijkstra and twice that for A*. Suited to small integer weights only.
+     */
+    BUCKET {
+        @Override
+        VertexQueue newQueue(int vertices, long range) {
+            if (range >= Integer.MAX_VALUE) throw new IllegalArgumentException("Weights are too large for buckets");
+            return new VertexQueue.Monotone(new BucketQueue<>((int) range), vertices);
+        }
+
+        @Override
+        public boolean isMonotone() {
+            return true;
+        }
+    };
+
+    /**
+     * Instantiate an empty queue for the vertices 0 to vertices - 1.
+     *
+     * @param vertices The number of vertices.
+     * @param range The most by which a key may exceed the least key in the queue.
+     * @return A new, empty queue.
+     */
+    abstract VertexQueue newQueue(int vertices, long range);
+
+    /**
+     * Returns whether the engine only accepts keys at or above the last one removed.
+     *
+     * @return true for RADIX and BUCKET.
+     */
+    public boolean isMonotone() {
+        return false;
+    }
+}
@@ -0,0 +1,308 @@
+package heap.graph;
+
+import java.util.Arrays;
+import java.util.function.IntToLongFunction;
+
+/**
+ * Dijkstra's algorithm and its point-to-point variants over a CsrGraph with non-negative weights,
+ * with the frontier on any QueueEngine.
+ * <p>
+ * An instance answers any number of queries, one at a time. Its per-vertex arrays (distances,
+ * parents and the frontier's handles) are allocated once, and instead of being cleared between
+ * queries each vertex carries the number of the query that last reached it; a vertex stamped by an
+ * older query counts as unreached. So a query costs time in the vertices it reaches, not in the
+ * graph's size, and allocates nothing itself. Not thread-safe: give each thread its own instance.
+ * <ul>
+ *   <li>{@link #run} settles every vertex reachable from a source.</li>
+ *   <li>{@link #distance} stops as soon as the target is settled.</li>
+ *   <li>{@link #bidirectionalDistance} searches forward from the source and backward from the
+ *   target in turn, and stops once the two frontiers' least keys add up to at least the best path
+ *   seen through a vertex both have reached.</li>
+ *   <li>{@link #aStarDistance} orders the frontier by distance plus a lower bound on the distance
+ *   left, so it explores towards the target.</li>
+ * </ul>
+ * After run, distance and aStarDistance, {@link #distance(int)} and {@link #parent} describe the
+ * settled vertices, which always include the target of a point query if it is reachable. After
+ * bidirectionalDistance they are meaningless.
+ */
+public final class ShortestPaths {
+
+    /** Distance of a vertex that cannot be reached. */
+    public static final long UNREACHABLE = Long.MAX_VALUE;
+
+    //
+    // PROPERTIES
+    //
+
+    private final CsrGraph graph;
+    private final QueueEngine engine;
+    private final long[] distances;
+    private final int[] parents;
+    private final int[] reached; // Query that last reached each vertex in the forward search.
+    private final VertexQueue queue;
+    private VertexQueue aStarQueue;
+    private int query;
+
+    // Backward search of bidirectional queries, created by the first one.
+    private CsrGraph reverse;
+    private long[] backwardDistances;
+    private int[] backwardReached;
+    private VertexQueue backwardQueue;
+
+    //
+    // METHODS
+    //
+
+    /**
+     * Prepares queries over graph with the frontier on engine.
+     * <p>
+     * Runs in O(V) time, to allocate the per-vertex arrays.
+     *
+     * @param graph The graph to search.
+     * @param engine The priority queue for the frontier.
+     * @throws IllegalArgumentException If graph has a negative weight.
+     */
+    public ShortestPaths(CsrGraph graph, QueueEngine engine) {
+        if (graph.minWeight() < 0) throw new IllegalArgumentException("graph has a negative weight");
+        int vertices = graph.vertexCount();
+        this.graph = graph;
+        this.engine = engine;
+        this.distances = new long[vertices];
+        this.parents = new int[vertices];
+        this.reached = new int[vertices];
+        this.queue = engine.newQueue(vertices, graph.maxWeight());
+        this.query = 0;
+    }
+
+    /**
+     * Computes the distance from source to every vertex, for {@link #distance(int)} and
+     * {@link #parent}.
+     * <p>
+     * Runs in O(E) time plus the frontier's cost for O(V) inserts and deleteMins and O(E)
+     * decreaseKeys, over the reached part of the graph.
+     *
+     * @param source The vertex to start from.
+     * @throws IllegalArgumentException If source is not a vertex of the graph.
+     */
+    public void run(int source) {
+        start(source);
+        while (!queue.isEmpty()) settle(queue.deleteMin());
+    }
+
+    /**
+     * Returns the distance from source to target, searching only until target is settled.
+     * <p>
+     * Runs in the time of {@link #run} over the vertices closer to source than target.
+     *
+     * @param source The vertex to start from.
+     * @param target The vertex to reach.
+     * @return The length of a shortest path, or UNREACHABLE.
+     * @throws IllegalArgumentException If source or target is not a vertex of the graph.
+     */
+    public long distance(int source, int target) {
+        checkVertex(target);
+        start(source);
+        while (!queue.isEmpty())
+        {
+            int vertex = queue.deleteMin();
+            if (vertex == target) return distances[target];
+            settle(vertex);
+        }
+        return UNREACHABLE;
+    }
+
+    /**
+     * Returns the distance from source to target by bidirectional Dijkstra. The first call builds
+     * the transposed graph and the backward search's arrays. The path itself is not recorded.
+     *
+     * @param source The vertex to start from.
+     * @param target The vertex to reach.
+     * @return The length of a shortest path, or UNREACHABLE.
+     * @throws IllegalArgumentException If source or target is not a vertex of the graph.
+     */
+    public long bidirectionalDistance(int source, int target) {
+        checkVertex(target);
+        if (reverse == null)
+        {
+            reverse = graph.transpose();
+            backwardDistances = new long[graph.vertexCount()];
+            backwardReached = new int[graph.vertexCount()];
+            backwardQueue = engine.newQueue(graph.vertexCount(), graph.maxWeight());
+        }
+        start(source);
+        backwardQueue.clear();
+        backwardReached[target] = query;
+        backwardDistances[target] = 0;
+        backwardQueue.insert(target, 0);
+
+        long best = (source == target) ? 0 : UNREACHABLE;
+        while (!queue.isEmpty() && !backwardQueue.isEmpty())
+        {
+            long forwardMin = queue.minKey(), backwardMin = backwardQueue.minKey();
+            if (forwardMin + backwardMin >= best) break;
+            if (forwardMin <= backwardMin)
+                best = step(graph, queue, distances, reached, backwardDistances, backwardReached, best);
+            else
+                best = step(reverse, backwardQueue, backwardDistances, backwardReached, distances, reached, best);
+        }
+        return best;
+    }
+
+    /**
+     * Returns the distance from source to target by A* search, which settles vertices in order of
+     * distance from source plus heuristic's estimate of their distance to target.
+     * <p>
+     * heuristic must be consistent: never negative, 0 at target, and for every edge (u, v) of
+     * weight w, h(u) &lt;= w + h(v). Then the search is exact and settles each vertex at most
+     * once. The BUCKET engine further needs h(v) - h(u) &lt;= maxWeight() along every edge, which
+     * a consistent heuristic satisfies on an undirected graph.
+     *
+     * @param source The vertex to start from.
+     * @param target The vertex to reach.
+     * @param heuristic A lower bound on each vertex's distance to target.
+     * @return The length of a shortest path, or UNREACHABLE.
+     * @throws IllegalArgumentException If source or target is not a vertex of the graph.
+     */
+    public long aStarDistance(int source, int target, IntToLongFunction heuristic) {
+        checkVertex(source);
+        checkVertex(target);
+        if (aStarQueue == null) aStarQueue = engine.newQueue(graph.vertexCount(), 2 * graph.maxWeight());
+        nextQuery();
+        VertexQueue open = aStarQueue;
+        open.clear();
+        reach(source, 0, -1);
+        // Keys are offset by h(source), which keeps them at or above 0 for the monotone engines
+        long offset = heuristic.applyAsLong(source);
+        open.insert(source, 0);
+
+        while (!open.isEmpty())
+        {
+            int vertex = open.deleteMin();
+            long distance = distances[vertex];
+            if (vertex == target) return distance;
+            for (int edge = graph.firstEdge(vertex), end = graph.endEdge(vertex); edge < end; edge++)
+            {
+                int next = graph.target(edge);
+                long candidate = distance + graph.weight(edge);
+                if (reached[next] == query && candidate >= distances[next]) continue;
+                boolean queued = reached[next] == query;
+                reach(next, candidate, vertex);
+                long estimate = candidate + heuristic.applyAsLong(next) - offset;
+                if (queued) open.decreaseKey(next, estimate);
+                else open.insert(next, estimate);
+            }
+        }
+        return UNREACHABLE;
+    }
+
+    /**
+     * Returns the distance found to vertex by the last run, distance or aStarDistance query.
+     *
+     * @param vertex A vertex of the graph.
+     * @return The distance from the last source, or UNREACHABLE if the query did not reach vertex.
+     */
+    public long distance(int vertex) {
+        return (reached[vertex] == query) ? distances[vertex] : UNREACHABLE;
+    }
+
+    /**
+     * Returns the vertex before vertex on the shortest path found by the last run, distance or
+     * aStarDistance query.
+     *
+     * @param vertex A vertex of the graph.
+     * @return The parent of vertex, or -1 for the source and for unreached vertices.
+     */
+    public int parent(int vertex) {
+        return (reached[vertex] == query) ? parents[vertex] : -1;
+    }
+
+    /**
+     * Starts a forward search from source.
+     */
+    private void start(int source)
+    {
+        checkVertex(source);
+        nextQuery();
+        queue.clear();
+        reach(source, 0, -1);
+        queue.insert(source, 0);
+    }
+
+    /**
+     * Relaxes the edges leaving vertex in the forward search.
+     */
+    private void settle(int vertex)
+    {
+        long distance = distances[vertex];
+        for (int edge = graph.firstEdge(vertex), end = graph.endEdge(vertex); edge < end; edge++)
+        {
+            int next = graph.target(edge);
+            long candidate = distance + graph.weight(edge);
+            if (reached[next] != query)
+            {
+                reach(next, candidate, vertex);
+                queue.insert(next, candidate);
+            }
+            else if (candidate < distances[next])
+            {
+                reach(next, candidate, vertex);
+                queue.decreaseKey(next, candidate);
+            }
+        }
+    }
+
+    /**
+     * Settles one vertex of one side of a bidirectional search, and returns the best path length
+     * seen through any edge into a vertex the other side has reached.
+     */
+    private long step(CsrGraph side, VertexQueue frontier, long[] distance, int[] stamp, long[] otherDistance,
+                      int[] otherStamp, long best)
+    {
+        int vertex = frontier.deleteMin();
+        long base = distance[vertex];
+        for (int edge = side.firstEdge(vertex), end = side.endEdge(vertex); edge < end; edge++)
+        {
+            int next = side.target(edge);
+            long candidate = base + side.weight(edge);
+            if (stamp[next] != query)
+            {
+                stamp[next] = query;
+                distance[next] = candidate;
+                frontier.insert(next, candidate);
+            }
+            else if (candidate < distance[next])
+            {
+                distance[next] = candidate;
+                frontier.decreaseKey(next, candidate);
+            }
+            if (otherStamp[next] == query) best = Math.min(best, candidate + otherDistance[next]);
+        }
+        return best;
+    }
+
+    private void reach(int vertex, long distance, int parent)
+    {
+        reached[vertex] = query;
+        distances[vertex] = distance;
+        parents[vertex] = parent;
+    }
+
+    /**
+     * Moves on to a new query number, which makes every vertex unreached. On wrapping around to 0,
+     * clears the stamps so that no stale stamp matches a future query.
+     */
+    private void nextQuery()
+    {
+        if (++query == 0)
+        {
+            Arrays.fill(reached, 0);
+            if (backwardReached != null) Arrays.fill(backwardReached, 0);
+            query = 1;
+        }
+    }
+
+    private void checkVertex(int vertex)
+    {
+        if (vertex < 0 || vertex >= graph.vertexCount()) throw new IllegalArgumentException("vertex is out of bounds");
+    }
+}
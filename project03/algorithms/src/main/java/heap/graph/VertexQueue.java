@@ -0,0 +1,187 @@
+package heap.graph;
+
+import heap.LongFibonacciHeap;
+import heap.MergeableHeap;
+import heap.MonotoneHeap;
+
+/**
+ * The frontier of a graph search: a priority queue of vertices by long key, over one of the heap
+ * engines. Created by {@link QueueEngine#newQueue}.
+ * <p>
+ * The queue keeps each vertex's heap handle in an array indexed by vertex, allocated once, so
+ * callers name vertices rather than entries. A vertex may be in the queue at most once, and
+ * decreaseKey may only name a vertex that is in it. clear() empties the queue for the next query
+ * and keeps the handle array, so repeated queries allocate nothing here beyond what the heap
+ * itself allocates per entry.
+ */
+abstract class VertexQueue {
+
+    /**
+     * Inserts vertex with key.
+     */
+    abstract void insert(int vertex, long key);
+
+    /**
+     * Lowers the key of vertex, which is in the queue, to key.
+     */
+    abstract void decreaseKey(int vertex, long key);
+
+    /**
+     * Removes and returns a vertex with the least key. The queue must not be empty.
+     */
+    abstract int deleteMin();
+
+    /**
+     * Returns the least key. The queue must not be empty.
+     */
+    abstract long minKey();
+
+    abstract boolean isEmpty();
+
+    /**
+     * Removes every vertex, ready for a new query.
+     */
+    abstract void clear();
+
+    /**
+     * Returns the vertices 0 to count - 1 boxed once, so inserting a vertex does not box it again.
+     */
+    private static Integer[] ids(int count)
+    {
+        Integer[] ids = new Integer[count];
+        for (int vertex = 0; vertex < count; vertex++) ids[vertex] = vertex;
+        return ids;
+    }
+
+    /**
+     * Over a MergeableHeap with boxed keys. clear() drains the heap, so a heap that recycles its
+     * nodes keeps them for the next query.
+     */
+    static final class Mergeable extends VertexQueue {
+
+        private final MergeableHeap<Long, Integer> heap;
+        private final MergeableHeap.Entry<Long, Integer>[] handles;
+        private final Integer[] ids;
+
+        Mergeable(MergeableHeap<Long, Integer> heap, int vertices) {
+            this.heap = heap;
+            @SuppressWarnings("unchecked")
+            MergeableHeap.Entry<Long, Integer>[] array =
+                    (MergeableHeap.Entry<Long, Integer>[]) new MergeableHeap.Entry[vertices];
+            this.handles = array;
+            this.ids = ids(vertices);
+        }
+
+        void insert(int vertex, long key) {
+            handles[vertex] = heap.insert(key, ids[vertex]);
+        }
+
+        void decreaseKey(int vertex, long key) {
+            heap.decreaseKey(handles[vertex], key);
+        }
+
+        int deleteMin() {
+            int vertex = heap.deleteMin().getValue();
+            handles[vertex] = null;
+            return vertex;
+        }
+
+        long minKey() {
+            return heap.findMin().getKey();
+        }
+
+        boolean isEmpty() {
+            return heap.isEmpty();
+        }
+
+        void clear() {
+            while (!heap.isEmpty()) deleteMin();
+        }
+    }
+
+    /**
+     * Over a LongFibonacciHeap, whose int handles and array storage make insert allocation-free once
+     * the heap has grown to the frontier's size.
+     */
+    static final class LongFibonacci extends VertexQueue {
+
+        private final LongFibonacciHeap<Integer> heap;
+        private final int[] handles;
+        private final Integer[] ids;
+
+        LongFibonacci(int vertices) {
+            this.heap = new LongFibonacciHeap<>();
+            this.handles = new int[vertices];
+            this.ids = ids(vertices);
+        }
+
+        void insert(int vertex, long key) {
+            handles[vertex] = heap.insert(key, ids[vertex]);
+        }
+
+        void decreaseKey(int vertex, long key) {
+            heap.decreaseKey(handles[vertex], key);
+        }
+
+        int deleteMin() {
+            return heap.getValue(heap.deleteMin());
+        }
+
+        long minKey() {
+            return heap.getKey(heap.findMin());
+        }
+
+        boolean isEmpty() {
+            return heap.isEmpty();
+        }
+
+        void clear() {
+            while (!heap.isEmpty()) heap.deleteMin();
+        }
+    }
+
+    /**
+     * Over a MonotoneHeap. A monotone heap cannot go back below its last minimum on its own, so
+     * clear() empties it and resets that minimum, keeping its buckets.
+     */
+    static final class Monotone extends VertexQueue {
+
+        private final MonotoneHeap<Integer> heap;
+        private final MonotoneHeap.Entry<Integer>[] handles;
+        private final Integer[] ids;
+
+        Monotone(MonotoneHeap<Integer> heap, int vertices) {
+            this.heap = heap;
+            @SuppressWarnings("unchecked")
+            MonotoneHeap.Entry<Integer>[] array = (MonotoneHeap.Entry<Integer>[]) new MonotoneHeap.Entry[vertices];
+            this.handles = array;
+            this.ids = ids(vertices);
+        }
+
+        void insert(int vertex, long key) {
+            handles[vertex] = heap.insert(key, ids[vertex]);
+        }
+
+        void decreaseKey(int vertex, long key) {
+            heap.decreaseKey(handles[vertex], key);
+        }
+
+        int deleteMin() {
+            int vertex = heap.deleteMin().getValue();
+            handles[vertex] = null;
+            return vertex;
+        }
+
+        long minKey() {
+            return heap.findMin().getKey();
+        }
+
+        boolean isEmpty() {
+            return heap.isEmpty();
+        }
+
+        void clear() {
+            heap.clear();
+        }
+    }
+}
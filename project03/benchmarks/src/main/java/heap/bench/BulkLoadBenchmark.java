@@ -0,0 +1,69 @@
+package heap.bench;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Time to load {@code size} entries into an empty heap, one insert at a time against one insertAll.
+ * One benchmark operation is a whole load; the heap is discarded afterwards.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+public class BulkLoadBenchmark {
+
+    @Param({"FIBONACCI", "BINOMIAL", "LAZY_BINOMIAL"})
+    public HeapKind heap;
+
+    @Param({"1000", "100000", "10000000"})
+    public int size;
+
+    @Param({"RANDOM", "ASCENDING"})
+    public KeyDistribution keys;
+
+    private Integer[] keyArray;
+    private Integer[] valueArray;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        SplittableRandom random = new SplittableRandom(42);
+        keyArray = new Integer[size];
+        valueArray = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            keyArray[i] = keys.key(i, size, random);
+            valueArray[i] = i;
+        }
+    }
+
+    @Benchmark
+    public HeapDriver insertLoop() {
+        HeapDriver driver = heap.newDriver();
+        for (int i = 0; i < size; i++) {
+            driver.insert(keyArray[i], valueArray[i]);
+        }
+        return driver;
+    }
+
+    @Benchmark
+    public HeapDriver insertAll() {
+        HeapDriver driver = heap.newDriver();
+        driver.insertAll(keyArray, valueArray);
+        return driver;
+    }
+}
@@ -0,0 +1,171 @@
+package heap.bench;
+
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import heap.ConcurrentFibonacciHeap;
+import heap.FibonacciHeap;
+import heap.FlatCombiningFibonacciHeap;
+import heap.MultiQueueFibonacciHeap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Shared priority queues under many threads. Each thread repeats the "hold" operation, one
+ * deleteMin followed by one insert, against a queue prefilled to {@code size}; a separate
+ * benchmark has every thread insert only. Reported as total throughput across threads. Runs with
+ * every available processor by default; pass {@code -t 32} (or more) to reproduce the producer
+ * counts where the global lock stops scaling.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+@Threads(Threads.MAX)
+public class ConcurrentQueueBenchmark {
+
+    @Param({"LOCKED", "STRIPED", "FLAT_COMBINING", "MULTI_QUEUE", "PRIORITY_BLOCKING_QUEUE"})
+    public Kind kind;
+
+    @Param({"1000", "1000000"})
+    public int size;
+
+    private Queue queue;
+
+    @Setup(Level.Iteration)
+    public void populate() {
+        // Fresh per iteration, since insertOnly grows the queue without bound
+        queue = kind.newQueue();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < size; i++) {
+            queue.insert(random.nextInt(size));
+        }
+    }
+
+    @Benchmark
+    public Object hold() {
+        Object min = queue.deleteMin();
+        queue.insert(ThreadLocalRandom.current().nextInt(size));
+        return min;
+    }
+
+    @Benchmark
+    public void insertOnly() {
+        queue.insert(ThreadLocalRandom.current().nextInt(size));
+    }
+
+    /**
+     * The queue under test, reduced to the two operations measured here.
+     */
+    interface Queue {
+        void insert(int key);
+
+        Object deleteMin();
+    }
+
+    public enum Kind {
+        /** FibonacciHeap behind one global lock, the baseline the concurrent queues replace. */
+        LOCKED {
+            @Override
+            Queue newQueue() {
+                FibonacciHeap<Integer, Object> heap = new FibonacciHeap<>();
+                return new Queue() {
+                    @Override
+                    public synchronized void insert(int key) {
+                        heap.insert(key, null);
+                    }
+
+                    @Override
+                    public synchronized Object deleteMin() {
+                        return heap.isEmpty() ? null : heap.deleteMin();
+                    }
+                };
+            }
+        },
+        STRIPED {
+            @Override
+            Queue newQueue() {
+                ConcurrentFibonacciHeap<Integer, Object> heap = new ConcurrentFibonacciHeap<>();
+                return new Queue() {
+                    @Override
+                    public void insert(int key) {
+                        heap.insert(key, null);
+                    }
+
+                    @Override
+                    public Object deleteMin() {
+                        return heap.deleteMin();
+                    }
+                };
+            }
+        },
+        FLAT_COMBINING {
+            @Override
+            Queue newQueue() {
+                FlatCombiningFibonacciHeap<Integer, Object> heap = new FlatCombiningFibonacciHeap<>();
+                return new Queue() {
+                    @Override
+                    public void insert(int key) {
+                        heap.insert(key, null);
+                    }
+
+                    @Override
+                    public Object deleteMin() {
+                        return heap.deleteMin();
+                    }
+                };
+            }
+        },
+        /** Relaxed: deleteMin may return any of the O(m) least entries. */
+        MULTI_QUEUE {
+            @Override
+            Queue newQueue() {
+                MultiQueueFibonacciHeap<Integer, Object> heap = new MultiQueueFibonacciHeap<>();
+                return new Queue() {
+                    @Override
+                    public void insert(int key) {
+                        heap.insert(key, null);
+                    }
+
+                    @Override
+                    public Object deleteMin() {
+                        return heap.deleteMin();
+                    }
+                };
+            }
+        },
+        PRIORITY_BLOCKING_QUEUE {
+            @Override
+            Queue newQueue() {
+                PriorityBlockingQueue<Integer> heap = new PriorityBlockingQueue<>();
+                return new Queue() {
+                    @Override
+                    public void insert(int key) {
+                        heap.offer(key);
+                    }
+
+                    @Override
+                    public Object deleteMin() {
+                        return heap.poll();
+                    }
+                };
+            }
+        };
+
+        abstract Queue newQueue();
+    }
+}
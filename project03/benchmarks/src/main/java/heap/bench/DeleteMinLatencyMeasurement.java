@@ -0,0 +1,119 @@
+package heap.bench;
+
+import java.util.SplittableRandom;
+
+import heap.FibonacciHeap;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Measures the per-operation latency distribution of FibonacciHeap with eager consolidation (link
+ * budget 0) and with incremental consolidation at the given link budgets. Each operation is timed
+ * on its own with System.nanoTime and recorded in an HdrHistogram.
+ * <p>
+ * The heap holds SIZE entries and goes through CYCLES cycles of a BURST of inserts followed by
+ * BURST steps of two deleteMins, an insert and a decreaseKey, so each cycle ends at SIZE entries
+ * again. An eager heap pays for linking the whole burst in the first deleteMin after it; an
+ * incremental one spreads that work over the following steps. The first WARMUP_CYCLES cycles are
+ * not recorded.
+ * <p>
+ * Run with {@code java -cp benchmarks.jar heap.bench.DeleteMinLatencyMeasurement [linkBudget ...]}.
+ * Latencies are in microseconds, throughput in operations per millisecond of measured time.
+ */
+public final class DeleteMinLatencyMeasurement {
+
+    private static final int SIZE = 1 << 20;
+    private static final int BURST = 1 << 16;
+    private static final int CYCLES = 64;
+    private static final int WARMUP_CYCLES = 16;
+
+    private DeleteMinLatencyMeasurement() {
+    }
+
+    public static void main(String[] args) {
+        int[] linkBudgets = {0, 16, 64, 256};
+        if (args.length > 0) {
+            linkBudgets = new int[args.length];
+            for (int i = 0; i < args.length; i++) {
+                linkBudgets[i] = Integer.parseInt(args[i]);
+            }
+        }
+
+        System.out.printf("%8s %10s %12s %10s %10s %10s %10s %10s%n",
+                "budget", "operation", "ops/ms", "p50", "p99", "p99.9", "p99.99", "max");
+        for (int linkBudget : linkBudgets) {
+            measure(linkBudget);
+        }
+    }
+
+    private static void measure(int linkBudget) {
+        SplittableRandom random = new SplittableRandom(42);
+        FibonacciHeap<Integer, Integer> heap = new FibonacciHeap<>();
+        heap.setIncrementalConsolidation(linkBudget);
+
+        // Handles for decreaseKey, overwritten round-robin by new inserts
+        @SuppressWarnings("unchecked")
+        FibonacciHeap.Entry<Integer, Integer>[] handles = new FibonacciHeap.Entry[SIZE];
+        int nextHandle = 0;
+        for (int i = 0; i < SIZE; i++) {
+            handles[i] = heap.insert(random.nextInt(), i);
+        }
+        heap.deleteMin();
+        heap.insert(random.nextInt(), 0);
+
+        Histogram deleteMins = new Histogram(3);
+        Histogram others = new Histogram(3);
+        for (int cycle = 0; cycle < WARMUP_CYCLES + CYCLES; cycle++) {
+            if (cycle == WARMUP_CYCLES) {
+                deleteMins.reset();
+                others.reset();
+            }
+
+            for (int i = 0; i < BURST; i++) {
+                Integer key = random.nextInt();
+                long start = System.nanoTime();
+                FibonacciHeap.Entry<Integer, Integer> handle = heap.insert(key, i);
+                others.recordValue(System.nanoTime() - start);
+                handles[nextHandle] = handle;
+                nextHandle = (nextHandle + 1) % SIZE;
+            }
+
+            for (int i = 0; i < BURST; i++) {
+                for (int j = 0; j < 2; j++) {
+                    long start = System.nanoTime();
+                    heap.deleteMin();
+                    deleteMins.recordValue(System.nanoTime() - start);
+                }
+
+                Integer key = random.nextInt();
+                long start = System.nanoTime();
+                FibonacciHeap.Entry<Integer, Integer> handle = heap.insert(key, i);
+                others.recordValue(System.nanoTime() - start);
+                handles[nextHandle] = handle;
+                nextHandle = (nextHandle + 1) % SIZE;
+
+                FibonacciHeap.Entry<Integer, Integer> target = handles[random.nextInt(SIZE)];
+                if (target.inHeap() && target.getKey() > Integer.MIN_VALUE + (1 << 20)) {
+                    Integer newKey = target.getKey() - random.nextInt(1 << 20);
+                    start = System.nanoTime();
+                    heap.decreaseKey(target, newKey);
+                    others.recordValue(System.nanoTime() - start);
+                }
+            }
+        }
+
+        print(linkBudget, "deleteMin", deleteMins);
+        print(linkBudget, "other", others);
+    }
+
+    private static void print(int linkBudget, String operation, Histogram histogram) {
+        // Histogram values are in nanoseconds
+        double totalMillis = histogram.getMean() * histogram.getTotalCount() / 1e6;
+        System.out.printf("%8d %10s %12.0f %10.2f %10.2f %10.2f %10.2f %10.2f%n",
+                linkBudget, operation, histogram.getTotalCount() / totalMillis,
+                histogram.getValueAtPercentile(50) / 1e3,
+                histogram.getValueAtPercentile(99) / 1e3,
+                histogram.getValueAtPercentile(99.9) / 1e3,
+                histogram.getValueAtPercentile(99.99) / 1e3,
+                histogram.getMaxValue() / 1e3);
+    }
+}
@@ -0,0 +1,76 @@
+package heap.bench;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Steady-state Dijkstra-shaped workload: every deleteMin is followed by {@code decreaseKeys}
+ * relaxations of random live entries and one insert that keeps the heap at {@code size} entries.
+ * <p>
+ * As in Dijkstra's algorithm, extracted keys never decrease: new and decreased keys are always at
+ * least the last extracted minimum. One benchmark operation is one deleteMin with its relaxations.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+public class DijkstraMixBenchmark {
+
+    @Param({"FIBONACCI", "BINOMIAL", "LAZY_BINOMIAL", "PAIRING", "RANK_PAIRING", "DARY_4", "DARY_8"})
+    public HeapKind heap;
+
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    public int size;
+
+    @Param({"1", "8", "32"})
+    public int decreaseKeys;
+
+    private HeapDriver driver;
+    private Object[] entries; // entries[slot] holds the live entry whose value is slot.
+    private SplittableRandom random;
+    private int lastMin;
+
+    @Setup(Level.Trial)
+    public void populate() {
+        random = new SplittableRandom(42);
+        driver = heap.newDriver();
+        entries = new Object[size];
+        for (int slot = 0; slot < size; slot++) {
+            entries[slot] = driver.insert(random.nextInt(size), slot);
+        }
+        lastMin = 0;
+    }
+
+    @Benchmark
+    public int extractAndRelax() {
+        Object min = driver.deleteMin();
+        int slot = driver.valueOf(min);
+        lastMin = driver.keyOf(min);
+
+        for (int i = 0; i < decreaseKeys; i++) {
+            Object entry = entries[random.nextInt(size)];
+            int key = driver.keyOf(entry);
+            if (key > lastMin) {
+                driver.decreaseKey(entry, lastMin + random.nextInt(key - lastMin));
+            }
+        }
+
+        entries[slot] = driver.insert(lastMin + 1 + random.nextInt(size), slot);
+        return lastMin;
+    }
+}
@@ -0,0 +1,80 @@
+package heap.bench;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import heap.FibonacciHeap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Dequeuing the next {@code batch} entries from a FibonacciHeap of {@code size} entries, by batch
+ * deleteMin calls against one drainTo. After each dequeue the same number of later keys is inserted
+ * one at a time, as a timer queue would refill, so the heap stays at size. One benchmark operation
+ * is one batch plus its refill.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+public class DrainBenchmark {
+
+    @Param({"1000", "100000", "10000000"})
+    public int size;
+
+    @Param({"8", "64"})
+    public int batch;
+
+    private FibonacciHeap<Integer, Integer> heap;
+    private FibonacciHeap.Entry<Integer, Integer>[] buffer;
+    private SplittableRandom random;
+    private int lastKey;
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void populate() {
+        random = new SplittableRandom(42);
+        heap = new FibonacciHeap<>();
+        for (int i = 0; i < size; i++) {
+            heap.insert(random.nextInt(size), i);
+        }
+        buffer = (FibonacciHeap.Entry<Integer, Integer>[]) new FibonacciHeap.Entry[batch];
+    }
+
+    @Benchmark
+    public void deleteMinLoop(Blackhole blackhole) {
+        for (int i = 0; i < batch; i++) {
+            FibonacciHeap.Entry<Integer, Integer> entry = heap.deleteMin();
+            lastKey = entry.getKey();
+            blackhole.consume(entry);
+        }
+        refill();
+    }
+
+    @Benchmark
+    public void drainTo(Blackhole blackhole) {
+        int count = heap.drainTo(buffer, batch);
+        lastKey = buffer[count - 1].getKey();
+        blackhole.consume(buffer);
+        refill();
+    }
+
+    private void refill() {
+        for (int i = 0; i < batch; i++) {
+            heap.insert(lastKey + random.nextInt(size), i);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package heap.bench;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import heap.graph.CsrGraph;
+import heap.graph.QueueEngine;
+import heap.graph.ShortestPaths;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Point-to-point shortest path queries through {@link ShortestPaths} on a {@link RoadNetwork} grid,
+ * one query per benchmark operation, cycling through a fixed set of random source-target pairs.
+ * <p>
+ * One ShortestPaths instance serves every query, so this also shows the per-query cost once the
+ * per-vertex arrays exist.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+public class GraphQueryBenchmark {
+
+    private static final int PAIRS = 64;
+
+    @Param({"1024"})
+    public int side;
+
+    @Param({"FIBONACCI", "DARY", "LONG_FIBONACCI", "RADIX"})
+    public QueueEngine engine;
+
+    @Param({"DIJKSTRA", "BIDIRECTIONAL", "A_STAR"})
+    public Query query;
+
+    private ShortestPaths paths;
+    private int[] sources;
+    private int[] targets;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        SplittableRandom random = new SplittableRandom(42);
+        CsrGraph graph = RoadNetwork.generate(side, random);
+        paths = new ShortestPaths(graph, engine);
+        sources = new int[PAIRS];
+        targets = new int[PAIRS];
+        for (int i = 0; i < PAIRS; i++) {
+            sources[i] = random.nextInt(graph.vertexCount());
+            targets[i] = random.nextInt(graph.vertexCount());
+        }
+    }
+
+    @Benchmark
+    public long pointToPoint() {
+        int pair = next++ % PAIRS;
+        return query.run(this, sources[pair], targets[pair]);
+    }
+
+    public enum Query {
+        DIJKSTRA {
+            @Override
+            long run(GraphQueryBenchmark state, int source, int target) {
+                return state.paths.distance(source, target);
+            }
+        },
+        BIDIRECTIONAL {
+            @Override
+            long run(GraphQueryBenchmark state, int source, int target) {
+                return state.paths.bidirectionalDistance(source, target);
+            }
+        },
+        A_STAR {
+            @Override
+            long run(GraphQueryBenchmark state, int source, int target) {
+                int side = state.side;
+                return state.paths.aStarDistance(source, target, vertex -> RoadNetwork.estimate(side, vertex, target));
+            }
+        };
+
+        abstract long run(GraphQueryBenchmark state, int source, int target);
+    }
+}
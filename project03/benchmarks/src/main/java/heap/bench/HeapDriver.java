@@ -0,0 +1,41 @@
+package heap.bench;
+
+/**
+ * Uniform view over the heap implementations so that one benchmark body can drive all of them.
+ * Entries are passed around as opaque objects; each driver casts them back to its own Entry type.
+ */
+public interface HeapDriver {
+
+    /**
+     * Inserts key with the given value and returns the heap's entry handle.
+     */
+    Object insert(Integer key, Integer value);
+
+    /**
+     * Inserts keys[i] with values[i] through the heap's bulk insert and returns the entry handles.
+     */
+    Object[] insertAll(Integer[] keys, Integer[] values);
+
+    /**
+     * Returns the entry with the least key, or null if the heap is empty.
+     */
+    Object findMin();
+
+    /**
+     * Removes and returns the entry with the least key.
+     */
+    Object deleteMin();
+
+    void decreaseKey(Object entry, Integer newKey);
+
+    void delete(Object entry);
+
+    /**
+     * Merges other into this heap, emptying other. Both drivers must wrap the same heap kind.
+     */
+    void merge(HeapDriver other);
+
+    Integer keyOf(Object entry);
+
+    Integer valueOf(Object entry);
+}
@@ -0,0 +1,223 @@
+package heap.bench;
+
+import heap.BinomialHeap;
+import heap.DaryHeap;
+import heap.FibonacciHeap;
+import heap.HeapEngine;
+import heap.MergeableHeap;
+
+/**
+ * Heap implementations selectable through a JMH {@code @Param}.
+ */
+public enum HeapKind {
+    FIBONACCI {
+        @Override
+        public HeapDriver newDriver() {
+            return new FibonacciDriver();
+        }
+    },
+    BINOMIAL {
+        @Override
+        public HeapDriver newDriver() {
+            return new BinomialDriver(new BinomialHeap<>());
+        }
+    },
+    LAZY_BINOMIAL {
+        @Override
+        public HeapDriver newDriver() {
+            return new BinomialDriver(new BinomialHeap<>(true));
+        }
+    },
+    PAIRING {
+        @Override
+        public HeapDriver newDriver() {
+            return new MergeableDriver(HeapEngine.PAIRING.newHeap());
+        }
+    },
+    RANK_PAIRING {
+        @Override
+        public HeapDriver newDriver() {
+            return new MergeableDriver(HeapEngine.RANK_PAIRING.newHeap());
+        }
+    },
+    DARY_4 {
+        @Override
+        public HeapDriver newDriver() {
+            return new MergeableDriver(new DaryHeap<>(4));
+        }
+    },
+    DARY_8 {
+        @Override
+        public HeapDriver newDriver() {
+            return new MergeableDriver(new DaryHeap<>(8));
+        }
+    };
+
+    public abstract HeapDriver newDriver();
+
+    @SuppressWarnings("unchecked")
+    private static final class FibonacciDriver implements HeapDriver {
+        private final FibonacciHeap<Integer, Integer> heap = new FibonacciHeap<>();
+
+        @Override
+        public Object insert(Integer key, Integer value) {
+            return heap.insert(key, value);
+        }
+
+        @Override
+        public Object[] insertAll(Integer[] keys, Integer[] values) {
+            return heap.insertAll(keys, values);
+        }
+
+        @Override
+        public Object findMin() {
+            return heap.findMin();
+        }
+
+        @Override
+        public Object deleteMin() {
+            return heap.deleteMin();
+        }
+
+        @Override
+        public void decreaseKey(Object entry, Integer newKey) {
+            heap.decreaseKey((FibonacciHeap.Entry<Integer, Integer>) entry, newKey);
+        }
+
+        @Override
+        public void delete(Object entry) {
+            heap.delete((FibonacciHeap.Entry<Integer, Integer>) entry);
+        }
+
+        @Override
+        public void merge(HeapDriver other) {
+            heap.merge(((FibonacciDriver) other).heap);
+        }
+
+        @Override
+        public Integer keyOf(Object entry) {
+            return ((FibonacciHeap.Entry<Integer, Integer>) entry).getKey();
+        }
+
+        @Override
+        public Integer valueOf(Object entry) {
+            return ((FibonacciHeap.Entry<Integer, Integer>) entry).getValue();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static final class BinomialDriver implements HeapDriver {
+        private final BinomialHeap<Integer, Integer> heap;
+
+        BinomialDriver(BinomialHeap<Integer, Integer> heap) {
+            this.heap = heap;
+        }
+
+        @Override
+        public Object insert(Integer key, Integer value) {
+            return heap.insert(key, value);
+        }
+
+        @Override
+        public Object[] insertAll(Integer[] keys, Integer[] values) {
+            return heap.insertAll(keys, values);
+        }
+
+        @Override
+        public Object findMin() {
+            return heap.findMin();
+        }
+
+        @Override
+        public Object deleteMin() {
+            return heap.deleteMin();
+        }
+
+        @Override
+        public void decreaseKey(Object entry, Integer newKey) {
+            heap.decreaseKey((BinomialHeap.Entry<Integer, Integer>) entry, newKey);
+        }
+
+        @Override
+        public void delete(Object entry) {
+            heap.delete((BinomialHeap.Entry<Integer, Integer>) entry);
+        }
+
+        @Override
+        public void merge(HeapDriver other) {
+            heap.merge(((BinomialDriver) other).heap);
+        }
+
+        @Override
+        public Integer keyOf(Object entry) {
+            return ((BinomialHeap.Entry<Integer, Integer>) entry).getKey();
+        }
+
+        @Override
+        public Integer valueOf(Object entry) {
+            return ((BinomialHeap.Entry<Integer, Integer>) entry).getValue();
+        }
+    }
+
+    /**
+     * Drives any heap through the MergeableHeap interface. It has no bulk insert, so insertAll
+     * inserts one entry at a time.
+     */
+    @SuppressWarnings("unchecked")
+    private static final class MergeableDriver implements HeapDriver {
+        private final MergeableHeap<Integer, Integer> heap;
+
+        MergeableDriver(MergeableHeap<Integer, Integer> heap) {
+            this.heap = heap;
+        }
+
+        @Override
+        public Object insert(Integer key, Integer value) {
+            return heap.insert(key, value);
+        }
+
+        @Override
+        public Object[] insertAll(Integer[] keys, Integer[] values) {
+            Object[] entries = new Object[keys.length];
+            for (int i = 0; i < keys.length; i++) {
+                entries[i] = heap.insert(keys[i], values[i]);
+            }
+            return entries;
+        }
+
+        @Override
+        public Object findMin() {
+            return heap.findMin();
+        }
+
+        @Override
+        public Object deleteMin() {
+            return heap.deleteMin();
+        }
+
+        @Override
+        public void decreaseKey(Object entry, Integer newKey) {
+            heap.decreaseKey((MergeableHeap.Entry<Integer, Integer>) entry, newKey);
+        }
+
+        @Override
+        public void delete(Object entry) {
+            heap.delete((MergeableHeap.Entry<Integer, Integer>) entry);
+        }
+
+        @Override
+        public void merge(HeapDriver other) {
+            heap.merge(((MergeableDriver) other).heap);
+        }
+
+        @Override
+        public Integer keyOf(Object entry) {
+            return ((MergeableHeap.Entry<Integer, Integer>) entry).getKey();
+        }
+
+        @Override
+        public Integer valueOf(Object entry) {
+            return ((MergeableHeap.Entry<Integer, Integer>) entry).getValue();
+        }
+    }
+}
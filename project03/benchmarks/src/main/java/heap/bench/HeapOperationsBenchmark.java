@@ -0,0 +1,245 @@
+package heap.bench;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Per-operation cost of every public heap operation on a heap holding {@code size} entries.
+ * <p>
+ * Each invocation performs a batch of {@link #BATCH} operations, and the heap is restored to
+ * {@code size} entries by invocation-level fixtures outside of the measured region, so the reported
+ * ns/op is the cost of one operation at that size. Note that {@code -prof gc} also counts what the
+ * fixtures allocate; {@link #findMin} and {@link DijkstraMixBenchmark} have no per-invocation
+ * fixtures and report clean bytes/op. Build with {@code mvn package} and run e.g.
+ * <pre>
+ *   java -jar benchmarks/target/benchmarks.jar HeapOperationsBenchmark -p size=1000000 -prof gc
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+public class HeapOperationsBenchmark {
+
+    /** Number of operations timed per invocation. */
+    static final int BATCH = 512;
+
+    /**
+     * A heap populated with {@code size} keys drawn from {@code keys}.
+     * Slot i of entries holds the handle of a live entry whose original key is slotKeys[i].
+     */
+    @State(Scope.Thread)
+    public static class Populated {
+        @Param({"FIBONACCI", "BINOMIAL", "LAZY_BINOMIAL", "PAIRING", "RANK_PAIRING", "DARY_4", "DARY_8"})
+        public HeapKind heap;
+
+        @Param({"1000", "10000", "100000", "1000000", "10000000"})
+        public int size;
+
+        @Param({"RANDOM", "ASCENDING", "DESCENDING", "DUPLICATES"})
+        public KeyDistribution keys;
+
+        HeapDriver driver;
+        Object[] entries;
+        Integer[] slotKeys;
+        SplittableRandom random;
+
+        // Batch scratch space, reused across invocations.
+        Integer[] batchKeys = new Integer[BATCH];
+        Object[] batchEntries = new Object[BATCH];
+        int[] batchSlots = new int[BATCH];
+        private int[] permutation;
+
+        @Setup(Level.Trial)
+        public void populate() {
+            random = new SplittableRandom(42);
+            driver = heap.newDriver();
+            entries = new Object[size];
+            slotKeys = new Integer[size];
+            permutation = new int[size];
+            for (int i = 0; i < size; i++) {
+                slotKeys[i] = keys.key(i, size, random);
+                entries[i] = driver.insert(slotKeys[i], i);
+                permutation[i] = i;
+            }
+        }
+
+        /**
+         * Fills batchKeys with the next keys of the distribution, continuing past the population.
+         */
+        void nextBatchKeys() {
+            for (int i = 0; i < BATCH; i++) {
+                batchKeys[i] = keys.key(size + i, size, random);
+            }
+        }
+
+        /**
+         * Fills batchSlots with distinct random slots using a partial Fisher-Yates shuffle.
+         */
+        void nextBatchSlots() {
+            for (int i = 0; i < BATCH; i++) {
+                int j = i + random.nextInt(size - i);
+                int tmp = permutation[i];
+                permutation[i] = permutation[j];
+                permutation[j] = tmp;
+                batchSlots[i] = permutation[i];
+            }
+        }
+
+        /**
+         * Replaces the entries in batchSlots with fresh entries carrying their original keys.
+         */
+        void reinsertBatchSlots(boolean deleteFirst) {
+            for (int i = 0; i < BATCH; i++) {
+                int slot = batchSlots[i];
+                if (deleteFirst) {
+                    driver.delete(entries[slot]);
+                }
+                entries[slot] = driver.insert(slotKeys[slot], slot);
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class InsertBatch extends Populated {
+        @Setup(Level.Invocation)
+        public void prepare() {
+            nextBatchKeys();
+        }
+
+        @TearDown(Level.Invocation)
+        public void restore() {
+            for (int i = 0; i < BATCH; i++) {
+                driver.delete(batchEntries[i]);
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class DeleteMinBatch extends Populated {
+        @Setup(Level.Invocation)
+        public void prepare() {
+            nextBatchKeys();
+            for (int i = 0; i < BATCH; i++) {
+                driver.insert(batchKeys[i], -1);
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class DecreaseKeyBatch extends Populated {
+        @Setup(Level.Invocation)
+        public void prepare() {
+            nextBatchSlots();
+            for (int i = 0; i < BATCH; i++) {
+                int key = slotKeys[batchSlots[i]];
+                int delta = 1 + random.nextInt(Math.max(1, size));
+                batchKeys[i] = key - delta < key ? key - delta : Integer.MIN_VALUE;
+            }
+        }
+
+        @TearDown(Level.Invocation)
+        public void restore() {
+            reinsertBatchSlots(true);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class DeleteBatch extends Populated {
+        @Setup(Level.Invocation)
+        public void prepare() {
+            nextBatchSlots();
+        }
+
+        @TearDown(Level.Invocation)
+        public void restore() {
+            reinsertBatchSlots(false);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class MergeBatch extends Populated {
+        HeapDriver other;
+
+        @Setup(Level.Invocation)
+        public void prepare() {
+            nextBatchKeys();
+            other = heap.newDriver();
+            for (int i = 0; i < BATCH; i++) {
+                batchEntries[i] = other.insert(batchKeys[i], -1);
+            }
+        }
+
+        @TearDown(Level.Invocation)
+        public void restore() {
+            for (int i = 0; i < BATCH; i++) {
+                driver.delete(batchEntries[i]);
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void insert(InsertBatch state) {
+        HeapDriver driver = state.driver;
+        Integer[] keys = state.batchKeys;
+        Object[] out = state.batchEntries;
+        for (int i = 0; i < BATCH; i++) {
+            out[i] = driver.insert(keys[i], -1);
+        }
+    }
+
+    @Benchmark
+    public Object findMin(Populated state) {
+        return state.driver.findMin();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void deleteMin(DeleteMinBatch state, Blackhole blackhole) {
+        HeapDriver driver = state.driver;
+        for (int i = 0; i < BATCH; i++) {
+            blackhole.consume(driver.deleteMin());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void decreaseKey(DecreaseKeyBatch state) {
+        HeapDriver driver = state.driver;
+        for (int i = 0; i < BATCH; i++) {
+            driver.decreaseKey(state.entries[state.batchSlots[i]], state.batchKeys[i]);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void delete(DeleteBatch state) {
+        HeapDriver driver = state.driver;
+        for (int i = 0; i < BATCH; i++) {
+            driver.delete(state.entries[state.batchSlots[i]]);
+        }
+    }
+
+    @Benchmark
+    public void merge(MergeBatch state) {
+        state.driver.merge(state.other);
+    }
+}
@@ -0,0 +1,141 @@
+package heap.bench;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import heap.FibonacciHeap;
+import heap.IndexedFibonacciHeap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * decreaseKey and delete by external id: a FibonacciHeap with a HashMap from id to Entry, as a
+ * caller would keep one, against IndexedFibonacciHeap with sparse long ids and with dense ids. One
+ * benchmark operation inserts {@code size} ids, makes {@code size} decreaseKeys and
+ * {@code size / 10} deletes on random ids still in the heap, then drains it with deleteMin.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+public class IndexedHeapBenchmark {
+
+    @Param({"ENTRY_MAP", "SPARSE", "DENSE"})
+    public Index index;
+
+    @Param({"100000", "1000000"})
+    public int size;
+
+    private long[] keys;
+    private int[] targets;
+    private long[] decrements;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        SplittableRandom random = new SplittableRandom(42);
+        keys = new long[size];
+        targets = new int[size + size / 10];
+        decrements = new long[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = random.nextLong(1L << 40);
+            decrements[i] = random.nextLong(1L << 20);
+        }
+        for (int i = 0; i < targets.length; i++) {
+            targets[i] = random.nextInt(size);
+        }
+    }
+
+    @Benchmark
+    public long insertDecreaseDeleteDrain() {
+        return index.run(keys, targets, decrements);
+    }
+
+    public enum Index {
+        ENTRY_MAP {
+            @Override
+            long run(long[] keys, int[] targets, long[] decrements) {
+                FibonacciHeap<Long, Long> heap = new FibonacciHeap<>();
+                Map<Long, FibonacciHeap.Entry<Long, Long>> entries = new HashMap<>();
+                for (int i = 0; i < keys.length; i++) {
+                    long id = i * STRIDE;
+                    entries.put(id, heap.insert(keys[i], id));
+                }
+                for (int i = 0; i < keys.length; i++) {
+                    FibonacciHeap.Entry<Long, Long> entry = entries.get(targets[i] * STRIDE);
+                    if (entry != null) {
+                        heap.decreaseKey(entry, entry.getKey() - decrements[i]);
+                    }
+                }
+                for (int i = keys.length; i < targets.length; i++) {
+                    FibonacciHeap.Entry<Long, Long> entry = entries.remove(targets[i] * STRIDE);
+                    if (entry != null) {
+                        heap.delete(entry);
+                    }
+                }
+                long checksum = 0;
+                while (!heap.isEmpty()) {
+                    long id = heap.deleteMin().getValue();
+                    entries.remove(id);
+                    checksum += id;
+                }
+                return checksum;
+            }
+        },
+        SPARSE {
+            @Override
+            long run(long[] keys, int[] targets, long[] decrements) {
+                return drive(new IndexedFibonacciHeap<>(), STRIDE, keys, targets, decrements);
+            }
+        },
+        DENSE {
+            @Override
+            long run(long[] keys, int[] targets, long[] decrements) {
+                return drive(new IndexedFibonacciHeap<>(keys.length), 1, keys, targets, decrements);
+            }
+        };
+
+        // Spreads sparse ids out so they do not hash as consecutive integers
+        private static final long STRIDE = 0x1_0000_0001L;
+
+        abstract long run(long[] keys, int[] targets, long[] decrements);
+
+        private static long drive(IndexedFibonacciHeap<Long> heap, long stride, long[] keys, int[] targets,
+                                  long[] decrements) {
+            for (int i = 0; i < keys.length; i++) {
+                heap.insert(i * stride, keys[i]);
+            }
+            for (int i = 0; i < keys.length; i++) {
+                long id = targets[i] * stride;
+                Long key = heap.keyOf(id);
+                if (key != null) {
+                    heap.decreaseKey(id, key - decrements[i]);
+                }
+            }
+            for (int i = keys.length; i < targets.length; i++) {
+                long id = targets[i] * stride;
+                if (heap.contains(id)) {
+                    heap.delete(id);
+                }
+            }
+            long checksum = 0;
+            while (!heap.isEmpty()) {
+                checksum += heap.deleteMin();
+            }
+            return checksum;
+        }
+    }
+}
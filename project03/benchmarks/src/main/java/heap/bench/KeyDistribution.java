@@ -0,0 +1,49 @@
+package heap.bench;
+
+import java.util.SplittableRandom;
+
+/**
+ * Key sequences used to populate and feed the heaps under benchmark.
+ * The index passed to {@link #key} keeps growing past the initial population, so batches inserted
+ * during measurement continue the same pattern (e.g. ascending keys stay larger than every key
+ * already present).
+ */
+public enum KeyDistribution {
+    RANDOM {
+        @Override
+        public int key(int index, int size, SplittableRandom random) {
+            return random.nextInt();
+        }
+    },
+    ASCENDING {
+        @Override
+        public int key(int index, int size, SplittableRandom random) {
+            return index;
+        }
+    },
+    DESCENDING {
+        @Override
+        public int key(int index, int size, SplittableRandom random) {
+            return size - index;
+        }
+    },
+    DUPLICATES {
+        @Override
+        public int key(int index, int size, SplittableRandom random) {
+            return random.nextInt(DISTINCT_KEYS);
+        }
+    };
+
+    /** Number of distinct keys drawn by {@link #DUPLICATES}. */
+    static final int DISTINCT_KEYS = 16;
+
+    /**
+     * Returns the key at position index of a sequence whose initial population has the given size.
+     *
+     * @param index Position in the sequence. May exceed size.
+     * @param size Size of the initial population.
+     * @param random Source of randomness for the random distributions.
+     * @return The key at position index.
+     */
+    public abstract int key(int index, int size, SplittableRandom random);
+}
@@ -0,0 +1,172 @@
+package heap.bench;
+
+import java.util.Comparator;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import heap.BinomialHeap;
+import heap.FibonacciHeap;
+import heap.MergeableHeap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Composite (priority, deadline, sequence) keys through a heap ordered three ways: Task's own
+ * compareTo, a Comparator chained from comparingInt and thenComparing, and a key extractor that
+ * packs the three fields into one long. One benchmark operation inserts {@code size} tasks, lowers
+ * the priority of every tenth and removes them all with deleteMin.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+public class KeyOrderingBenchmark {
+
+    private static final int PRIORITIES = 16;
+    private static final Comparator<Task> CHAINED = Comparator.<Task>comparingInt(task -> task.priority)
+            .thenComparingLong(task -> task.deadline)
+            .thenComparingInt(task -> task.sequence);
+
+    @Param({"FIBONACCI", "BINOMIAL"})
+    public Structure heap;
+
+    @Param({"NATURAL", "COMPARATOR", "EXTRACTOR"})
+    public Ordering ordering;
+
+    @Param({"100000"})
+    public int size;
+
+    private Task[] tasks;
+    private Task[] raised;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        SplittableRandom random = new SplittableRandom(42);
+        tasks = new Task[size];
+        raised = new Task[size];
+        for (int i = 0; i < size; i++) {
+            tasks[i] = new Task(1 + random.nextInt(PRIORITIES - 1), random.nextLong(1L << 32), i);
+            raised[i] = new Task(tasks[i].priority - 1, tasks[i].deadline, i);
+        }
+    }
+
+    @Benchmark
+    public long insertDecreaseDrain() {
+        MergeableHeap<Task, Integer> queue = heap.newHeap(ordering);
+        @SuppressWarnings("unchecked")
+        MergeableHeap.Entry<Task, Integer>[] entries = new MergeableHeap.Entry[size];
+        for (int i = 0; i < size; i++) {
+            entries[i] = queue.insert(tasks[i], i);
+        }
+        for (int i = 0; i < size; i += 10) {
+            queue.decreaseKey(entries[i], raised[i]);
+        }
+        long checksum = 0;
+        while (!queue.isEmpty()) {
+            checksum += queue.deleteMin().getValue();
+        }
+        return checksum;
+    }
+
+    public enum Structure {
+        FIBONACCI {
+            @Override
+            MergeableHeap<Task, Integer> newHeap(Ordering ordering) {
+                return ordering.fibonacci();
+            }
+        },
+        BINOMIAL {
+            @Override
+            MergeableHeap<Task, Integer> newHeap(Ordering ordering) {
+                return ordering.binomial();
+            }
+        };
+
+        abstract MergeableHeap<Task, Integer> newHeap(Ordering ordering);
+    }
+
+    public enum Ordering {
+        NATURAL {
+            @Override
+            MergeableHeap<Task, Integer> fibonacci() {
+                return new FibonacciHeap<>();
+            }
+
+            @Override
+            MergeableHeap<Task, Integer> binomial() {
+                return new BinomialHeap<>();
+            }
+        },
+        COMPARATOR {
+            @Override
+            MergeableHeap<Task, Integer> fibonacci() {
+                return new FibonacciHeap<>(CHAINED);
+            }
+
+            @Override
+            MergeableHeap<Task, Integer> binomial() {
+                return new BinomialHeap<>(CHAINED, false);
+            }
+        },
+        EXTRACTOR {
+            @Override
+            MergeableHeap<Task, Integer> fibonacci() {
+                return new FibonacciHeap<>(Task::sortKey);
+            }
+
+            @Override
+            MergeableHeap<Task, Integer> binomial() {
+                return new BinomialHeap<>(Task::sortKey, false);
+            }
+        };
+
+        abstract MergeableHeap<Task, Integer> fibonacci();
+
+        abstract MergeableHeap<Task, Integer> binomial();
+    }
+
+    /**
+     * A scheduler entry: lower priority first, then earlier deadline, then insertion order.
+     */
+    static final class Task implements Comparable<Task> {
+        final int priority;
+        final long deadline;
+        final int sequence;
+
+        Task(int priority, long deadline, int sequence) {
+            this.priority = priority;
+            this.deadline = deadline;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public int compareTo(Task other) {
+            int byPriority = Integer.compare(priority, other.priority);
+            if (byPriority != 0) {
+                return byPriority;
+            }
+            int byDeadline = Long.compare(deadline, other.deadline);
+            return (byDeadline != 0) ? byDeadline : Integer.compare(sequence, other.sequence);
+        }
+
+        /**
+         * Packs the three fields into one long with the same ordering, given a priority below 16,
+         * a deadline below 2^32 and a sequence below 2^24.
+         */
+        long sortKey() {
+            return ((long) priority << 56) | (deadline << 24) | sequence;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package heap.bench;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import heap.BinomialHeap;
+import heap.FibonacciHeap;
+import heap.MergeableHeap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Deadline rescheduling: a heap of {@code size} timers takes {@code size} key updates, half of them
+ * pushing a deadline back and half bringing one forward, with a deleteMin and re-insert of the
+ * earliest timer after every {@code updatesPerPop} updates. Raises go through updateKey, or through
+ * delete and insert as callers had to before it; lowered keys always use decreaseKey.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+public class KeyUpdateBenchmark {
+
+    @Param({"FIBONACCI", "BINOMIAL"})
+    public Structure heap;
+
+    @Param({"UPDATE_KEY", "DELETE_INSERT"})
+    public Strategy strategy;
+
+    @Param({"100000"})
+    public int size;
+
+    @Param({"8"})
+    public int updatesPerPop;
+
+    private long[] deadlines;
+    private int[] targets;
+    private long[] shifts;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        SplittableRandom random = new SplittableRandom(42);
+        deadlines = new long[size];
+        targets = new int[size];
+        shifts = new long[size];
+        for (int i = 0; i < size; i++) {
+            deadlines[i] = random.nextLong(1L << 32);
+            targets[i] = random.nextInt(size);
+            long shift = 1 + random.nextLong(1L << 24);
+            shifts[i] = random.nextBoolean() ? shift : -shift;
+        }
+    }
+
+    @Benchmark
+    public long reschedule() {
+        MergeableHeap<Long, Integer> queue = heap.newHeap();
+        @SuppressWarnings("unchecked")
+        MergeableHeap.Entry<Long, Integer>[] timers = new MergeableHeap.Entry[size];
+        for (int i = 0; i < size; i++) {
+            timers[i] = queue.insert(deadlines[i], i);
+        }
+
+        long checksum = 0;
+        for (int i = 0; i < size; i++) {
+            int timer = targets[i];
+            MergeableHeap.Entry<Long, Integer> entry = timers[timer];
+            long newKey = entry.getKey() + shifts[i];
+            if (shifts[i] < 0) {
+                queue.decreaseKey(entry, newKey);
+            } else {
+                timers[timer] = strategy.raise(heap, queue, entry, newKey);
+            }
+
+            if (i % updatesPerPop == 0) {
+                MergeableHeap.Entry<Long, Integer> first = queue.deleteMin();
+                int fired = first.getValue();
+                checksum += fired;
+                timers[fired] = queue.insert(first.getKey() + (1L << 24), fired);
+            }
+        }
+        return checksum;
+    }
+
+    public enum Structure {
+        FIBONACCI {
+            @Override
+            MergeableHeap<Long, Integer> newHeap() {
+                return new FibonacciHeap<>();
+            }
+
+            @Override
+            void updateKey(MergeableHeap<Long, Integer> queue, MergeableHeap.Entry<Long, Integer> entry, Long newKey) {
+                ((FibonacciHeap<Long, Integer>) queue).updateKey(entry, newKey);
+            }
+        },
+        BINOMIAL {
+            @Override
+            MergeableHeap<Long, Integer> newHeap() {
+                return new BinomialHeap<>();
+            }
+
+            @Override
+            void updateKey(MergeableHeap<Long, Integer> queue, MergeableHeap.Entry<Long, Integer> entry, Long newKey) {
+                ((BinomialHeap<Long, Integer>) queue).updateKey(entry, newKey);
+            }
+        };
+
+        abstract MergeableHeap<Long, Integer> newHeap();
+
+        abstract void updateKey(MergeableHeap<Long, Integer> queue, MergeableHeap.Entry<Long, Integer> entry, Long newKey);
+    }
+
+    public enum Strategy {
+        UPDATE_KEY {
+            @Override
+            MergeableHeap.Entry<Long, Integer> raise(Structure structure, MergeableHeap<Long, Integer> queue,
+                                                     MergeableHeap.Entry<Long, Integer> entry, long newKey) {
+                structure.updateKey(queue, entry, newKey);
+                return entry;
+            }
+        },
+        DELETE_INSERT {
+            @Override
+            MergeableHeap.Entry<Long, Integer> raise(Structure structure, MergeableHeap<Long, Integer> queue,
+                                                     MergeableHeap.Entry<Long, Integer> entry, long newKey) {
+                queue.delete(entry);
+                return queue.insert(newKey, entry.getValue());
+            }
+        };
+
+        abstract MergeableHeap.Entry<Long, Integer> raise(Structure structure, MergeableHeap<Long, Integer> queue,
+                                                          MergeableHeap.Entry<Long, Integer> entry, long newKey);
+    }
+}
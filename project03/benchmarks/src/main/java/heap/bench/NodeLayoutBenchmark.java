@@ -0,0 +1,80 @@
+package heap.bench;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Costs that follow from the node layout, for comparing layouts across commits.
+ * <ul>
+ * <li>{@code load}: bulk insert of {@code size} entries. With {@code -prof gc},
+ * gc.alloc.rate.norm divided by size is the heap footprint per entry.</li>
+ * <li>{@code loadThenDeleteMin}: the same plus the first deleteMin, which for the Fibonacci heap
+ * consolidates all {@code size} roots. The difference to {@code load} is the consolidation.</li>
+ * <li>{@code loadThenDeleteAll}: the same plus deleteMin until empty, which walks every child list
+ * once.</li>
+ * </ul>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+public class NodeLayoutBenchmark {
+
+    @Param({"FIBONACCI", "BINOMIAL", "PAIRING", "RANK_PAIRING", "DARY_4", "DARY_8"})
+    public HeapKind heap;
+
+    @Param({"100000", "1000000"})
+    public int size;
+
+    private Integer[] keyArray;
+    private Integer[] valueArray;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        SplittableRandom random = new SplittableRandom(42);
+        keyArray = new Integer[size];
+        valueArray = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            keyArray[i] = KeyDistribution.RANDOM.key(i, size, random);
+            valueArray[i] = i;
+        }
+    }
+
+    @Benchmark
+    public HeapDriver load() {
+        HeapDriver driver = heap.newDriver();
+        driver.insertAll(keyArray, valueArray);
+        return driver;
+    }
+
+    @Benchmark
+    public HeapDriver loadThenDeleteMin() {
+        HeapDriver driver = load();
+        driver.deleteMin();
+        return driver;
+    }
+
+    @Benchmark
+    public HeapDriver loadThenDeleteAll() {
+        HeapDriver driver = load();
+        for (int i = 0; i < size; i++) {
+            driver.deleteMin();
+        }
+        return driver;
+    }
+}
@@ -0,0 +1,74 @@
+package heap.bench;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import heap.FibonacciHeap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The first deleteMin after a burst of {@code size} inserts, which has to consolidate a root list of
+ * {@code size} trees, with consolidation on the calling thread ({@code parallelism} = 0) or on a
+ * ForkJoinPool of {@code parallelism} threads. The heap is refilled by an invocation-level fixture.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+public class ParallelConsolidationBenchmark {
+
+    private static final int ROOT_THRESHOLD = 100_000;
+
+    @Param({"1000000", "4000000"})
+    public int size;
+
+    @Param({"0", "2", "4", "8"})
+    public int parallelism;
+
+    private Integer[] keys;
+    private Integer[] values;
+    private ForkJoinPool pool;
+    private FibonacciHeap<Integer, Integer> heap;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        SplittableRandom random = new SplittableRandom(42);
+        keys = new Integer[size];
+        values = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = random.nextInt();
+            values[i] = i;
+        }
+        if (parallelism > 0) {
+            pool = new ForkJoinPool(parallelism);
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void fill() {
+        heap = new FibonacciHeap<>();
+        if (pool != null) {
+            heap.setParallelConsolidation(pool, ROOT_THRESHOLD);
+        }
+        heap.insertAll(keys, values);
+    }
+
+    @Benchmark
+    public Object deleteMinAfterBurst() {
+        return heap.deleteMin();
+    }
+}
@@ -0,0 +1,78 @@
+package heap.bench;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import heap.BinomialHeap;
+import heap.PersistentHeap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The price of immutability: the "hold" operation, one deleteMin followed by one insert, on a
+ * BinomialHeap and on a PersistentHeap, whose every version is a snapshot. persistentHold also
+ * publishes each new version through a volatile field, as a writer sharing it with readers would.
+ * Keys are boxed up front and cycled.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+public class PersistentHoldBenchmark {
+
+    private static final int KEY_COUNT = 1 << 16;
+
+    @Param({"1000", "1000000"})
+    public int size;
+
+    private BinomialHeap<Long, Object> binomial;
+    private volatile PersistentHeap<Long, Object> persistent;
+    private Long[] keys;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void populate() {
+        SplittableRandom random = new SplittableRandom(42);
+        keys = new Long[KEY_COUNT];
+        for (int i = 0; i < KEY_COUNT; i++) {
+            keys[i] = random.nextLong(size);
+        }
+        binomial = new BinomialHeap<>();
+        PersistentHeap<Long, Object> version = new PersistentHeap<>();
+        for (int i = 0; i < size; i++) {
+            Long key = nextKey();
+            binomial.insert(key, null);
+            version = version.insert(key, null);
+        }
+        persistent = version;
+    }
+
+    @Benchmark
+    public Object binomialHold() {
+        binomial.deleteMin();
+        return binomial.insert(nextKey(), null);
+    }
+
+    @Benchmark
+    public Object persistentHold() {
+        PersistentHeap<Long, Object> version = persistent.deleteMin().insert(nextKey(), null);
+        persistent = version;
+        return version;
+    }
+
+    private Long nextKey() {
+        return keys[cursor++ & (KEY_COUNT - 1)];
+    }
+}
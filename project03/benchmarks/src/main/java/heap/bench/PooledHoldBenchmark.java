@@ -0,0 +1,68 @@
+package heap.bench;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import heap.FibonacciHeap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The timer-queue "hold" operation, one deleteMin followed by one insert, on a FibonacciHeap with
+ * and without node pooling. Keys are boxed up front and cycled, so the only allocation left is the
+ * heap's own. Run with {@code -prof gc}: with {@code poolCapacity} above 0, gc.alloc.rate.norm
+ * should read 0 B/op after warm-up.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+public class PooledHoldBenchmark {
+
+    private static final int KEY_COUNT = 1 << 16;
+
+    @Param({"1000", "1000000"})
+    public int size;
+
+    @Param({"0", "1024"})
+    public int poolCapacity;
+
+    private FibonacciHeap<Long, Object> heap;
+    private Long[] keys;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void populate() {
+        SplittableRandom random = new SplittableRandom(42);
+        keys = new Long[KEY_COUNT];
+        for (int i = 0; i < KEY_COUNT; i++) {
+            keys[i] = random.nextLong(size);
+        }
+        heap = new FibonacciHeap<>(poolCapacity);
+        for (int i = 0; i < size; i++) {
+            heap.insert(nextKey(), null);
+        }
+    }
+
+    @Benchmark
+    public Object hold() {
+        heap.deleteMin();
+        return heap.insert(nextKey(), null);
+    }
+
+    private Long nextKey() {
+        return keys[cursor++ & (KEY_COUNT - 1)];
+    }
+}
@@ -0,0 +1,65 @@
+package heap.bench;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import heap.FibonacciHeap;
+import heap.LongFibonacciHeap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Boxed FibonacciHeap&lt;Long, V&gt; against the array-backed LongFibonacciHeap on the "hold"
+ * operation: one deleteMin followed by one insert of a later key, keeping the heap at {@code size}.
+ * Run with {@code -prof gc} to compare bytes/op; the primitive heap allocates nothing per hold
+ * once its arrays have grown.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+public class PrimitiveKeyBenchmark {
+
+    @Param({"1000", "100000", "10000000"})
+    public int size;
+
+    private FibonacciHeap<Long, Object> boxed;
+    private LongFibonacciHeap<Object> primitive;
+    private SplittableRandom random;
+
+    @Setup(Level.Trial)
+    public void populate() {
+        random = new SplittableRandom(42);
+        boxed = new FibonacciHeap<>();
+        primitive = new LongFibonacciHeap<>(size);
+        for (int i = 0; i < size; i++) {
+            long key = random.nextLong(size);
+            boxed.insert(key, null);
+            primitive.insert(key, null);
+        }
+    }
+
+    @Benchmark
+    public Object holdBoxed() {
+        FibonacciHeap.Entry<Long, Object> min = boxed.deleteMin();
+        return boxed.insert(min.getKey() + random.nextLong(size), null);
+    }
+
+    @Benchmark
+    public int holdPrimitive() {
+        long key = primitive.getKey(primitive.deleteMin());
+        return primitive.insert(key + random.nextLong(size), null);
+    }
+}
@@ -0,0 +1,105 @@
+package heap.bench;
+
+import java.util.SplittableRandom;
+
+import heap.FibonacciHeap;
+import heap.MultiQueueFibonacciHeap;
+
+/**
+ * Measures the rank error of MultiQueueFibonacciHeap.deleteMin: for each removed entry, the number
+ * of entries still in the queue with a smaller key (0 for an exact deleteMin). The queue is filled
+ * to SIZE distinct keys and then driven through OPERATIONS "hold" steps, each a deleteMin followed
+ * by an insert of a fresh key, from one thread. Present keys are counted in a Fenwick tree, so each
+ * rank costs O(log KEY_SPACE).
+ * <p>
+ * Run with {@code java -cp benchmarks.jar heap.bench.RankErrorMeasurement [queueCount ...]}.
+ * The mean should grow linearly with the queue count m and stay a small multiple of m.
+ */
+public final class RankErrorMeasurement {
+
+    private static final int SIZE = 1 << 20;
+    private static final int KEY_SPACE = SIZE << 2;
+    private static final int OPERATIONS = 1 << 22;
+
+    private RankErrorMeasurement() {
+    }
+
+    public static void main(String[] args) {
+        int[] queueCounts = {1, 4, 16, 64, 256};
+        if (args.length > 0) {
+            queueCounts = new int[args.length];
+            for (int i = 0; i < args.length; i++) {
+                queueCounts[i] = Integer.parseInt(args[i]);
+            }
+        }
+
+        System.out.printf("%8s %12s %12s %12s%n", "m", "mean", "p99", "max");
+        for (int queueCount : queueCounts) {
+            measure(queueCount);
+        }
+    }
+
+    private static void measure(int queueCount) {
+        SplittableRandom random = new SplittableRandom(42);
+        MultiQueueFibonacciHeap<Integer, Object> queue = new MultiQueueFibonacciHeap<>(queueCount);
+        boolean[] present = new boolean[KEY_SPACE];
+        int[] fenwick = new int[KEY_SPACE + 1];
+
+        for (int i = 0; i < SIZE; i++) {
+            int key = freshKey(random, present);
+            add(fenwick, key, 1);
+            queue.insert(key, null);
+        }
+
+        // Rank errors up to 2^16 are histogrammed exactly; larger ones share the last bucket
+        long[] histogram = new long[(1 << 16) + 1];
+        long total = 0;
+        int max = 0;
+        for (int i = 0; i < OPERATIONS; i++) {
+            FibonacciHeap.Entry<Integer, Object> min = queue.deleteMin();
+            int key = min.getKey();
+            int rank = countBelow(fenwick, key);
+            add(fenwick, key, -1);
+            present[key] = false;
+
+            total += rank;
+            max = Math.max(max, rank);
+            histogram[Math.min(rank, histogram.length - 1)]++;
+
+            int next = freshKey(random, present);
+            add(fenwick, next, 1);
+            queue.insert(next, null);
+        }
+
+        long target = (long) Math.ceil(0.99 * OPERATIONS), seen = 0;
+        int p99 = 0;
+        while (seen + histogram[p99] < target) {
+            seen += histogram[p99++];
+        }
+        System.out.printf("%8d %12.2f %12d %12d%n", queueCount, (double) total / OPERATIONS, p99, max);
+    }
+
+    private static int freshKey(SplittableRandom random, boolean[] present) {
+        int key;
+        do {
+            key = random.nextInt(KEY_SPACE);
+        } while (present[key]);
+        present[key] = true;
+        return key;
+    }
+
+    private static void add(int[] fenwick, int key, int delta) {
+        for (int i = key + 1; i < fenwick.length; i += i & -i) {
+            fenwick[i] += delta;
+        }
+    }
+
+    /** Number of present keys less than key. */
+    private static int countBelow(int[] fenwick, int key) {
+        int count = 0;
+        for (int i = key; i > 0; i -= i & -i) {
+            count += fenwick[i];
+        }
+        return count;
+    }
+}
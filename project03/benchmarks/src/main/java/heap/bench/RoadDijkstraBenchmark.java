@@ -0,0 +1,208 @@
+package heap.bench;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import heap.BucketQueue;
+import heap.HeapEngine;
+import heap.LongFibonacciHeap;
+import heap.MergeableHeap;
+import heap.MonotoneHeap;
+import heap.RadixHeap;
+import heap.graph.CsrGraph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Full single-source Dijkstra runs on a synthetic road network, one run per benchmark operation,
+ * with each priority queue engine. The network is a {@link RoadNetwork} grid of {@code side} x
+ * {@code side} crossings. The search loops are written out here rather than taken from
+ * {@link heap.graph.ShortestPaths}, so that only the heap differs between runs.
+ * <p>
+ * The comparison-based heaps box their long keys; LONG_FIBONACCI, RADIX and BUCKET do not.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+public class RoadDijkstraBenchmark {
+
+    private static final int SOURCES = 8;
+
+    @Param({"256", "1024", "2048"})
+    public int side;
+
+    @Param({"FIBONACCI", "PAIRING", "DARY", "LONG_FIBONACCI", "RADIX", "BUCKET"})
+    public Engine engine;
+
+    private CsrGraph graph;
+    private int[] sources;
+    private Integer[] ids;
+    private long[] distances;
+    private int run;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        SplittableRandom random = new SplittableRandom(42);
+        graph = RoadNetwork.generate(side, random);
+        int nodes = graph.vertexCount();
+        sources = new int[SOURCES];
+        for (int i = 0; i < SOURCES; i++) {
+            sources[i] = random.nextInt(nodes);
+        }
+        ids = new Integer[nodes];
+        for (int node = 0; node < nodes; node++) {
+            ids[node] = node;
+        }
+        distances = new long[nodes];
+    }
+
+    @Benchmark
+    public long shortestPaths() {
+        Arrays.fill(distances, Long.MAX_VALUE);
+        int source = sources[run++ % SOURCES];
+        return engine.run(this, source);
+    }
+
+    public enum Engine {
+        FIBONACCI {
+            @Override
+            long run(RoadDijkstraBenchmark graph, int source) {
+                return graph.runMergeable(HeapEngine.FIBONACCI.newHeap(), source);
+            }
+        },
+        PAIRING {
+            @Override
+            long run(RoadDijkstraBenchmark graph, int source) {
+                return graph.runMergeable(HeapEngine.PAIRING.newHeap(), source);
+            }
+        },
+        DARY {
+            @Override
+            long run(RoadDijkstraBenchmark graph, int source) {
+                return graph.runMergeable(HeapEngine.DARY.newHeap(), source);
+            }
+        },
+        LONG_FIBONACCI {
+            @Override
+            long run(RoadDijkstraBenchmark graph, int source) {
+                return graph.runLongFibonacci(source);
+            }
+        },
+        RADIX {
+            @Override
+            long run(RoadDijkstraBenchmark graph, int source) {
+                return graph.runMonotone(new RadixHeap<>(), source);
+            }
+        },
+        BUCKET {
+            @Override
+            long run(RoadDijkstraBenchmark graph, int source) {
+                return graph.runMonotone(new BucketQueue<>(RoadNetwork.MAX_WEIGHT), source);
+            }
+        };
+
+        /**
+         * Runs Dijkstra from source and returns the sum of all distances, so that the work cannot
+         * be optimized away.
+         */
+        abstract long run(RoadDijkstraBenchmark graph, int source);
+    }
+
+    long runMergeable(MergeableHeap<Long, Integer> heap, int source) {
+        @SuppressWarnings("unchecked")
+        MergeableHeap.Entry<Long, Integer>[] handles = (MergeableHeap.Entry<Long, Integer>[]) new MergeableHeap.Entry[ids.length];
+        distances[source] = 0;
+        handles[source] = heap.insert(0L, ids[source]);
+        long total = 0;
+        while (!heap.isEmpty()) {
+            MergeableHeap.Entry<Long, Integer> min = heap.deleteMin();
+            int node = min.getValue();
+            long distance = min.getKey();
+            total += distance;
+            for (int edge = graph.firstEdge(node); edge < graph.endEdge(node); edge++) {
+                int next = graph.target(edge);
+                long candidate = distance + graph.weight(edge);
+                if (candidate >= distances[next]) {
+                    continue;
+                }
+                if (distances[next] == Long.MAX_VALUE) {
+                    handles[next] = heap.insert(candidate, ids[next]);
+                } else {
+                    heap.decreaseKey(handles[next], candidate);
+                }
+                distances[next] = candidate;
+            }
+        }
+        return total;
+    }
+
+    long runLongFibonacci(int source) {
+        LongFibonacciHeap<Integer> heap = new LongFibonacciHeap<>();
+        int[] handles = new int[ids.length];
+        distances[source] = 0;
+        handles[source] = heap.insert(0L, ids[source]);
+        long total = 0;
+        while (!heap.isEmpty()) {
+            int min = heap.deleteMin();
+            int node = heap.getValue(min);
+            long distance = heap.getKey(min);
+            total += distance;
+            for (int edge = graph.firstEdge(node); edge < graph.endEdge(node); edge++) {
+                int next = graph.target(edge);
+                long candidate = distance + graph.weight(edge);
+                if (candidate >= distances[next]) {
+                    continue;
+                }
+                if (distances[next] == Long.MAX_VALUE) {
+                    handles[next] = heap.insert(candidate, ids[next]);
+                } else {
+                    heap.decreaseKey(handles[next], candidate);
+                }
+                distances[next] = candidate;
+            }
+        }
+        return total;
+    }
+
+    long runMonotone(MonotoneHeap<Integer> heap, int source) {
+        @SuppressWarnings("unchecked")
+        MonotoneHeap.Entry<Integer>[] handles = (MonotoneHeap.Entry<Integer>[]) new MonotoneHeap.Entry[ids.length];
+        distances[source] = 0;
+        handles[source] = heap.insert(0L, ids[source]);
+        long total = 0;
+        while (!heap.isEmpty()) {
+            MonotoneHeap.Entry<Integer> min = heap.deleteMin();
+            int node = min.getValue();
+            long distance = min.getKey();
+            total += distance;
+            for (int edge = graph.firstEdge(node); edge < graph.endEdge(node); edge++) {
+                int next = graph.target(edge);
+                long candidate = distance + graph.weight(edge);
+                if (candidate >= distances[next]) {
+                    continue;
+                }
+                if (distances[next] == Long.MAX_VALUE) {
+                    handles[next] = heap.insert(candidate, ids[next]);
+                } else {
+                    heap.decreaseKey(handles[next], candidate);
+                }
+                distances[next] = candidate;
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,66 @@
+package heap.bench;
+
+import java.util.SplittableRandom;
+
+import heap.graph.CsrGraph;
+
+/**
+ * Synthetic road networks for the graph benchmarks.
+ * <p>
+ * The network is a {@code side} x {@code side} grid with a 4-neighbourhood, which is roughly what
+ * road graphs look like: planar, average degree below 4, and large diameter. Each street is
+ * dropped with probability 0.1 and otherwise gets a random length in [100, {@link #MAX_WEIGHT}].
+ * Every 32nd row and column is a highway whose segments are 4 times cheaper, so no edge is cheaper
+ * than {@link #MIN_WEIGHT} and A* may estimate {@code MIN_WEIGHT} per grid step still to go.
+ */
+final class RoadNetwork {
+
+    static final int MAX_WEIGHT = 1000;
+    static final int MIN_WEIGHT = 25;
+    private static final int HIGHWAY_SPACING = 32;
+
+    private RoadNetwork() {
+    }
+
+    /**
+     * Generates an undirected road grid, vertex {@code row * side + col} at each crossing.
+     */
+    static CsrGraph generate(int side, SplittableRandom random) {
+        int nodes = side * side;
+        int[] edgeFrom = new int[2 * nodes], edgeTo = new int[2 * nodes];
+        long[] edgeWeight = new long[2 * nodes];
+        int edges = 0;
+        for (int row = 0; row < side; row++) {
+            for (int col = 0; col < side; col++) {
+                int node = row * side + col;
+                // Right and down neighbours
+                for (int direction = 0; direction < 2; direction++) {
+                    int nextRow = row + direction, nextCol = col + 1 - direction;
+                    if (nextRow >= side || nextCol >= side || random.nextInt(10) == 0) {
+                        continue;
+                    }
+                    int weight = 100 + random.nextInt(MAX_WEIGHT - 99);
+                    boolean highway = (direction == 0) ? row % HIGHWAY_SPACING == 0 : col % HIGHWAY_SPACING == 0;
+                    if (highway) {
+                        weight /= 4;
+                    }
+                    edgeFrom[edges] = node;
+                    edgeTo[edges] = nextRow * side + nextCol;
+                    edgeWeight[edges] = weight;
+                    edges++;
+                }
+            }
+        }
+        return CsrGraph.fromUndirectedEdges(nodes, edgeFrom, edgeTo, edgeWeight, edges);
+    }
+
+    /**
+     * Returns a consistent A* heuristic towards target on a grid from {@link #generate}: the
+     * Manhattan distance in grid steps times {@link #MIN_WEIGHT}.
+     */
+    static long estimate(int side, int vertex, int target) {
+        int rows = Math.abs(vertex / side - target / side);
+        int cols = Math.abs(vertex % side - target % side);
+        return (long) MIN_WEIGHT * (rows + cols);
+    }
+}
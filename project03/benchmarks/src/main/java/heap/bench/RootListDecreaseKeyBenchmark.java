@@ -0,0 +1,78 @@
+package heap.bench;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import heap.FibonacciHeap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * FibonacciHeap.decreaseKey cost as a function of root-list length.
+ * <p>
+ * Each iteration starts from {@link #TREE_NODES} entries consolidated into trees, then inserts
+ * {@code roots} singleton trees that stay on the root list because no deleteMin follows. The
+ * benchmark repeatedly decreases random consolidated entries by one, cutting them (and cascading)
+ * whenever they drop below their parent. With O(1) decreaseKey the score stays flat across roots.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class RootListDecreaseKeyBenchmark {
+
+    static final int TREE_NODES = 1 << 17;
+
+    /** Gap between consecutive initial keys, so each entry can be decreased many times. */
+    static final int KEY_SPACING = 1 << 12;
+
+    @Param({"0", "1000", "10000", "100000", "1000000"})
+    public int roots;
+
+    private FibonacciHeap<Integer, Integer> heap;
+    private FibonacciHeap.Entry<Integer, Integer>[] entries;
+    private SplittableRandom random;
+
+    @Setup(Level.Iteration)
+    @SuppressWarnings("unchecked")
+    public void build() {
+        random = new SplittableRandom(42);
+        heap = new FibonacciHeap<>();
+        entries = (FibonacciHeap.Entry<Integer, Integer>[]) new FibonacciHeap.Entry[TREE_NODES];
+
+        // Insert in random order so that parents and children interleave after consolidation.
+        int[] order = new int[TREE_NODES];
+        for (int i = 0; i < TREE_NODES; i++) {
+            int j = random.nextInt(i + 1);
+            order[i] = order[j];
+            order[j] = i;
+        }
+        heap.insert(Integer.MIN_VALUE, -1);
+        for (int i = 0; i < TREE_NODES; i++) {
+            entries[i] = heap.insert(order[i] * KEY_SPACING, i);
+        }
+        heap.deleteMin();
+
+        for (int i = 0; i < roots; i++) {
+            heap.insert(Integer.MAX_VALUE, -1);
+        }
+    }
+
+    @Benchmark
+    public void decreaseKey() {
+        FibonacciHeap.Entry<Integer, Integer> entry = entries[random.nextInt(TREE_NODES)];
+        heap.decreaseKey(entry, entry.getKey() - 1);
+    }
+}
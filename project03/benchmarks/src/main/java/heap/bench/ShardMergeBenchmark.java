@@ -0,0 +1,78 @@
+package heap.bench;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Merge-heavy rebalancing: {@link #SHARDS} shard heaps of {@link #SHARD_SIZE} entries each are
+ * built and merged into a heap of {@code size} entries, followed by a single deleteMin. The
+ * reported time is per shard.
+ * <p>
+ * Building the shards is measured too, because a lazy heap defers linking a shard's own entries
+ * into trees until the deleteMin, so leaving it out would favour the eager heaps. The heap is
+ * trimmed back to {@code size} by an invocation-level fixture, outside of the measured region.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+public class ShardMergeBenchmark {
+
+    static final int SHARDS = 1024;
+    static final int SHARD_SIZE = 8;
+
+    @Param({"BINOMIAL", "LAZY_BINOMIAL", "FIBONACCI", "PAIRING"})
+    public HeapKind heap;
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    private HeapDriver driver;
+    private SplittableRandom random;
+
+    @Setup(Level.Trial)
+    public void populate() {
+        random = new SplittableRandom(42);
+        driver = heap.newDriver();
+        for (int i = 0; i < size; i++) {
+            driver.insert(random.nextInt(), i);
+        }
+    }
+
+    @TearDown(Level.Invocation)
+    public void restore() {
+        for (int i = 1; i < SHARDS * SHARD_SIZE; i++) {
+            driver.deleteMin();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SHARDS)
+    public Object mergeShards() {
+        for (int i = 0; i < SHARDS; i++) {
+            HeapDriver shard = heap.newDriver();
+            for (int j = 0; j < SHARD_SIZE; j++) {
+                shard.insert(random.nextInt(), j);
+            }
+            driver.merge(shard);
+        }
+        return driver.deleteMin();
+    }
+}
@@ -0,0 +1,147 @@
+package heap.bench;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import heap.HeapEngine;
+import heap.KWayMerge;
+import heap.MergeableHeap;
+import heap.TopK;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The two streaming shapes: top-k of {@code count} random keys, and a k-way merge of {@code k}
+ * sorted runs of {@code count / k} keys each. Each heap engine runs the hand-wired
+ * insert/findMin/deleteMin loop services used to write; UTILITIES runs TopK and KWayMerge, which are
+ * built on DaryHeap and its replaceMin. The hand-wired DARY loop pays a deleteMin and an insert
+ * where the utilities sift once, so compare UTILITIES with the fastest engine, not just with DARY.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+public class TopKMergeBenchmark {
+
+    @Param({"FIBONACCI", "BINOMIAL", "PAIRING", "DARY", "UTILITIES"})
+    public Backing backing;
+
+    @Param({"1000000"})
+    public int count;
+
+    @Param({"100"})
+    public int k;
+
+    private Integer[] keys;
+    private Integer[][] runs;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        SplittableRandom random = new SplittableRandom(42);
+        keys = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            keys[i] = random.nextInt();
+        }
+        runs = new Integer[k][];
+        for (int run = 0; run < k; run++) {
+            runs[run] = Arrays.copyOfRange(keys, run * (count / k), (run + 1) * (count / k));
+            Arrays.sort(runs[run]);
+        }
+    }
+
+    @Benchmark
+    public long topK() {
+        return backing.topK(keys, k);
+    }
+
+    @Benchmark
+    public long merge() {
+        List<Iterator<Integer>> sources = new ArrayList<>(runs.length);
+        for (Integer[] run : runs) {
+            sources.add(Arrays.asList(run).iterator());
+        }
+        return backing.merge(sources);
+    }
+
+    public enum Backing {
+        FIBONACCI(HeapEngine.FIBONACCI),
+        BINOMIAL(HeapEngine.BINOMIAL),
+        PAIRING(HeapEngine.PAIRING),
+        DARY(HeapEngine.DARY),
+        UTILITIES(null) {
+            @Override
+            long topK(Integer[] keys, int k) {
+                TopK<Integer> top = new TopK<>(k, Comparator.naturalOrder());
+                for (Integer key : keys) {
+                    top.offer(key);
+                }
+                return top.threshold();
+            }
+
+            @Override
+            long merge(List<Iterator<Integer>> sources) {
+                KWayMerge<Integer> merged = new KWayMerge<>(sources, Comparator.naturalOrder());
+                long checksum = 0;
+                while (merged.hasNext()) {
+                    checksum = 31 * checksum + merged.next();
+                }
+                return checksum;
+            }
+        };
+
+        private final HeapEngine engine;
+
+        Backing(HeapEngine engine) {
+            this.engine = engine;
+        }
+
+        long topK(Integer[] keys, int k) {
+            MergeableHeap<Integer, Object> top = engine.newHeap();
+            for (Integer key : keys) {
+                if (top.size() < k) {
+                    top.insert(key, null);
+                } else if (key > top.findMin().getKey()) {
+                    top.deleteMin();
+                    top.insert(key, null);
+                }
+            }
+            return top.findMin().getKey();
+        }
+
+        long merge(List<Iterator<Integer>> sources) {
+            MergeableHeap<Integer, Iterator<Integer>> heads = engine.newHeap();
+            for (Iterator<Integer> source : sources) {
+                if (source.hasNext()) {
+                    heads.insert(source.next(), source);
+                }
+            }
+            long checksum = 0;
+            while (!heads.isEmpty()) {
+                MergeableHeap.Entry<Integer, Iterator<Integer>> least = heads.deleteMin();
+                checksum = 31 * checksum + least.getKey();
+                Iterator<Integer> source = least.getValue();
+                if (source.hasNext()) {
+                    heads.insert(source.next(), source);
+                }
+            }
+            return checksum;
+        }
+    }
+}
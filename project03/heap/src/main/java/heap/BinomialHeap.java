@@ -0,0 +1,876 @@
+package heap;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+
+/**
+ * A 'simple' binomial heap implementation for CS 3345 at UTD.
+ * <p>
+ * By default the heap is eager: insert, insertAll and merge combine trees of equal order at once,
+ * so there is never more than one tree per order. In lazy mode they only splice the new trees into
+ * the list of roots and compare against the minimum, as a Fibonacci heap does, and trees are
+ * combined by the next deleteMin or delete. That makes insert and merge O(1), which pays off when
+ * many merges or inserts come between extractions; deleteMin then pays O(log n) amortized, rather
+ * than worst-case, for the trees it combines.
+ * <p>
+ * setMetrics attaches operation counters and the shape of the root list, as HeapMetrics.
+ * <p>
+ * Keys are ordered by their natural ordering, by a Comparator, or by a long sort key from a key
+ * extractor, cached in each node so that combining trees compares primitives only. Without either,
+ * keys must be Comparable.
+ * <p>
+ * Besides decreaseKey, keys can be raised in place with increaseKey, which sifts the entry down, or
+ * changed either way with updateKey, keeping the entry's handle.
+ *
+ * @param <K> The entries' key type.
+ * @param <V> The entries' value type.
+ */
+public class BinomialHeap<K, V> implements MergeableHeap<K, V> {
+
+  /**
+   * An element of the heap, consisting of a key-value pair.
+   *
+   * @param <K> The key type.
+   * @param <V> The value type.
+   */
+  public static class Entry<K, V> implements MergeableHeap.Entry<K, V> {
+    /**
+     * Instantiate's a new entry.
+     * Marked private so only the heap itself can create new entry instances.
+     *
+     * @param key The entry's key.
+     * @param value The entry's value.
+     */
+    private Entry(K key, V value) {
+      this.key = key;
+      this.value = value;
+    }
+
+    /**
+     * Returns whether or not the entry still exists in the heap.
+     *
+     * @return true if entry has not been deleted from the heap.
+     */
+    public boolean inHeap() {
+      return node != null;
+    }
+
+    /**
+     * Returns key for this entry.
+     *
+     * @return Key for this entry.
+     */
+    public K getKey() {
+      return key;
+    }
+
+    /**
+     * Returns value of this entry.
+     *
+     * @return Value of this entry.
+     */
+    public V getValue() {
+      return value;
+    }
+
+    private K key;
+    private V value;
+    private Node<K, V> node; // Node containing this Entry. Becomes null upon removal from heap.
+  }
+
+  /**
+   * Instantiate an empty, eager binomial heap that orders keys by their natural ordering.
+   */
+  public BinomialHeap() {
+    this(false);
+  }
+
+  /**
+   * Instantiate an empty binomial heap that orders keys by their natural ordering.
+   *
+   * @param lazy Whether insert and merge defer combining trees to the next deleteMin or delete.
+   */
+  public BinomialHeap(boolean lazy) {
+    this(null, null, lazy);
+  }
+
+  /**
+   * Instantiate an empty binomial heap that orders keys by comparator.
+   *
+   * @param comparator Ordering of the keys.
+   * @param lazy Whether insert and merge defer combining trees to the next deleteMin or delete.
+   * @throws IllegalArgumentException If comparator is null.
+   */
+  public BinomialHeap(Comparator<? super K> comparator, boolean lazy) {
+    this(comparator, null, lazy);
+    if (comparator == null) {
+      throw new IllegalArgumentException();
+    }
+  }
+
+  /**
+   * Instantiate an empty binomial heap that orders keys by the long keyExtractor maps them to.
+   * Keys with equal sort keys come out in no particular order.
+   *
+   * @param keyExtractor Sort key of each key, called once per insert or key update.
+   * @param lazy Whether insert and merge defer combining trees to the next deleteMin or delete.
+   * @throws IllegalArgumentException If keyExtractor is null.
+   */
+  public BinomialHeap(ToLongFunction<? super K> keyExtractor, boolean lazy) {
+    this(null, keyExtractor, lazy);
+    if (keyExtractor == null) {
+      throw new IllegalArgumentException();
+    }
+  }
+
+  private BinomialHeap(Comparator<? super K> comparator, ToLongFunction<? super K> keyExtractor, boolean lazy) {
+    this.comparator = comparator;
+    this.keyExtractor = keyExtractor;
+    this.lazy = lazy;
+    sentinelRoot = new Node<K, V>(null);
+    sentinelRoot.prevSibling = sentinelRoot;
+    sentinelRoot.nextSibling = sentinelRoot;
+    minRoot = null;
+    size = 0;
+    rootCount = 0;
+  }
+
+  /**
+   * Makes the heap record its operations and consolidations in metrics, or with null stop
+   * recording. metrics may be shared with other heaps.
+   *
+   * @param metrics Metrics to update from now on, or null.
+   */
+  public void setMetrics(HeapMetrics metrics) {
+    this.metrics = metrics;
+    if (metrics != null) {
+      metrics.rootListLength = rootCount;
+    }
+  }
+
+  /**
+   * Print all elements of the binomial heap.
+   * Trees are printed in arbitrary order, each printed in a pre-order.
+   * Individual elements are printed one line at a time, and each is indented a number of
+   * '=' equal to twice its node's depth.
+   * Printed elements should look like "(key, value)".
+   * <p>
+   * Runs in O(n) time for a heap of n elements.
+   */
+  public void printAll() {
+    Node<K, V> currentRoot = sentinelRoot.nextSibling;
+    while (currentRoot != sentinelRoot) {
+      printAll(currentRoot, 0);
+      currentRoot = currentRoot.nextSibling;
+    }
+  }
+
+  /**
+   * Inserts a new key-value pair into the binomial heap.
+   * Allows for insertion of keys and values that are equal to ones already present.
+   * <p>
+   * Runs in worst-case O(log n) time, or O(1) in lazy mode.
+   *
+   * @param key Key for the value being inserted.
+   * @param value The value being inserted.
+   */
+  public Entry<K, V> insert(K key, V value) {
+    Entry<K, V> newEntry = new Entry<K, V>(key, value);
+    Node<K, V> newNode = newNode(newEntry);
+
+    newNode.nextSibling = sentinelRoot.nextSibling;
+    newNode.nextSibling.prevSibling = newNode;
+    sentinelRoot.nextSibling = newNode;
+    newNode.prevSibling = sentinelRoot;
+
+    size++;
+    rootCount++;
+
+    if (lazy) {
+      updateMinRoot(newNode);
+    } else {
+      combineTrees();
+    }
+
+    if (metrics != null) {
+      metrics.inserts.increment();
+      metrics.rootListLength = rootCount;
+    }
+    return newEntry;
+  }
+
+  /**
+   * Inserts keys[i] with values[i] for every i.
+   * The new entries are first built into a binomial forest on their own, linking trees of equal
+   * order like carries in a binary counter, and the forest is then combined with the heap's trees
+   * in a single combineTrees pass, or in lazy mode just added to the list of roots.
+   * <p>
+   * Runs in worst-case O(m + log n) time for m new entries.
+   *
+   * @param keys Keys for the values being inserted.
+   * @param values The values being inserted.
+   * @return The new entries, where the i-th entry holds keys[i] and values[i].
+   * @throws IllegalArgumentException If keys and values differ in length.
+   */
+  public Entry<K, V>[] insertAll(K[] keys, V[] values) {
+    if (keys.length != values.length) {
+      throw new IllegalArgumentException();
+    }
+
+    @SuppressWarnings("unchecked")
+    Entry<K, V>[] entries = (Entry<K, V>[]) new Entry[keys.length];
+    if (keys.length == 0) {
+      return entries;
+    }
+
+    // One slot per order; the forest built so far holds at most one tree of each order.
+    @SuppressWarnings("unchecked") // Unsafe cast, because Java does not create generic arrays.
+    Node<K, V>[] treesByOrder = (Node<K, V>[]) new Node[Integer.SIZE];
+    for (int i = 0; i < keys.length; i++) {
+      Node<K, V> tree = newNode(new Entry<K, V>(keys[i], values[i]));
+      entries[i] = tree.entry;
+      int order = 0;
+      while (treesByOrder[order] != null) {
+        tree = linkTrees(treesByOrder[order], tree);
+        treesByOrder[order] = null;
+        order++;
+      }
+      treesByOrder[order] = tree;
+    }
+
+    for (Node<K, V> tree : treesByOrder) {
+      if (tree != null) {
+        tree.nextSibling = sentinelRoot.nextSibling;
+        tree.nextSibling.prevSibling = tree;
+        sentinelRoot.nextSibling = tree;
+        tree.prevSibling = sentinelRoot;
+        rootCount++;
+        if (lazy) {
+          updateMinRoot(tree);
+        }
+      }
+    }
+    size += keys.length;
+
+    if (!lazy) {
+      combineTrees();
+    }
+
+    if (metrics != null) {
+      metrics.inserts.add(keys.length);
+      metrics.rootListLength = rootCount;
+    }
+    return entries;
+  }
+
+  /**
+   * Inserts every key-value pair of items, in iteration order, as insertAll(K[], V[]) does.
+   * <p>
+   * Runs in worst-case O(m + log n) time for m new entries.
+   *
+   * @param items Key-value pairs to insert.
+   * @return The new entries, in the order of items.
+   */
+  public List<Entry<K, V>> insertAll(Collection<? extends Map.Entry<? extends K, ? extends V>> items) {
+    @SuppressWarnings("unchecked")
+    K[] keys = (K[]) new Object[items.size()];
+    @SuppressWarnings("unchecked")
+    V[] values = (V[]) new Object[items.size()];
+    int i = 0;
+    for (Map.Entry<? extends K, ? extends V> item : items) {
+      keys[i] = item.getKey();
+      values[i] = item.getValue();
+      i++;
+    }
+    return Arrays.asList(insertAll(keys, values));
+  }
+
+  /**
+   * Returns an Entry with the least key in the binomial heap or null if the heap is empty.
+   * <p>
+   * Runs in worst-case O(1) time.
+   *
+   * @returns An Entry storing the least key or null if the heap is empty.
+   */
+  public Entry<K, V> findMin() {
+    if (size == 0) {
+      return null;
+    } else {
+      return minRoot.entry;
+    }
+  }
+
+  /**
+   * Returns the number of entries in the binomial heap.
+   * <p>
+   * Runs in worst-case O(1) time.
+   *
+   * @return The number of entries.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns whether the binomial heap has no entries.
+   * <p>
+   * Runs in worst-case O(1) time.
+   *
+   * @return true if the heap is empty.
+   */
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Returns and removes Entry with the least key from the binomial heap.
+   * <p>
+   * Runs in worst-case O(log n) time, or in lazy mode in amortized O(log n) time and worst-case
+   * O(n) time.
+   *
+   * @return An Entry storing the least key.
+   * @throws NoSuchElementException If the binomial heap is empty.
+   */
+  public Entry<K, V> deleteMin() {
+    if (size == 0) {
+      throw new java.util.NoSuchElementException();
+    }
+
+    Entry<K, V> minEntry = minRoot.entry;
+
+    deleteRoot(minRoot);
+
+    if (metrics != null) {
+      metrics.deleteMins.increment();
+      metrics.rootListLength = rootCount;
+    }
+    return minEntry;
+  }
+
+  /**
+   * Decreases value of entry's key to newKey.
+   * <p>
+   * Runs in worst-case O(log n) time.
+   *
+   * @param handle Entry for which to update the key.
+   * @param newKey New key for entry.
+   * @throws IllegalArgumentException If entry is not a current member of the binomial heap or if
+   * newKey is greater than entry's current key.
+   */
+  public void decreaseKey(MergeableHeap.Entry<K, V> handle, K newKey) {
+    if (!(handle instanceof Entry<K, V> entry) || entry.node == null) {
+      throw new IllegalArgumentException();
+    }
+    long newSortKey = (keyExtractor != null) ? keyExtractor.applyAsLong(newKey) : 0;
+    if (less(entry.key, entry.node.sortKey, newKey, newSortKey)) {
+      throw new IllegalArgumentException();
+    }
+    percolateUp(entry, newKey, newSortKey);
+  }
+
+  /**
+   * Increases value of entry's key to newKey, sifting entry down past its lesser children.
+   * <p>
+   * Runs in worst-case O(log^2 n) time, or in lazy mode in amortized O(log^2 n) time when entry
+   * holds the least key and the list of roots must be searched for the new minimum.
+   *
+   * @param handle Entry for which to update the key.
+   * @param newKey New key for entry.
+   * @throws IllegalArgumentException If entry is not a current member of the binomial heap or if
+   * newKey is less than entry's current key.
+   */
+  public void increaseKey(MergeableHeap.Entry<K, V> handle, K newKey) {
+    if (!(handle instanceof Entry<K, V> entry) || entry.node == null) {
+      throw new IllegalArgumentException();
+    }
+    long newSortKey = (keyExtractor != null) ? keyExtractor.applyAsLong(newKey) : 0;
+    if (less(newKey, newSortKey, entry.key, entry.node.sortKey)) {
+      throw new IllegalArgumentException();
+    }
+    percolateDown(entry, newKey, newSortKey);
+  }
+
+  /**
+   * Changes value of entry's key to newKey, which may be less than, equal to or greater than the
+   * current key, as decreaseKey or increaseKey would.
+   * <p>
+   * Runs in worst-case O(log n) time for a key that is not greater, otherwise as increaseKey does.
+   *
+   * @param handle Entry for which to update the key.
+   * @param newKey New key for entry.
+   * @throws IllegalArgumentException If entry is not a current member of the binomial heap.
+   */
+  public void updateKey(MergeableHeap.Entry<K, V> handle, K newKey) {
+    if (!(handle instanceof Entry<K, V> entry) || entry.node == null) {
+      throw new IllegalArgumentException();
+    }
+    long newSortKey = (keyExtractor != null) ? keyExtractor.applyAsLong(newKey) : 0;
+    if (less(entry.key, entry.node.sortKey, newKey, newSortKey)) {
+      percolateDown(entry, newKey, newSortKey);
+    } else {
+      percolateUp(entry, newKey, newSortKey);
+    }
+  }
+
+  /**
+   * Sets entry's key to newKey, which is not greater, and moves entry up past greater ancestors.
+   * <p>
+   * Runs in worst-case O(log n) time.
+   *
+   * @param entry An entry of the heap.
+   * @param newKey New key for entry.
+   * @param newSortKey newKey's sort key, if the heap has a key extractor.
+   */
+  private void percolateUp(Entry<K, V> entry, K newKey, long newSortKey) {
+    if (metrics != null) {
+      metrics.decreaseKeys.increment();
+    }
+
+    entry.key = newKey;
+
+    // Percolate up.
+    Node<K, V> hole = entry.node;
+    while (hole.parent != null && less(newKey, newSortKey, hole.parent.entry.key, hole.parent.sortKey)) {
+      hole.entry = hole.parent.entry;
+      hole.sortKey = hole.parent.sortKey;
+      hole.entry.node = hole;
+      hole = hole.parent;
+    }
+    hole.entry = entry;
+    hole.sortKey = newSortKey;
+    entry.node = hole;
+
+    if (hole.parent == null && less(hole, minRoot)) {
+      minRoot = hole;
+    }
+  }
+
+  /**
+   * Sets entry's key to newKey, which is not less, and moves entry down, swapping it each time with
+   * its least child while that child is less. If entry was the minimum, the list of roots is
+   * combined to find the new one.
+   * <p>
+   * Runs in worst-case O(log^2 n) time, plus combineTrees when entry held the least key.
+   *
+   * @param entry An entry of the heap.
+   * @param newKey New key for entry.
+   * @param newSortKey newKey's sort key, if the heap has a key extractor.
+   */
+  private void percolateDown(Entry<K, V> entry, K newKey, long newSortKey) {
+    if (metrics != null) {
+      metrics.increaseKeys.increment();
+    }
+
+    entry.key = newKey;
+    Node<K, V> start = entry.node;
+
+    // Percolate down.
+    Node<K, V> hole = start;
+    while (hole.child != null) {
+      Node<K, V> leastChild = hole.child;
+      for (Node<K, V> child = leastChild.nextSibling; child != hole.child; child = child.nextSibling) {
+        if (less(child, leastChild)) {
+          leastChild = child;
+        }
+      }
+      if (!less(leastChild.entry.key, leastChild.sortKey, newKey, newSortKey)) {
+        break;
+      }
+      hole.entry = leastChild.entry;
+      hole.sortKey = leastChild.sortKey;
+      hole.entry.node = hole;
+      hole = leastChild;
+    }
+    hole.entry = entry;
+    hole.sortKey = newSortKey;
+    entry.node = hole;
+
+    // The root of start's tree only changed if start was a root; then it may no longer be least.
+    if (start == minRoot) {
+      combineTrees();
+    }
+  }
+
+  /**
+   * Removes entry from the binomial heap.
+   * <p>
+   * Runs in worst-case O(log n) time, or in lazy mode in amortized O(log n) time.
+   *
+   * @param handle Entry to remove from heap.
+   * @throws IllegalArgumentException If entry is not a current member of the binomial heap.
+   */
+  public void delete(MergeableHeap.Entry<K, V> handle) {
+    if (!(handle instanceof Entry<K, V> entry) || entry.node == null) {
+      throw new IllegalArgumentException();
+    }
+
+    // We don't know the minimum value for an arbitrary key type K, so we'll
+    // have to manually percolate up and then remove.
+    Node<K, V> hole = entry.node;
+    long sortKey = hole.sortKey;
+    while (hole.parent != null) {
+      hole.entry = hole.parent.entry;
+      hole.sortKey = hole.parent.sortKey;
+      hole.entry.node = hole;
+      hole = hole.parent;
+    }
+    hole.entry = entry;
+    hole.sortKey = sortKey;
+    entry.node = hole;
+
+    deleteRoot(entry.node);
+
+    if (metrics != null) {
+      metrics.deletes.increment();
+      metrics.rootListLength = rootCount;
+    }
+  }
+
+  /**
+   * Merges other binomial heap with current one, emptying the other heap in the process.
+   * Whether trees are combined at once depends on this heap's mode, not the other's.
+   * <p>
+   * Runs in worst-case O(log n) time for two heaps of size at most n, or O(1) in lazy mode.
+   *
+   * @param other The other binomial heap from which to merge entries.
+   * @throws IllegalArgumentException If other is null, is this heap, is not a binomial heap, or was
+   * not built with the same Comparator or key extractor instance, if any.
+   */
+  public void merge(MergeableHeap<K, V> otherHeap) {
+    if (!(otherHeap instanceof BinomialHeap<K, V> other) || other == this
+        || other.comparator != comparator || other.keyExtractor != keyExtractor) {
+      throw new IllegalArgumentException();
+    }
+
+    if (other.size == 0) {
+      return;
+    }
+
+    other.sentinelRoot.prevSibling.nextSibling = sentinelRoot.nextSibling;
+    sentinelRoot.nextSibling.prevSibling = other.sentinelRoot.prevSibling;
+    sentinelRoot.nextSibling = other.sentinelRoot.nextSibling;
+    other.sentinelRoot.nextSibling.prevSibling = sentinelRoot;
+
+    size += other.size;
+    rootCount += other.rootCount;
+
+    if (lazy) {
+      updateMinRoot(other.minRoot);
+    } else {
+      combineTrees();
+    }
+
+    other.sentinelRoot.nextSibling = other.sentinelRoot;
+    other.sentinelRoot.prevSibling = other.sentinelRoot;
+    other.minRoot = null;
+    other.size = 0;
+    other.rootCount = 0;
+
+    if (metrics != null) {
+      metrics.merges.increment();
+      metrics.rootListLength = rootCount;
+    }
+    if (other.metrics != null) {
+      other.metrics.rootListLength = 0;
+    }
+  }
+
+  /**
+   * A binomial tree node.
+   *
+   * @param <K> The entry's key type.
+   * @param <V> The entry's value type.
+   */
+  private static class Node<K, V> {
+    public Entry<K, V> entry;
+
+    // Each set of children is stored in a circular doubly linked list, and the parent points at
+    // the first of them (the one of highest order), or null if it has none.
+    // Roots of the binomial trees are linked the same way, except that their list also holds the
+    // heap's sentinel root, which is distinguished by a null entry.
+    public Node<K, V> nextSibling;
+    public Node<K, V> prevSibling;
+    public Node<K, V> child;
+    public Node<K, V> parent;
+
+    public int order; // Order of the binomial (sub)tree rooted at this node.
+    public long sortKey; // The heap's keyExtractor applied to entry.key, if it has one.
+
+    /**
+     * Instantiate a new node.
+     *
+     * @param entry The entry to store in the node.
+     */
+    Node(Entry<K, V> entry) {
+      this.entry = entry;
+      if (entry != null) {
+        entry.node = this;
+      }
+    }
+  }
+
+  private Node<K, V> sentinelRoot;
+  private Node<K, V> minRoot;
+  private int size;
+  private int rootCount; // Number of trees in the list of roots.
+  private final boolean lazy;
+  private final Comparator<? super K> comparator; // null: natural ordering, or keyExtractor.
+  private final ToLongFunction<? super K> keyExtractor; // null: Node.sortKey is unused.
+  private HeapMetrics metrics; // null: no metrics are kept.
+
+  // Scratch space for combineTrees, one slot per order, always left filled with null. A tree of
+  // order k holds 2^k entries, so orders stay below Integer.SIZE.
+  @SuppressWarnings("unchecked") // Unsafe cast, because Java does not create generic arrays.
+  private final Node<K, V>[] rootsByOrder = (Node<K, V>[]) new Node[Integer.SIZE];
+
+  /**
+   * Print all elements of node's subtree in pre-order.
+   * Members are printed one line at a time, and each is indented a number of spaces equal to its
+   * node's depth.
+   * <p>
+   * Runs in O(n) time for a tree of n elements.
+   *
+   * @param node The root the subtree to be printed. If null, nothing is printed.
+   * @param depth The depth of the node being printed. Assumed to be non-negative.
+   */
+  private void printAll(Node<K, V> node, int depth) {
+    assert (depth >= 0);
+    assert (node != null);
+    assert (node.entry != null);
+
+    StringBuilder builder = new StringBuilder();
+    for (int spaces = 0; spaces < depth; spaces++) {
+      builder.append("==");
+    }
+    builder.append("(");
+    builder.append(node.entry.key);
+    builder.append(", ");
+    builder.append(node.entry.value);
+    builder.append(")");
+    System.out.println(builder.toString());
+    
+    Node<K, V> firstChild = node.child;
+    if (firstChild == null) {
+      return;
+    }
+    Node<K, V> currentChild = firstChild;
+    do {
+      printAll(currentChild, depth + 1);
+      currentChild = currentChild.nextSibling;
+    } while (currentChild != firstChild);
+  }
+
+  /**
+   * Removes given root node from the heap, moving all of its children into the list of roots.
+   * <p>
+   * Runs in worst-case O(log n) time.
+   *
+   * @param root The root node to remove.
+   */
+  private void deleteRoot(Node<K, V> root) {
+    assert(root != null && root.parent == null);
+
+    Node<K, V> firstChild = root.child;
+    Node<K, V> currentChild = firstChild;
+    // Read each child's successor before moving it; the walk stops on coming back to firstChild.
+    while (currentChild != null) {
+      Node<K, V> nextChild = currentChild.nextSibling;
+      if (nextChild == firstChild) {
+        nextChild = null;
+      }
+
+      currentChild.nextSibling = sentinelRoot.nextSibling;
+      sentinelRoot.nextSibling.prevSibling = currentChild;
+      sentinelRoot.nextSibling = currentChild;
+      currentChild.prevSibling = sentinelRoot;
+      currentChild.parent = null;
+      
+      currentChild = nextChild;
+    }
+    root.prevSibling.nextSibling = root.nextSibling;
+    root.nextSibling.prevSibling = root.prevSibling;
+
+    root.entry.node = null;
+    size--;
+    rootCount += root.order - 1;
+
+    combineTrees();
+  }
+
+  /**
+   * Returns a new node holding entry, with its sort key if the heap has a key extractor.
+   *
+   * @param entry The entry to store in the node.
+   * @return The new node.
+   */
+  private Node<K, V> newNode(Entry<K, V> entry) {
+    Node<K, V> node = new Node<K, V>(entry);
+    if (keyExtractor != null) {
+      node.sortKey = keyExtractor.applyAsLong(entry.key);
+    }
+    return node;
+  }
+
+  /**
+   * Returns whether first's key orders strictly before second's.
+   *
+   * @param first A node holding an entry.
+   * @param second Another node holding an entry.
+   * @return true if first's key is less.
+   */
+  private boolean less(Node<K, V> first, Node<K, V> second) {
+    return less(first.entry.key, first.sortKey, second.entry.key, second.sortKey);
+  }
+
+  /**
+   * Returns whether firstKey orders strictly before secondKey. With a key extractor only the sort
+   * keys are compared, and otherwise only the keys.
+   *
+   * @param firstKey A key.
+   * @param firstSortKey firstKey's sort key, if the heap has a key extractor.
+   * @param secondKey Another key.
+   * @param secondSortKey secondKey's sort key, if the heap has a key extractor.
+   * @return true if firstKey is less.
+   */
+  @SuppressWarnings("unchecked")
+  private boolean less(K firstKey, long firstSortKey, K secondKey, long secondSortKey) {
+    if (keyExtractor != null) {
+      return firstSortKey < secondSortKey;
+    }
+    if (comparator != null) {
+      return comparator.compare(firstKey, secondKey) < 0;
+    }
+    return ((Comparable<? super K>) firstKey).compareTo(secondKey) < 0;
+  }
+
+  /**
+   * Links two binomial trees of the same order that are not in the list of roots, making the
+   * greater keyed root a child of the lessor keyed one.
+   * <p>
+   * Runs in worst-case O(1) time.
+   *
+   * @param first Root of one tree.
+   * @param second Root of the other tree, of the same order as first.
+   * @return The root of the linked tree.
+   */
+  private Node<K, V> linkTrees(Node<K, V> first, Node<K, V> second) {
+    assert (first.order == second.order);
+
+    Node<K, V> root = first;
+    Node<K, V> child = second;
+    if (less(second, first)) {
+      root = second;
+      child = first;
+    }
+
+    addChild(root, child);
+    return root;
+  }
+
+  /**
+   * Makes child the first child of root. Both must be roots of trees of the same order, and child
+   * must not be in the list of roots.
+   * <p>
+   * Runs in worst-case O(1) time.
+   *
+   * @param root Root of the tree to grow.
+   * @param child Root of the tree to attach.
+   */
+  private void addChild(Node<K, V> root, Node<K, V> child) {
+    Node<K, V> firstChild = root.child;
+    if (firstChild == null) {
+      child.nextSibling = child;
+      child.prevSibling = child;
+    } else {
+      child.nextSibling = firstChild;
+      child.prevSibling = firstChild.prevSibling;
+      firstChild.prevSibling.nextSibling = child;
+      firstChild.prevSibling = child;
+    }
+    root.child = child;
+    child.parent = root;
+    root.order++;
+  }
+
+  /**
+   * Makes root the minRoot if the heap had none or root has a lesser key.
+   * <p>
+   * Runs in worst-case O(1) time.
+   *
+   * @param root A root of the heap.
+   */
+  private void updateMinRoot(Node<K, V> root) {
+    if (minRoot == null || less(root, minRoot)) {
+      minRoot = root;
+    }
+  }
+
+  /**
+   * Merges binomial trees until no two have the same order and updates minRoot.
+   * <p>
+   * Runs in O(t + log n) time for t roots, which is O(log n) in an eager heap.
+   */
+  private void combineTrees() {
+    if (size == 0) { // No trees to combine.
+      minRoot = null;
+      return;
+    }
+
+    int maxOrder = 0;
+    int links = 0;
+    Node<K, V> currentRoot = sentinelRoot.nextSibling;
+    Node<K, V> newMinRoot = currentRoot;
+    while (currentRoot != sentinelRoot) {
+      if (less(currentRoot, newMinRoot)) {
+        newMinRoot = currentRoot;
+      }
+
+      int order = currentRoot.order;
+      maxOrder = Math.max(maxOrder, order);
+      Node<K, V> otherRoot = rootsByOrder[order];
+      if (otherRoot == null) { // currentRoot roots only known tree of its order.
+        rootsByOrder[order] = currentRoot;
+        currentRoot = currentRoot.nextSibling;
+      } else { // Two trees of same order. Time to merge.
+        // Remove otherRoot from list of roots.
+        otherRoot.nextSibling.prevSibling = otherRoot.prevSibling;
+        otherRoot.prevSibling.nextSibling = otherRoot.nextSibling;
+
+        // If otherRoot has the lessor key, swap it with currentRoot.
+        if (less(otherRoot, currentRoot)) {
+          otherRoot.nextSibling = currentRoot.nextSibling;
+          otherRoot.nextSibling.prevSibling = otherRoot;
+          otherRoot.prevSibling = currentRoot.prevSibling;
+          otherRoot.prevSibling.nextSibling = otherRoot;
+
+          Node<K, V> temp = currentRoot;
+          currentRoot = otherRoot;
+          otherRoot = temp;
+        }
+
+        // Add greater keyed root as child of lessor keyed root.
+        addChild(currentRoot, otherRoot);
+
+        // On equal keys newMinRoot may have just become a child; its new parent is as small.
+        if (otherRoot == newMinRoot) {
+          newMinRoot = currentRoot;
+        }
+
+        rootsByOrder[order] = null;
+        links++;
+        // Intentially do not update currentRoot incase it now has same order as another tree.
+      }
+    }
+
+    Arrays.fill(rootsByOrder, 0, maxOrder + 1, null);
+    minRoot = newMinRoot;
+    rootCount -= links;
+    if (metrics != null) {
+      metrics.consolidated(links, maxOrder);
+    }
+  }
+}
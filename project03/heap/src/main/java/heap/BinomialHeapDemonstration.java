@@ -1,3 +1,5 @@
+package heap;
+
 public class BinomialHeapDemonstration {
   public static void main(String[] args) {
     System.out.println("Empty heap:");
@@ -0,0 +1,299 @@
+package heap;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * A monotone bucket queue (Dial's algorithm) for keys that never exceed lastMin() by more than a
+ * fixed range C, as in Dijkstra's algorithm with integer edge weights at most C.
+ * <p>
+ * There is one bucket per key in the window [lastMin(), lastMin() + C], used circularly: key k lives
+ * in bucket k mod (C + 1), and all entries in a bucket share a key. deleteMin advances a cursor
+ * from lastMin() to the next non-empty bucket, so over a whole run it scans each key value at most
+ * once. No keys are compared. Suited to small C; for large or unknown ranges use RadixHeap.
+ * <p>
+ * Each bucket is an array, and every entry knows its slot, so decreaseKey and delete remove it in
+ * O(1) by moving the bucket's last entry into its slot.
+ *
+ * @param <V> The entries' value type.
+ */
+public final class BucketQueue <V> implements MonotoneHeap<V> {
+
+    //
+    // PROPERTIES
+    //
+
+    private final Entry<V>[][] buckets;
+    private final int[] counts;
+    private final long range;
+    private long lastMin;
+    private int size;
+
+    //
+    // METHODS
+    //
+
+    /**
+     * Instantiate an empty bucket queue.
+     *
+     * @param range The largest allowed difference C between a key and lastMin().
+     * @throws IllegalArgumentException If range is negative or at least Integer.MAX_VALUE.
+     */
+    public BucketQueue(int range) {
+        if (range < 0 || range == Integer.MAX_VALUE)
+            throw new IllegalArgumentException("range is out of bounds");
+        this.range = range;
+        @SuppressWarnings("unchecked")
+        Entry<V>[][] array = (Entry<V>[][]) new Entry[range + 1][];
+        buckets = array;
+        counts = new int[range + 1];
+        lastMin = 0;
+        size = 0;
+    }
+
+    /**
+     * Inserts a new key-value pair into the bucket queue.
+     * <p>
+     * Runs in worst-case O(1) time, amortized over bucket growth.
+     *
+     * @param key Key for the value being inserted.
+     * @param value The value being inserted.
+     * @return The new entry.
+     * @throws IllegalArgumentException If key is below lastMin() or above lastMin() + C.
+     */
+    public Entry<V> insert(long key, V value) {
+        checkKey(key);
+        Entry<V> entry = new Entry<>(key, value);
+        add(entry);
+        size++;
+        return entry;
+    }
+
+    /**
+     * Returns an Entry with the least key in the bucket queue, without moving the cursor.
+     * <p>
+     * Runs in worst-case O(C) time.
+     *
+     * @return An Entry storing the least key or null if the queue is empty.
+     */
+    public Entry<V> findMin() {
+        if (size == 0) return null;
+        return buckets[nextNonEmptyBucket()][0];
+    }
+
+    /**
+     * Returns and removes Entry with the least key from the bucket queue.
+     * <p>
+     * Runs in worst-case O(C) time, and in O(1) time amortized over a run whose keys span a range
+     * at least the number of deleteMin calls.
+     *
+     * @return An Entry storing the least key.
+     * @throws NoSuchElementException If the bucket queue is empty.
+     */
+    public Entry<V> deleteMin() {
+        if (size == 0) throw new NoSuchElementException("Heap is empty");
+
+        int index = nextNonEmptyBucket();
+        Entry<V> min = buckets[index][counts[index] - 1];
+        lastMin = min.key;
+        remove(min);
+        size--;
+        return min;
+    }
+
+    /**
+     * Decreases value of entry's key to newKey.
+     * <p>
+     * Runs in worst-case O(1) time, amortized over bucket growth.
+     *
+     * @param handle Entry for which to update the key.
+     * @param newKey New key for entry.
+     * @throws IllegalArgumentException If entry is not a current member of the bucket queue, if
+     * newKey is greater than entry's current key, or if newKey is below lastMin().
+     */
+    public void decreaseKey(MonotoneHeap.Entry<V> handle, long newKey) {
+        if (!(handle instanceof Entry<V> entry) || entry.slot < 0)
+            throw new IllegalArgumentException("Entry not found");
+        if (entry.key < newKey)
+            throw new IllegalArgumentException("New entry keys must be lower than or equal to key");
+        checkKey(newKey);
+
+        remove(entry);
+        entry.key = newKey;
+        add(entry);
+    }
+
+    /**
+     * Removes entry from the bucket queue.
+     * <p>
+     * Runs in worst-case O(1) time.
+     *
+     * @param handle Entry to remove from the queue.
+     * @throws IllegalArgumentException If entry is not a current member of the bucket queue.
+     */
+    public void delete(MonotoneHeap.Entry<V> handle) {
+        if (!(handle instanceof Entry<V> entry) || entry.slot < 0)
+            throw new IllegalArgumentException("Entry not found");
+        remove(entry);
+        size--;
+    }
+
+    /**
+     * Returns the key most recently removed by deleteMin, or 0 if there was none.
+     *
+     * @return The lower bound on keys.
+     */
+    public long lastMin() {
+        return lastMin;
+    }
+
+    /**
+     * Removes every entry and sets lastMin() back to 0. The buckets keep their arrays.
+     * <p>
+     * Runs in O(n) time, plus O(C) time if the queue is not empty.
+     */
+    public void clear() {
+        for (int index = 0; size > 0 && index < buckets.length; index++)
+        {
+            Entry<V>[] bucket = buckets[index];
+            for (int slot = 0; slot < counts[index]; slot++)
+            {
+                bucket[slot].slot = -1;
+                bucket[slot] = null;
+            }
+            size -= counts[index];
+            counts[index] = 0;
+        }
+        lastMin = 0;
+    }
+
+    /**
+     * Returns the number of entries in the bucket queue.
+     *
+     * @return The number of entries.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns whether the bucket queue has no entries.
+     *
+     * @return true if the queue is empty.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    private void checkKey(long key)
+    {
+        if (key < lastMin) throw new IllegalArgumentException("key is below the last minimum");
+        if (key - lastMin > range) throw new IllegalArgumentException("key is beyond the range");
+    }
+
+    private int bucketOf(long key)
+    {
+        return (int) (key % buckets.length);
+    }
+
+    /**
+     * Returns the first non-empty bucket at or after lastMin's. The queue must not be empty.
+     */
+    private int nextNonEmptyBucket()
+    {
+        int index = bucketOf(lastMin);
+        while (counts[index] == 0)
+            if (++index == buckets.length) index = 0;
+        return index;
+    }
+
+    /**
+     * Appends entry to the bucket of its key.
+     */
+    private void add(Entry<V> entry)
+    {
+        int index = bucketOf(entry.key);
+        Entry<V>[] bucket = buckets[index];
+        int count = counts[index];
+        if (bucket == null)
+        {
+            @SuppressWarnings("unchecked")
+            Entry<V>[] array = (Entry<V>[]) new Entry[4];
+            buckets[index] = bucket = array;
+        }
+        else if (count == bucket.length) buckets[index] = bucket = Arrays.copyOf(bucket, 2 * count);
+        bucket[count] = entry;
+        entry.slot = count;
+        counts[index] = count + 1;
+    }
+
+    /**
+     * Takes entry out of its bucket, moving the bucket's last entry into its slot.
+     */
+    private void remove(Entry<V> entry)
+    {
+        int index = bucketOf(entry.key);
+        Entry<V>[] bucket = buckets[index];
+        int last = --counts[index];
+        Entry<V> moved = bucket[last];
+        bucket[entry.slot] = moved;
+        moved.slot = entry.slot;
+        bucket[last] = null;
+        entry.slot = -1;
+    }
+
+    //
+    // ENTRIES
+    //
+
+    /**
+     * Entry: a key-value pair and the bucket slot it occupies.
+     *
+     * @param <V> The value type.
+     */
+    public static final class Entry<V> implements MonotoneHeap.Entry<V> {
+        /**
+         * Instantiates a new entry.
+         * Marked private so only the queue itself can create new entry instances.
+         *
+         * @param key The entry's key.
+         * @param value The entry's value.
+         */
+        private Entry(long key, V value) {
+            this.key = key;
+            this.value = value;
+            this.slot = -1;
+        }
+
+        /**
+         * Returns whether the entry still exists in the queue.
+         *
+         * @return true if entry has not been deleted from the queue.
+         */
+        public boolean inHeap() {
+            return slot >= 0;
+        }
+
+        /**
+         * Returns key for this entry.
+         *
+         * @return Key for this entry.
+         */
+        public long getKey() {
+            return key;
+        }
+
+        /**
+         * Returns value of this entry.
+         *
+         * @return Value of this entry.
+         */
+        public V getValue() {
+            return value;
+        }
+
+        private long key;
+        private final V value;
+        private int slot; // Position within the bucket of key, or -1 once removed.
+    }
+}
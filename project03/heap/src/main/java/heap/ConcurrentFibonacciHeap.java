@@ -0,0 +1,264 @@
+package heap;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A thread-safe priority queue built from Fibonacci heaps.
+ * <p>
+ * Producers insert into one of several striped sub-heaps, chosen by thread, each behind its own
+ * lock, so concurrent inserts rarely contend. Consumers share one lock around a main heap; before
+ * each deleteMin they move every non-empty stripe into the main heap with the O(1)
+ * FibonacciHeap.merge. A producer's lock is therefore held only for an O(1) insert or merge, and the
+ * O(log n) consolidation happens under the consumer lock alone.
+ * <p>
+ * Every operation is linearizable: an insert that has returned is visible to every later
+ * deleteMin. size() is a running sum and is exact only when the queue is quiescent.
+ *
+ * @param <K> The entries' key type.
+ * @param <V> The entries' value type.
+ */
+public final class ConcurrentFibonacciHeap <K extends Comparable<? super K>, V> {
+
+    //
+    // PROPERTIES
+    //
+
+    private final FibonacciHeap<K, V> main;
+    private final ReentrantLock mainLock;
+    private final Stripe<K, V>[] stripes;
+    private final int stripeMask;
+    private final LongAdder size;
+
+    //
+    // METHODS
+    //
+
+    /**
+     * Instantiate an empty queue with one stripe per available processor, rounded up to a power
+     * of two.
+     */
+    public ConcurrentFibonacciHeap() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Instantiate an empty queue.
+     *
+     * @param stripeCount Number of producer sub-heaps, rounded up to a power of two.
+     * @throws IllegalArgumentException If stripeCount is not positive.
+     */
+    public ConcurrentFibonacciHeap(int stripeCount) {
+        if (stripeCount <= 0) throw new IllegalArgumentException("stripeCount is not positive");
+        int count = Integer.highestOneBit(stripeCount);
+        if (count < stripeCount) count <<= 1;
+
+        main = new FibonacciHeap<>();
+        mainLock = new ReentrantLock();
+        @SuppressWarnings("unchecked")
+        Stripe<K, V>[] array = (Stripe<K, V>[]) new Stripe[count];
+        for (int i = 0; i < count; i++) array[i] = new Stripe<>();
+        stripes = array;
+        stripeMask = count - 1;
+        size = new LongAdder();
+    }
+
+    /**
+     * Inserts a new key-value pair into the stripe of the calling thread.
+     * <p>
+     * Runs in worst-case O(1) time, plus the wait for the stripe lock.
+     *
+     * @param key Key for the value being inserted.
+     * @param value The value being inserted.
+     * @return The new entry, usable with decreaseKey and delete on this queue.
+     */
+    public FibonacciHeap.Entry<K, V> insert(K key, V value) {
+        Stripe<K, V> stripe = stripes[stripeIndex()];
+        FibonacciHeap.Entry<K, V> entry;
+        stripe.lock.lock();
+        try
+        {
+            entry = stripe.heap.insert(key, value);
+            stripe.pending = true;
+        }
+        finally
+        {
+            stripe.lock.unlock();
+        }
+        size.increment();
+        return entry;
+    }
+
+    /**
+     * Returns the Entry with the least key without removing it.
+     * <p>
+     * Runs in O(s) time for s stripes, plus the wait for the locks.
+     *
+     * @return An Entry storing the least key or null if the queue is empty.
+     */
+    public FibonacciHeap.Entry<K, V> findMin() {
+        mainLock.lock();
+        try
+        {
+            collectStripes();
+            return main.findMin();
+        }
+        finally
+        {
+            mainLock.unlock();
+        }
+    }
+
+    /**
+     * Returns and removes the Entry with the least key.
+     * <p>
+     * Runs in amortized O(s + log n) time for s stripes, plus the wait for the locks.
+     *
+     * @return An Entry storing the least key or null if the queue is empty.
+     */
+    public FibonacciHeap.Entry<K, V> deleteMin() {
+        mainLock.lock();
+        try
+        {
+            collectStripes();
+            if (main.isEmpty()) return null;
+            size.decrement();
+            return main.deleteMin();
+        }
+        finally
+        {
+            mainLock.unlock();
+        }
+    }
+
+    /**
+     * Removes up to k entries with the least keys, storing them in buffer in ascending key order.
+     * Works as FibonacciHeap.drainTo(Entry[], int) does, under one acquisition of the consumer lock.
+     *
+     * @param buffer Where to store the removed entries, starting at index 0.
+     * @param k Maximum number of entries to remove.
+     * @return The number of entries removed.
+     * @throws IllegalArgumentException If k is negative or buffer is shorter than k.
+     */
+    public int drainTo(FibonacciHeap.Entry<K, V>[] buffer, int k) {
+        mainLock.lock();
+        try
+        {
+            collectStripes();
+            int count = main.drainTo(buffer, k);
+            size.add(-count);
+            return count;
+        }
+        finally
+        {
+            mainLock.unlock();
+        }
+    }
+
+    /**
+     * Decreases the key of an entry of this queue.
+     * <p>
+     * Runs in amortized O(s) time for s stripes, plus the wait for the locks.
+     *
+     * @param entry Entry whose key should be decreased, as returned by insert on this queue.
+     * @param newKey New key for the entry.
+     * @throws IllegalArgumentException If entry is not a current member of the queue or newKey is
+     * greater than its current key.
+     */
+    public void decreaseKey(FibonacciHeap.Entry<K, V> entry, K newKey) {
+        mainLock.lock();
+        try
+        {
+            // Once the stripes are collected, every entry inserted so far is in the main heap
+            collectStripes();
+            main.decreaseKey(entry, newKey);
+        }
+        finally
+        {
+            mainLock.unlock();
+        }
+    }
+
+    /**
+     * Removes an entry of this queue.
+     * <p>
+     * Runs in amortized O(s + log n) time for s stripes, plus the wait for the locks.
+     *
+     * @param entry Entry to remove, as returned by insert on this queue.
+     * @throws IllegalArgumentException If entry is not a current member of the queue.
+     */
+    public void delete(FibonacciHeap.Entry<K, V> entry) {
+        mainLock.lock();
+        try
+        {
+            collectStripes();
+            main.delete(entry);
+            size.decrement();
+        }
+        finally
+        {
+            mainLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of entries. Exact only when no other thread is modifying the queue.
+     *
+     * @return The number of entries.
+     */
+    public int size() {
+        return (int) Math.max(0, size.sum());
+    }
+
+    /**
+     * Returns whether the queue has no entries. Exact only when no other thread is modifying the
+     * queue.
+     *
+     * @return true if the queue is empty.
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Moves every non-empty stripe into the main heap. Must hold mainLock.
+     */
+    private void collectStripes()
+    {
+        for (Stripe<K, V> stripe : stripes)
+        {
+            if (!stripe.pending) continue;
+            stripe.lock.lock();
+            try
+            {
+                main.merge(stripe.heap);
+                stripe.pending = false;
+            }
+            finally
+            {
+                stripe.lock.unlock();
+            }
+        }
+    }
+
+    private int stripeIndex()
+    {
+        // Spread thread ids so that consecutive threads land on different stripes
+        long id = Thread.currentThread().threadId() * 0x9E3779B97F4A7C15L;
+        return (int) (id >>> 32) & stripeMask;
+    }
+
+    /**
+     * A producer sub-heap and its lock.
+     * pending is set under the lock by every insert and cleared under the lock when the sub-heap is
+     * merged, so a consumer may skip the lock while it reads false.
+     *
+     * @param <K> The entries' key type.
+     * @param <V> The entries' value type.
+     */
+    private static final class Stripe<K extends Comparable<? super K>, V> {
+        final FibonacciHeap<K, V> heap = new FibonacciHeap<>();
+        final ReentrantLock lock = new ReentrantLock();
+        volatile boolean pending;
+    }
+}
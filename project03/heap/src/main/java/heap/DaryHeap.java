@@ -0,0 +1,416 @@
+package heap;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.NoSuchElementException;
+
+/**
+ * An implicit d-ary heap in arrays, indexed so that entries support decreaseKey and delete.
+ * <p>
+ * The children of slot i are slots d*i+1 through d*i+d. Keys sit in their own array next to the
+ * array of entries, so sifting reads one contiguous run of d keys per level and touches an entry
+ * only to record its new slot. Every entry knows its slot, which is what makes decreaseKey and
+ * delete possible. Larger d means a shallower tree and faster decreaseKey, at the cost of more
+ * comparisons per level of deleteMin; 4 or 8 usually fills a cache line best.
+ * <p>
+ * The asymptotic bounds are worse than a Fibonacci heap's (O(log n) insert and decreaseKey), but
+ * with far fewer cache misses per operation this heap is often faster at millions of entries.
+ * <p>
+ * Keys are ordered by their natural ordering or by a Comparator. Without a Comparator, keys must
+ * be Comparable.
+ *
+ * @param <K> The entries' key type.
+ * @param <V> The entries' value type.
+ */
+public final class DaryHeap <K, V> implements MergeableHeap<K, V> {
+
+    //
+    // PROPERTIES
+    //
+
+    private final int arity;
+    private K[] keys;
+    private Entry<K, V>[] entries;
+    private int size;
+    private final Comparator<? super K> comparator; // null: natural ordering.
+
+    private static final int DEFAULT_ARITY = 4;
+    private static final int DEFAULT_CAPACITY = 16;
+
+    //
+    // METHODS
+    //
+
+    /**
+     * Instantiate an empty 4-ary heap.
+     */
+    public DaryHeap() {
+        this(DEFAULT_ARITY);
+    }
+
+    /**
+     * Instantiate an empty d-ary heap.
+     *
+     * @param arity Number of children per node, d.
+     * @throws IllegalArgumentException If arity is less than 2.
+     */
+    public DaryHeap(int arity) {
+        this(arity, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Instantiate an empty 4-ary heap that orders keys by comparator.
+     *
+     * @param comparator Ordering of the keys.
+     * @throws IllegalArgumentException If comparator is null.
+     */
+    public DaryHeap(Comparator<? super K> comparator) {
+        this(DEFAULT_ARITY, DEFAULT_CAPACITY, comparator);
+    }
+
+    /**
+     * Instantiate an empty d-ary heap with room for capacity entries before its arrays grow.
+     *
+     * @param arity Number of children per node, d.
+     * @param capacity Initial capacity.
+     * @throws IllegalArgumentException If arity is less than 2 or capacity is negative.
+     */
+    public DaryHeap(int arity, int capacity) {
+        this(null, arity, capacity);
+    }
+
+    /**
+     * Instantiate an empty d-ary heap that orders keys by comparator, with room for capacity
+     * entries before its arrays grow.
+     *
+     * @param arity Number of children per node, d.
+     * @param capacity Initial capacity.
+     * @param comparator Ordering of the keys.
+     * @throws IllegalArgumentException If arity is less than 2, capacity is negative or comparator
+     * is null.
+     */
+    public DaryHeap(int arity, int capacity, Comparator<? super K> comparator) {
+        this(comparator, arity, capacity);
+        if (comparator == null) throw new IllegalArgumentException("comparator is null");
+    }
+
+    private DaryHeap(Comparator<? super K> comparator, int arity, int capacity)
+    {
+        if (arity < 2) throw new IllegalArgumentException("arity is less than 2");
+        if (capacity < 0) throw new IllegalArgumentException("capacity is negative");
+        this.arity = arity;
+        this.comparator = comparator;
+        @SuppressWarnings("unchecked")
+        K[] keyArray = (K[]) new Object[capacity];
+        keys = keyArray;
+        @SuppressWarnings("unchecked")
+        Entry<K, V>[] entryArray = (Entry<K, V>[]) new Entry[capacity];
+        entries = entryArray;
+        size = 0;
+    }
+
+    /**
+     * Inserts a new key-value pair into the heap.
+     * <p>
+     * Runs in worst-case O(log_d n) time, amortized over array growth.
+     *
+     * @param key Key for the value being inserted.
+     * @param value The value being inserted.
+     * @return The new entry.
+     */
+    public Entry<K, V> insert(K key, V value) {
+        if (size == keys.length) grow(size + 1);
+        Entry<K, V> entry = new Entry<>(key, value);
+        siftUp(size++, entry);
+        return entry;
+    }
+
+    /**
+     * Returns an Entry with the least key in the heap.
+     * <p>
+     * Runs in worst-case O(1) time.
+     *
+     * @return An Entry storing the least key or null if the heap is empty.
+     */
+    public Entry<K, V> findMin() {
+        return (size == 0) ? null : entries[0];
+    }
+
+    /**
+     * Returns and removes Entry with the least key from the heap.
+     * <p>
+     * Runs in worst-case O(d log_d n) time.
+     *
+     * @return An Entry storing the least key.
+     * @throws NoSuchElementException If the heap is empty.
+     */
+    public Entry<K, V> deleteMin() {
+        if (size == 0) throw new NoSuchElementException("Heap is empty");
+        Entry<K, V> min = entries[0];
+        removeAt(0);
+        return min;
+    }
+
+    /**
+     * Removes the Entry with the least key and inserts a new key-value pair, as deleteMin followed
+     * by insert would, but with a single sift down from the top.
+     * <p>
+     * Runs in worst-case O(d log_d n) time.
+     *
+     * @param key Key for the value being inserted.
+     * @param value The value being inserted.
+     * @return The removed Entry, which stored the least key.
+     * @throws NoSuchElementException If the heap is empty.
+     */
+    public Entry<K, V> replaceMin(K key, V value) {
+        if (size == 0) throw new NoSuchElementException("Heap is empty");
+        Entry<K, V> min = entries[0];
+        min.index = -1;
+        siftDown(0, new Entry<>(key, value));
+        return min;
+    }
+
+    /**
+     * Decreases value of entry's key to newKey.
+     * <p>
+     * Runs in worst-case O(log_d n) time.
+     *
+     * @param handle Entry for which to update the key.
+     * @param newKey New key for entry.
+     * @throws IllegalArgumentException If entry is not a current member of the heap or if newKey is
+     * greater than entry's current key.
+     */
+    public void decreaseKey(MergeableHeap.Entry<K, V> handle, K newKey) {
+        if (!(handle instanceof Entry<K, V> entry) || entry.index < 0)
+            throw new IllegalArgumentException("Entry not found");
+        if (compare(entry.key, newKey) < 0)
+            throw new IllegalArgumentException("New entry keys must be lower than or equal to key");
+
+        entry.key = newKey;
+        siftUp(entry.index, entry);
+    }
+
+    /**
+     * Removes entry from the heap.
+     * <p>
+     * Runs in worst-case O(d log_d n) time.
+     *
+     * @param handle Entry to remove from heap.
+     * @throws IllegalArgumentException If entry is not a current member of the heap.
+     */
+    public void delete(MergeableHeap.Entry<K, V> handle) {
+        if (!(handle instanceof Entry<K, V> entry) || entry.index < 0)
+            throw new IllegalArgumentException("Entry not found");
+        removeAt(entry.index);
+    }
+
+    /**
+     * Merges other d-ary heap with current one, emptying the other heap in the process. The arrays
+     * are concatenated and the heap is rebuilt bottom-up.
+     * <p>
+     * Runs in worst-case O(n + m) time for heaps of n and m entries.
+     *
+     * @param otherHeap The other d-ary heap from which to merge entries. May have another arity.
+     * @throws IllegalArgumentException If other is null, is this heap, is not a DaryHeap, or was
+     * not built with the same Comparator instance, if any.
+     */
+    public void merge(MergeableHeap<K, V> otherHeap) {
+        if (otherHeap == null) throw new IllegalArgumentException("other is null");
+        if (otherHeap == this) throw new IllegalArgumentException("other is this heap");
+        if (!(otherHeap instanceof DaryHeap<K, V> other))
+            throw new IllegalArgumentException("other is not a DaryHeap");
+        if (other.comparator != comparator)
+            throw new IllegalArgumentException("other orders keys differently");
+        if (other.size == 0) return;
+
+        int total = size + other.size;
+        if (total > keys.length) grow(total);
+        System.arraycopy(other.keys, 0, keys, size, other.size);
+        System.arraycopy(other.entries, 0, entries, size, other.size);
+        size = total;
+
+        // Floyd's heap construction: sift down every internal slot, last to first
+        for (int i = size - 1; i >= 0; i--) entries[i].index = i;
+        for (int i = (size - 2) / arity; i >= 0; i--) siftDown(i, entries[i]);
+
+        Arrays.fill(other.keys, 0, other.size, null);
+        Arrays.fill(other.entries, 0, other.size, null);
+        other.size = 0;
+    }
+
+    /**
+     * Returns the number of entries in the heap.
+     * <p>
+     * Runs in worst-case O(1) time.
+     *
+     * @return The number of entries.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns whether the heap has no entries.
+     * <p>
+     * Runs in worst-case O(1) time.
+     *
+     * @return true if the heap is empty.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the number of children per node.
+     *
+     * @return d.
+     */
+    public int arity() {
+        return arity;
+    }
+
+    /**
+     * Removes the entry in slot index, filling the hole with the last entry.
+     */
+    private void removeAt(int index)
+    {
+        Entry<K, V> removed = entries[index];
+        removed.index = -1;
+
+        int last = --size;
+        Entry<K, V> moved = entries[last];
+        entries[last] = null;
+        keys[last] = null;
+        if (index == last) return;
+
+        // The moved entry may belong above or below the hole
+        if (index > 0 && compare(moved.key, keys[(index - 1) / arity]) < 0) siftUp(index, moved);
+        else siftDown(index, moved);
+    }
+
+    /**
+     * Places entry at hole or above it, moving greater ancestors down.
+     */
+    private void siftUp(int hole, Entry<K, V> entry)
+    {
+        K key = entry.key;
+        while (hole > 0)
+        {
+            int parent = (hole - 1) / arity;
+            if (compare(keys[parent], key) <= 0) break;
+            place(hole, entries[parent]);
+            hole = parent;
+        }
+        place(hole, entry);
+    }
+
+    /**
+     * Places entry at hole or below it, moving lesser descendants up.
+     */
+    private void siftDown(int hole, Entry<K, V> entry)
+    {
+        K key = entry.key;
+        while (true)
+        {
+            int first = arity * hole + 1;
+            if (first >= size) break;
+            int end = Math.min(first + arity, size);
+
+            // Least of the children, scanning their keys in one run
+            int least = first;
+            K leastKey = keys[first];
+            for (int child = first + 1; child < end; child++)
+            {
+                if (compare(keys[child], leastKey) < 0)
+                {
+                    least = child;
+                    leastKey = keys[child];
+                }
+            }
+            if (compare(key, leastKey) <= 0) break;
+            place(hole, entries[least]);
+            hole = least;
+        }
+        place(hole, entry);
+    }
+
+    /**
+     * Compares two keys in the heap's ordering.
+     */
+    @SuppressWarnings("unchecked")
+    private int compare(K first, K second)
+    {
+        if (comparator != null) return comparator.compare(first, second);
+        return ((Comparable<? super K>) first).compareTo(second);
+    }
+
+    private void place(int index, Entry<K, V> entry)
+    {
+        entries[index] = entry;
+        keys[index] = entry.key;
+        entry.index = index;
+    }
+
+    private void grow(int minCapacity)
+    {
+        int capacity = Math.max(minCapacity, Math.max(DEFAULT_CAPACITY, keys.length + (keys.length >> 1)));
+        keys = Arrays.copyOf(keys, capacity);
+        entries = Arrays.copyOf(entries, capacity);
+    }
+
+    //
+    // ENTRIES
+    //
+
+    /**
+     * Entry: a key-value pair and the slot it occupies.
+     *
+     * @param <K> The key type.
+     * @param <V> The value type.
+     */
+    public static final class Entry<K, V> implements MergeableHeap.Entry<K, V> {
+        /**
+         * Instantiates a new entry.
+         * Marked private so only the heap itself can create new entry instances.
+         *
+         * @param key The entry's key.
+         * @param value The entry's value.
+         */
+        private Entry(K key, V value) {
+            this.key = key;
+            this.value = value;
+            this.index = -1;
+        }
+
+        /**
+         * Returns whether the entry still exists in the heap.
+         *
+         * @return true if entry has not been deleted from the heap.
+         */
+        public boolean inHeap() {
+            return index >= 0;
+        }
+
+        /**
+         * Returns key for this entry.
+         *
+         * @return Key for this entry.
+         */
+        public K getKey() {
+            return key;
+        }
+
+        /**
+         * Returns value of this entry.
+         *
+         * @return Value of this entry.
+         */
+        public V getValue() {
+            return value;
+        }
+
+        private K key;
+        private final V value;
+        private int index; // Slot in the heap's arrays, or -1 once removed.
+    }
+}
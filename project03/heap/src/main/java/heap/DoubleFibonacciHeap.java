@@ -0,0 +1,181 @@
+package heap;
+
+import java.util.NoSuchElementException;
+
+/**
+ * A Fibonacci heap keyed by primitive doubles. NaN keys are rejected since they are unordered.
+ * <p>
+ * Each key is stored in a {@link LongFibonacciHeap} as a long whose signed order matches
+ * Double.compare, so the two share a single implementation and -0.0 orders below 0.0. Handles are
+ * that heap's: insert returns the handle, which the other operations take in place of an Entry. A
+ * handle stays valid until its entry leaves the heap; its key and value stay readable until a
+ * later insert recycles the slot.
+ *
+ * @param <V> The entries' value type.
+ */
+public final class DoubleFibonacciHeap<V> {
+
+    /** Handle meaning "no entry", returned by findMin on an empty heap. */
+    public static final int NIL = LongFibonacciHeap.NIL;
+
+    //
+    // PROPERTIES
+    //
+
+    private final LongFibonacciHeap<V> heap;
+
+    //
+    // METHODS
+    //
+
+    /**
+     * Instantiate an empty heap.
+     */
+    public DoubleFibonacciHeap() {
+        this(16);
+    }
+
+    /**
+     * Instantiate an empty heap with room for initialCapacity entries before its arrays grow.
+     *
+     * @param initialCapacity Number of entries to allocate room for.
+     * @throws IllegalArgumentException If initialCapacity is negative.
+     */
+    public DoubleFibonacciHeap(int initialCapacity) {
+        heap = new LongFibonacciHeap<>(initialCapacity);
+    }
+
+    /**
+     * Returns the number of entries in the heap.
+     */
+    public int size() {
+        return heap.size();
+    }
+
+    /**
+     * Returns whether the heap holds no entries.
+     */
+    public boolean isEmpty() {
+        return heap.isEmpty();
+    }
+
+    /**
+     * Inserts a new key-value pair into the heap.
+     * <p>
+     * Runs in amortized O(1) time.
+     *
+     * @param key Key for the value being inserted.
+     * @param value The value being inserted.
+     * @return The handle of the new entry.
+     * @throws IllegalArgumentException If key is NaN.
+     */
+    public int insert(double key, V value) {
+        if (Double.isNaN(key)) throw new IllegalArgumentException("key is NaN");
+        return heap.insert(encode(key), value);
+    }
+
+    /**
+     * Returns the handle of an entry with the least key, or NIL if the heap is empty.
+     * <p>
+     * Runs in worst-case O(1) time.
+     */
+    public int findMin() {
+        return heap.findMin();
+    }
+
+    /**
+     * Returns the key of the entry with the given handle.
+     */
+    public double getKey(int handle) {
+        return decode(heap.getKey(handle));
+    }
+
+    /**
+     * Returns the value of the entry with the given handle.
+     */
+    public V getValue(int handle) {
+        return heap.getValue(handle);
+    }
+
+    /**
+     * Returns whether the entry with the given handle is still in the heap.
+     */
+    public boolean inHeap(int handle) {
+        return heap.inHeap(handle);
+    }
+
+    /**
+     * Removes an entry with the least key from the heap and returns its handle.
+     * The handle's key and value can still be read until the next insert.
+     * <p>
+     * Runs in worst-case O(n) time and amortized O(log n) time.
+     *
+     * @return The handle of the removed entry.
+     * @throws NoSuchElementException If the heap is empty.
+     */
+    public int deleteMin() {
+        return heap.deleteMin();
+    }
+
+    /**
+     * Decreases the key of the entry with the given handle to newKey.
+     * <p>
+     * Runs in worst-case O(log n) time and amortized O(1) time.
+     *
+     * @param handle Handle of the entry for which to update the key.
+     * @param newKey New key for the entry.
+     * @throws IllegalArgumentException If handle is not a current member of the heap or if newKey is
+     * greater than the entry's current key or is NaN.
+     */
+    public void decreaseKey(int handle, double newKey) {
+        if (!heap.inHeap(handle)) throw new IllegalArgumentException("Entry not found");
+        if (Double.isNaN(newKey)) throw new IllegalArgumentException("newKey is NaN");
+        heap.decreaseKey(handle, encode(newKey));
+    }
+
+    /**
+     * Removes the entry with the given handle from the heap.
+     * <p>
+     * Runs in worst-case O(n) time and amortized O(log n) time.
+     *
+     * @param handle Handle of the entry to remove.
+     * @throws IllegalArgumentException If handle is not a current member of the heap.
+     */
+    public void delete(int handle) {
+        heap.delete(handle);
+    }
+
+    /**
+     * Merges other heap with current one, emptying the other heap in the process.
+     * <p>
+     * other's node arrays are appended to this heap's, so the handle of every entry moved from other
+     * becomes its old handle plus the returned offset. Runs in O(m) time, where m is the number of
+     * slots other has handed out.
+     *
+     * @param other The other heap from which to merge entries.
+     * @return The offset to add to other's handles.
+     * @throws IllegalArgumentException If other is null or is this heap.
+     */
+    public int merge(DoubleFibonacciHeap<V> other) {
+        if (other == null) throw new IllegalArgumentException("other is null");
+        return heap.merge(other.heap);
+    }
+
+    /**
+     * Returns a long whose signed order matches Double.compare's order of doubles: positive doubles
+     * keep their bits, and negative ones have every bit but the sign flipped.
+     */
+    static long encode(double key)
+    {
+        long bits = Double.doubleToLongBits(key);
+        return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+    }
+
+    /**
+     * Inverts encode.
+     */
+    static double decode(long encoded)
+    {
+        return Double.longBitsToDouble(encoded ^ ((encoded >> 63) & Long.MAX_VALUE));
+    }
+}
@@ -0,0 +1,1458 @@
+package heap;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
+
+/**
+ * Implementation file for CS 3345.HON.24F Programming Assignment #3.
+ * <p>
+ * After a burst of inserts or cuts, the root list can hold millions of trees, and the next
+ * deleteMin links them all. setParallelConsolidation lets that deleteMin spread the work over a
+ * ForkJoinPool whenever the root list has grown past a threshold; the heap is otherwise
+ * single-threaded as before. setIncrementalConsolidation instead caps the linking any one deleteMin
+ * does, for a hard bound on its latency rather than a faster worst case. setMetrics attaches
+ * counters that show how the heap is being used without walking it, as printAll does.
+ * <p>
+ * Keys are ordered by their natural ordering, by a Comparator, or by a long sort key that a key
+ * extractor computes once per insert or key update and that the node caches, so linking compares
+ * primitives and never calls back into the keys. Without either, keys must be Comparable.
+ * <p>
+ * Besides decreaseKey, keys can be raised in place with increaseKey, or changed either way with
+ * updateKey, which keeps the entry's handle and skips the deleteMin a delete and insert would run.
+ *
+ * @param <K> The entries' key type.
+ * @param <V> The entries' value type.
+ */
+public final class FibonacciHeap <K, V> implements MergeableHeap<K, V> {
+
+    //
+    // PROPERTIES
+    //
+
+    private Node<K, V> sentinelRoot;
+    private Node<K, V> minRoot;
+    private int size;
+    private final Comparator<? super K> comparator; // null: natural ordering, or keyExtractor.
+    private final ToLongFunction<? super K> keyExtractor; // null: Node.sortKey is unused.
+    private Node<K, V>[] degreeTable; // Scratch space for consolidate(), always left empty.
+    private Node<K, V>[] candidates; // Scratch binary heap of roots for drain(), left empty.
+    private int candidateCount;
+    private Node<K, V> pool; // Removed nodes kept for reuse, linked through nextSibling.
+    private int pooled;
+    private final int poolCapacity;
+    private int rootCount;
+    private ForkJoinPool consolidationPool; // null: always consolidate on the calling thread.
+    private int parallelThreshold;
+
+    // Incremental mode (linkBudget > 0): every root is either in the pending binary heap, ordered by
+    // key and indexed through Node.slot, or has been linked into degreeTable, which then persists
+    // between calls and holds at most one root per degree.
+    private int linkBudget;
+    private Node<K, V>[] pending;
+    private int pendingCount;
+
+    private HeapMetrics metrics; // null: no metrics are kept.
+
+    private static final double LOG_PHI = Math.log((1 + Math.sqrt(5)) / 2);
+    private static final int MIN_CHUNK = 1 << 13; // Fewest roots worth a consolidation task.
+
+    //
+    // METHODS
+    //
+
+    /**
+     * Instantiate an empty Fibonacci heap that orders keys by their natural ordering.
+     */
+    public FibonacciHeap() {
+        this(null, null, 0);
+    }
+
+    /**
+     * Instantiate an empty Fibonacci heap that recycles up to poolCapacity removed nodes.
+     * <p>
+     * A removed node keeps its Entry, and the next insert reuses both, so a heap cycling between
+     * insert and deleteMin allocates nothing once its pool and scratch space have filled. In
+     * exchange, an Entry returned by deleteMin, drainTo or passed to delete stays readable only
+     * until the next insert, which may hand the same Entry out again. A poolCapacity of 0 disables
+     * pooling, and every Entry stays valid for good.
+     *
+     * @param poolCapacity Maximum number of removed nodes to keep.
+     * @throws IllegalArgumentException If poolCapacity is negative.
+     */
+    public FibonacciHeap(int poolCapacity) {
+        this(null, null, poolCapacity);
+    }
+
+    /**
+     * Instantiate an empty Fibonacci heap that orders keys by comparator.
+     *
+     * @param comparator Ordering of the keys.
+     * @throws IllegalArgumentException If comparator is null.
+     */
+    public FibonacciHeap(Comparator<? super K> comparator) {
+        this(comparator, 0);
+    }
+
+    /**
+     * Instantiate an empty Fibonacci heap that orders keys by comparator and recycles up to
+     * poolCapacity removed nodes, as FibonacciHeap(int) does.
+     *
+     * @param comparator Ordering of the keys.
+     * @param poolCapacity Maximum number of removed nodes to keep.
+     * @throws IllegalArgumentException If comparator is null or poolCapacity is negative.
+     */
+    public FibonacciHeap(Comparator<? super K> comparator, int poolCapacity) {
+        this(comparator, null, poolCapacity);
+        if (comparator == null) throw new IllegalArgumentException("comparator is null");
+    }
+
+    /**
+     * Instantiate an empty Fibonacci heap that orders keys by the long keyExtractor maps them to.
+     * Keys with equal sort keys come out in no particular order.
+     *
+     * @param keyExtractor Sort key of each key, called once per insert or key update.
+     * @throws IllegalArgumentException If keyExtractor is null.
+     */
+    public FibonacciHeap(ToLongFunction<? super K> keyExtractor) {
+        this(keyExtractor, 0);
+    }
+
+    /**
+     * Instantiate an empty Fibonacci heap that orders keys by the long keyExtractor maps them to and
+     * recycles up to poolCapacity removed nodes, as FibonacciHeap(int) does.
+     *
+     * @param keyExtractor Sort key of each key, called once per insert or key update.
+     * @param poolCapacity Maximum number of removed nodes to keep.
+     * @throws IllegalArgumentException If keyExtractor is null or poolCapacity is negative.
+     */
+    public FibonacciHeap(ToLongFunction<? super K> keyExtractor, int poolCapacity) {
+        this(null, keyExtractor, poolCapacity);
+        if (keyExtractor == null) throw new IllegalArgumentException("keyExtractor is null");
+    }
+
+    private FibonacciHeap(Comparator<? super K> comparator, ToLongFunction<? super K> keyExtractor, int poolCapacity)
+    {
+        if (poolCapacity < 0) throw new IllegalArgumentException("poolCapacity is negative");
+        this.comparator = comparator;
+        this.keyExtractor = keyExtractor;
+        this.poolCapacity = poolCapacity;
+        size = 0;
+        rootCount = 0;
+        sentinelRoot = new Node<>(null);
+        sentinelRoot.parent = null;
+        sentinelRoot.nextSibling = sentinelRoot;
+        sentinelRoot.prevSibling = sentinelRoot;
+        minRoot = sentinelRoot;
+        @SuppressWarnings("unchecked")
+        Node<K, V>[] table = (Node<K, V>[]) new Node[0];
+        degreeTable = table;
+        candidates = table;
+        pending = table;
+    }
+
+    /**
+     * Makes consolidation run on pool whenever the root list holds at least rootThreshold trees.
+     * <p>
+     * The roots are then cut into chunks, each chunk links its trees of equal degree into a degree
+     * table of its own on pool, and the tables are merged pairwise, carrying like a binary
+     * addition, as the tasks join. The new minimum is the least root of the final table. Only the
+     * walk that splits the root list into chunks stays sequential.
+     * <p>
+     * Smaller root lists, and every root list while pool is null, are consolidated on the calling
+     * thread as usual. The heap must still be used by one thread at a time, and its Comparator, if
+     * any, must be safe to call from pool's threads.
+     *
+     * @param pool The pool to consolidate on, or null to turn parallel consolidation off.
+     * @param rootThreshold The fewest roots to consolidate in parallel.
+     * @throws IllegalArgumentException If pool is given and rootThreshold is not positive.
+     */
+    public void setParallelConsolidation(ForkJoinPool pool, int rootThreshold) {
+        if (pool != null && rootThreshold <= 0)
+            throw new IllegalArgumentException("rootThreshold must be positive");
+        consolidationPool = pool;
+        parallelThreshold = rootThreshold;
+    }
+
+    /**
+     * Caps the consolidation work of each deleteMin at about linkBudget root moves and links, or
+     * with a linkBudget of 0 returns to consolidating the whole root list at once.
+     * <p>
+     * Roots waiting to be consolidated are kept in a binary heap by key, and consolidated roots in
+     * a degree table that persists between calls. deleteMin links at most linkBudget waiting roots
+     * into the table, and takes the new minimum from the top of the binary heap and the O(log n)
+     * table roots. With the O(log n) children of the old minimum each entering the binary heap, it
+     * runs in worst-case O(linkBudget + log^2 n) time however long the root list has grown.
+     * <p>
+     * In exchange, every new root costs a binary heap insertion: insert and decreaseKey run in
+     * worst-case O(log n) time, merge in O(r) time for the r roots of the other heap, and drainTo
+     * calls deleteMin once per entry. Turning the mode on or off runs in O(r) time for r roots.
+     * <p>
+     * The waiting roots drain as long as deleteMin runs often enough relative to the number of new
+     * roots. While the mode is on, parallel consolidation is not used.
+     *
+     * @param linkBudget Root moves and links per deleteMin, or 0 to turn incremental mode off.
+     * @throws IllegalArgumentException If linkBudget is negative.
+     */
+    public void setIncrementalConsolidation(int linkBudget) {
+        if (linkBudget < 0) throw new IllegalArgumentException("linkBudget is negative");
+        if (this.linkBudget > 0) clearIndex();
+        this.linkBudget = linkBudget;
+        if (linkBudget == 0) return;
+
+        // Every root starts out waiting
+        for (Node<K, V> root = sentinelRoot.nextSibling; root != sentinelRoot; root = root.nextSibling)
+        {
+            if (pendingCount == pending.length)
+                pending = Arrays.copyOf(pending, Math.max(16, 2 * pending.length));
+            root.slot = pendingCount;
+            pending[pendingCount++] = root;
+        }
+        for (int i = pendingCount / 2 - 1; i >= 0; i--) siftDownPending(i);
+    }
+
+    /**
+     * Makes the heap record its operations, consolidations and cuts in metrics, or with null stop
+     * recording. metrics may be shared with other heaps.
+     *
+     * @param metrics Metrics to update from now on, or null.
+     */
+    public void setMetrics(HeapMetrics metrics) {
+        this.metrics = metrics;
+        if (metrics != null) metrics.rootListLength = rootCount;
+    }
+
+    /**
+     * Print all elements of the Fibonacci heap.
+     * Trees are printed in arbitrary order, each printed in a pre-order.
+     * Individual elements are printed one line at a time, and each is indented a number of
+     * '=' equal to twice its node's depth.
+     * Printed elements should look like "(key, value) (marked)" or "(key, value)
+     * (not marked)" depending on whether they are marked.
+     * <p>
+     * Runs in O(n) time for a heap of n elements.
+     */
+    public void printAll() {
+        Node<K, V> curr = sentinelRoot.nextSibling;
+        while (curr != sentinelRoot) {
+            printAll(curr, 0);
+            curr = curr.nextSibling;
+        }
+    }
+
+    public void printAll(Node<K, V> node, int depth)
+    {
+        assert (depth >= 0);
+        assert (node != null);
+        assert (node.entry != null);
+
+        StringBuilder builder = new StringBuilder();
+        for (int spaces = 0; spaces < depth; spaces++) {
+            builder.append("==");
+        }
+
+        Entry<K, V> entry = node.entry;
+        System.out.print("==".repeat(depth));
+        entry.printEntry();
+
+        Node<K, V> firstChild = node.child;
+        if (firstChild == null) return;
+        Node<K, V> currentChild = firstChild;
+        do
+        {
+            printAll(currentChild, depth + 1);
+            currentChild = currentChild.nextSibling;
+        }
+        while (currentChild != firstChild);
+    }
+
+
+
+    /**
+     * Inserts a new key-value pair into the Fibonacci heap.
+     * Allows for insertion of keys and values that are equal to ones already present.
+     * <p>
+     * Runs in worst-case O(1) time and amortized O(1) time.
+     *
+     * @param key Key for the value being inserted.
+     * @param value The value being inserted.
+     */
+    public Entry<K, V> insert(K key, V value) {
+        Node<K, V> newNode = newNode(key, value);
+        size++;
+        rootCount++;
+
+        newNode.prevSibling = sentinelRoot;
+        newNode.nextSibling = sentinelRoot.nextSibling;
+        sentinelRoot.nextSibling.prevSibling = newNode;
+        sentinelRoot.nextSibling = newNode;
+        if (linkBudget > 0) pushPending(newNode);
+
+        if (minRoot == sentinelRoot) minRoot = newNode;
+        else
+        {
+            if (less(newNode, minRoot)) minRoot = newNode;
+        }
+        if (metrics != null)
+        {
+            metrics.inserts.increment();
+            metrics.rootListLength = rootCount;
+        }
+        return newNode.entry;
+    }
+
+    /**
+     * Inserts keys[i] with values[i] for every i, in a single pass over the new entries.
+     * The new nodes are chained together and spliced into the root list at once, and the minimum
+     * is updated once at the end.
+     * <p>
+     * Runs in worst-case O(m) time for m new entries.
+     *
+     * @param keys Keys for the values being inserted.
+     * @param values The values being inserted.
+     * @return The new entries, where the i-th entry holds keys[i] and values[i].
+     * @throws IllegalArgumentException If keys and values differ in length.
+     */
+    public Entry<K, V>[] insertAll(K[] keys, V[] values) {
+        if (keys.length != values.length)
+            throw new IllegalArgumentException("keys and values differ in length");
+
+        @SuppressWarnings("unchecked")
+        Entry<K, V>[] entries = (Entry<K, V>[]) new Entry[keys.length];
+        if (keys.length == 0) return entries;
+
+        // Chain the new nodes first, then splice the chain in after sentinelRoot
+        Node<K, V> first = null, last = null, newMin = null;
+        for (int i = 0; i < keys.length; i++)
+        {
+            Node<K, V> newNode = newNode(keys[i], values[i]);
+            entries[i] = newNode.entry;
+            if (linkBudget > 0) pushPending(newNode);
+            if (first == null) first = newNode;
+            else
+            {
+                last.nextSibling = newNode;
+                newNode.prevSibling = last;
+            }
+            last = newNode;
+            if (newMin == null || less(newNode, newMin)) newMin = newNode;
+        }
+
+        first.prevSibling = sentinelRoot;
+        last.nextSibling = sentinelRoot.nextSibling;
+        sentinelRoot.nextSibling.prevSibling = last;
+        sentinelRoot.nextSibling = first;
+        size += keys.length;
+        rootCount += keys.length;
+
+        if (minRoot == sentinelRoot || less(newMin, minRoot))
+            minRoot = newMin;
+        if (metrics != null)
+        {
+            metrics.inserts.add(keys.length);
+            metrics.rootListLength = rootCount;
+        }
+        return entries;
+    }
+
+    /**
+     * Inserts every key-value pair of items, in iteration order, in a single pass.
+     * <p>
+     * Runs in worst-case O(m) time for m new entries.
+     *
+     * @param items Key-value pairs to insert.
+     * @return The new entries, in the order of items.
+     */
+    public List<Entry<K, V>> insertAll(Collection<? extends Map.Entry<? extends K, ? extends V>> items) {
+        @SuppressWarnings("unchecked")
+        K[] keys = (K[]) new Object[items.size()];
+        @SuppressWarnings("unchecked")
+        V[] values = (V[]) new Object[items.size()];
+        int i = 0;
+        for (Map.Entry<? extends K, ? extends V> item : items)
+        {
+            keys[i] = item.getKey();
+            values[i] = item.getValue();
+            i++;
+        }
+        return Arrays.asList(insertAll(keys, values));
+    }
+
+    /**
+     * Returns an Entry with the least key in the Fibonacci heap or null if the heap is empty.
+     * <p>
+     * Runs in worst-case O(1) time and amortized O(1) time.
+     *
+     * @returns An Entry storing the least key or null if the heap is empty.
+     */
+    public Entry<K, V> findMin() {
+        return minRoot.entry;
+    }
+
+    /**
+     * Returns the number of entries in the Fibonacci heap.
+     * <p>
+     * Runs in worst-case O(1) time.
+     *
+     * @return The number of entries.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns whether the Fibonacci heap has no entries.
+     * <p>
+     * Runs in worst-case O(1) time.
+     *
+     * @return true if the heap is empty.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns and removes Entry with the least key from the Fibonacci heap.
+     * <p>
+     * Runs in worst-case O(n) time and amortized O(log n) time.
+     *
+     * @return An Entry storing the least key.
+     * @throws NoSuchElementException If the Fibonacci heap is empty.
+     */
+    public Entry<K, V> deleteMin() {
+        if (size == 0) throw new NoSuchElementException("Heap is empty");
+
+        Entry<K, V> minEntry = removeMin();
+        if (metrics != null)
+        {
+            metrics.deleteMins.increment();
+            metrics.rootListLength = rootCount;
+        }
+        return minEntry;
+    }
+
+    /**
+     * Removes minRoot, moving its children into the root list, and consolidates.
+     * <p>
+     * Runs in worst-case O(n) time and amortized O(log n) time.
+     *
+     * @return The removed Entry.
+     */
+    private Entry<K, V> removeMin()
+    {
+        size--;
+
+        Entry<K, V> minEntry = minRoot.entry;
+        Node<K, V> node = minRoot,
+                prevSibling = node.prevSibling,
+                nextSibling = node.nextSibling,
+                firstChild = node.child;
+
+        // delete node, put node's children onto root
+
+        // Case 1: node has child(ren)
+        if (firstChild != null)
+        {
+            Node<K, V> lastChild = firstChild.prevSibling;
+            prevSibling.nextSibling = firstChild;
+            firstChild.prevSibling = prevSibling;
+            nextSibling.prevSibling = lastChild;
+            lastChild.nextSibling = nextSibling;
+            while (firstChild != lastChild) {
+                firstChild.parent = null;
+                firstChild = firstChild.nextSibling;
+            }
+            lastChild.parent = null;
+        }
+        // Case 2: node has no children
+        else
+        {
+            prevSibling.nextSibling = nextSibling;
+            nextSibling.prevSibling = prevSibling;
+        }
+        rootCount += node.rank - 1;
+        if (linkBudget > 0)
+        {
+            unindexRoot(node);
+            for (Node<K, V> child = prevSibling.nextSibling; child != nextSibling; child = child.nextSibling)
+                pushPending(child);
+        }
+        minEntry.node = null;
+        release(node);
+
+        if (size == 0) minRoot = sentinelRoot;
+        else
+        {
+            int roots = rootCount;
+            if (linkBudget > 0) consolidateIncrementally();
+            else consolidate();
+            if (metrics != null) recordConsolidation(roots);
+        }
+
+        return minEntry;
+    }
+
+    /**
+     * Removes up to k entries with the least keys, storing them in buffer in ascending key order.
+     * <p>
+     * Only the first removal consolidates. The remaining roots are then kept in a binary heap of
+     * candidates (scratch space reused across calls), and each further removal pops the least
+     * candidate and pushes its children, which join the root list. The root list is left for the
+     * next deleteMin to consolidate. Allocates nothing once the scratch space has grown.
+     * <p>
+     * Runs in amortized O(log n + k (D + log(kD))) time, where D = O(log n) is the maximum degree.
+     *
+     * @param buffer Where to store the removed entries, starting at index 0.
+     * @param k Maximum number of entries to remove.
+     * @return The number of entries removed, min(k, size).
+     * @throws IllegalArgumentException If k is negative or buffer is shorter than k.
+     */
+    public int drainTo(Entry<K, V>[] buffer, int k) {
+        if (buffer.length < k) throw new IllegalArgumentException("buffer is shorter than k");
+        return drain(k, buffer, null);
+    }
+
+    /**
+     * Removes up to k entries with the least keys, passing them to action in ascending key order.
+     * Works as drainTo(Entry[], int) does.
+     *
+     * @param action Receives each removed entry. Must not modify this heap.
+     * @param k Maximum number of entries to remove.
+     * @return The number of entries removed, min(k, size).
+     * @throws IllegalArgumentException If k is negative.
+     */
+    public int drainTo(Consumer<? super Entry<K, V>> action, int k) {
+        return drain(k, null, action);
+    }
+
+    private int drain(int k, Entry<K, V>[] buffer, Consumer<? super Entry<K, V>> action)
+    {
+        if (k < 0) throw new IllegalArgumentException("k is negative");
+        int count = Math.min(k, size);
+        if (count == 0) return 0;
+
+        // The candidate heap below bypasses the incremental index, so drain one deleteMin at a time
+        if (linkBudget > 0)
+        {
+            for (int i = 0; i < count; i++)
+            {
+                Entry<K, V> entry = deleteMin();
+                if (buffer != null) buffer[i] = entry;
+                else action.accept(entry);
+            }
+            return count;
+        }
+
+        Entry<K, V> first = deleteMin();
+        if (buffer != null) buffer[0] = first;
+        else action.accept(first);
+        if (count == 1) return 1;
+
+        // Every root is a candidate for the next removal
+        candidateCount = 0;
+        for (Node<K, V> root = sentinelRoot.nextSibling; root != sentinelRoot; root = root.nextSibling)
+            pushCandidate(root);
+
+        for (int i = 1; i < count; i++)
+        {
+            Node<K, V> node = popCandidate();
+            Entry<K, V> entry = node.entry;
+
+            // Replace node in the root list by its children, which become candidates
+            Node<K, V> prevSibling = node.prevSibling,
+                    nextSibling = node.nextSibling,
+                    firstChild = node.child;
+            if (firstChild != null)
+            {
+                Node<K, V> lastChild = firstChild.prevSibling;
+                prevSibling.nextSibling = firstChild;
+                firstChild.prevSibling = prevSibling;
+                nextSibling.prevSibling = lastChild;
+                lastChild.nextSibling = nextSibling;
+                for (Node<K, V> curr = firstChild; curr != nextSibling; curr = curr.nextSibling)
+                {
+                    curr.parent = null;
+                    pushCandidate(curr);
+                }
+            }
+            else
+            {
+                prevSibling.nextSibling = nextSibling;
+                nextSibling.prevSibling = prevSibling;
+            }
+            rootCount += node.rank - 1;
+            entry.node = null;
+            release(node);
+            size--;
+
+            if (buffer != null) buffer[i] = entry;
+            else action.accept(entry);
+        }
+
+        // The least candidate is the least root; drop references to the rest
+        minRoot = (candidateCount == 0) ? sentinelRoot : candidates[0];
+        Arrays.fill(candidates, 0, candidateCount, null);
+        candidateCount = 0;
+        if (metrics != null)
+        {
+            metrics.deleteMins.add(count - 1);
+            metrics.rootListLength = rootCount;
+        }
+        return count;
+    }
+
+    private void pushCandidate(Node<K, V> node)
+    {
+        if (candidateCount == candidates.length)
+            candidates = Arrays.copyOf(candidates, Math.max(16, 2 * candidates.length));
+
+        // sift up
+        int hole = candidateCount++;
+        while (hole > 0)
+        {
+            int parent = (hole - 1) >>> 1;
+            if (!less(node, candidates[parent])) break;
+            candidates[hole] = candidates[parent];
+            hole = parent;
+        }
+        candidates[hole] = node;
+    }
+
+    private Node<K, V> popCandidate()
+    {
+        Node<K, V> top = candidates[0];
+        Node<K, V> last = candidates[--candidateCount];
+        candidates[candidateCount] = null;
+        if (candidateCount == 0) return top;
+
+        // sift down
+        int hole = 0;
+        while (true)
+        {
+            int child = 2 * hole + 1;
+            if (child >= candidateCount) break;
+            if (child + 1 < candidateCount
+                    && less(candidates[child + 1], candidates[child]))
+                child++;
+            if (!less(candidates[child], last)) break;
+            candidates[hole] = candidates[child];
+            hole = child;
+        }
+        candidates[hole] = last;
+        return top;
+    }
+
+    /**
+     * Returns a node holding a new entry, taken from the pool if it has one.
+     */
+    private Node<K, V> newNode(K key, V value)
+    {
+        Node<K, V> node = pool;
+        if (node == null) node = new Node<>(new Entry<K, V>(key, value));
+        else
+        {
+            pool = node.nextSibling;
+            pooled--;
+            node.nextSibling = null;
+            node.entry.key = key;
+            node.entry.value = value;
+            node.entry.node = node;
+        }
+        if (keyExtractor != null) node.sortKey = keyExtractor.applyAsLong(key);
+        return node;
+    }
+
+    /**
+     * Returns a removed node to the pool, if pooling is enabled and the pool has room.
+     * The entry's key and value are left in place for the caller to read.
+     */
+    private void release(Node<K, V> node)
+    {
+        if (pooled == poolCapacity) return;
+
+        node.parent = null;
+        node.prevSibling = null;
+        node.rank = 0;
+        node.slot = -1;
+        node.markedForDeletion = false;
+        node.child = null;
+        node.nextSibling = pool;
+        pool = node;
+        pooled++;
+    }
+
+    /**
+     * Records in metrics a consolidation that started from roots roots, along with the greatest
+     * degree among the roots it linked into place.
+     * <p>
+     * Runs in O(log n) time after a full consolidation or in incremental mode.
+     */
+    private void recordConsolidation(int roots)
+    {
+        int maxDegree = 0;
+        if (linkBudget > 0)
+        {
+            for (int degree = 0; degree < degreeTable.length; degree++)
+                if (degreeTable[degree] != null) maxDegree = degree;
+        }
+        else
+        {
+            for (Node<K, V> root = sentinelRoot.nextSibling; root != sentinelRoot; root = root.nextSibling)
+                maxDegree = Math.max(maxDegree, root.rank);
+        }
+        metrics.consolidated(roots - rootCount, maxDegree);
+    }
+
+    /**
+     * Links roots of equal degree until every root has a distinct degree, then sets minRoot.
+     * <p>
+     * Uses degreeTable as scratch space. The table is only reallocated when the heap has grown past
+     * what it can hold; otherwise consolidation allocates nothing.
+     * <p>
+     * Runs in O(r + log n) time for r roots.
+     */
+    private void consolidate()
+    {
+        if (consolidationPool != null && rootCount >= parallelThreshold)
+        {
+            parallelConsolidate();
+            return;
+        }
+
+        // A node of degree d roots a subtree of at least F(d+2) >= phi^d nodes, so every degree
+        // (including the one produced by the final link) fits in floor(log_phi(n)) + 2 slots.
+        int maxDegree = (int) (Math.log(size) / LOG_PHI) + 1;
+        if (degreeTable.length <= maxDegree) {
+            @SuppressWarnings("unchecked")
+            Node<K, V>[] table = (Node<K, V>[]) new Node[maxDegree + 1];
+            degreeTable = table;
+        }
+
+        Node<K, V> currRoot = sentinelRoot.nextSibling;
+        int highestDegree = 0;
+        while (currRoot != sentinelRoot)
+        {
+            // merge may detach currRoot, so remember where to continue
+            Node<K, V> nextRoot = currRoot.nextSibling;
+            int degree = currRoot.rank;
+            while (degreeTable[degree] != null)
+            {
+                Node<K, V> other = degreeTable[degree];
+                degreeTable[degree] = null;
+                currRoot = merge(currRoot, other);
+                degree++;
+            }
+            degreeTable[degree] = currRoot;
+            if (degree > highestDegree) highestDegree = degree;
+            currRoot = nextRoot;
+        }
+
+        // Set new minRoot, leaving the table empty for the next call
+        minRoot = null;
+        rootCount = 0;
+        for (int degree = 0; degree <= highestDegree; degree++)
+        {
+            Node<K, V> root = degreeTable[degree];
+            if (root == null) continue;
+            degreeTable[degree] = null;
+            rootCount++;
+            if (minRoot == null || less(root, minRoot))
+                minRoot = root;
+        }
+    }
+
+    /**
+     * Consolidates on consolidationPool: copies the roots into an array, links each chunk of it
+     * into a degree table in its own task, merges the tables as the tasks join, and rebuilds the
+     * root list from the final table, which holds at most one root per degree.
+     * <p>
+     * Runs in O(r) time for r roots, of which only the copy is sequential, plus O(log n) per join.
+     */
+    private void parallelConsolidate()
+    {
+        @SuppressWarnings("unchecked")
+        Node<K, V>[] roots = (Node<K, V>[]) new Node[rootCount];
+        int count = 0;
+        for (Node<K, V> root = sentinelRoot.nextSibling; root != sentinelRoot; root = root.nextSibling)
+            roots[count++] = root;
+        assert (count == rootCount);
+
+        // Same bound as in consolidate(), plus one slot for the carry out of the top degree
+        int slots = (int) (Math.log(size) / LOG_PHI) + 3;
+        int chunk = Math.max(MIN_CHUNK, count / (4 * consolidationPool.getParallelism()));
+        Node<K, V>[] table = consolidationPool.invoke(new ConsolidateTask<>(this, roots, 0, count, chunk, slots));
+
+        sentinelRoot.nextSibling = sentinelRoot;
+        sentinelRoot.prevSibling = sentinelRoot;
+        minRoot = null;
+        rootCount = 0;
+        for (Node<K, V> root : table)
+        {
+            if (root == null) continue;
+            root.prevSibling = sentinelRoot.prevSibling;
+            root.nextSibling = sentinelRoot;
+            sentinelRoot.prevSibling.nextSibling = root;
+            sentinelRoot.prevSibling = root;
+            rootCount++;
+            if (minRoot == null || less(root, minRoot))
+                minRoot = root;
+        }
+    }
+
+    /**
+     * Links the roots in roots[start, end) into a degree table, splitting the range in half until
+     * it is at most chunk long. The roots' sibling pointers are left stale; only link() writes to
+     * the trees, and each tree is linked by a single task.
+     */
+    @SuppressWarnings("serial") // Never serialized; ForkJoinTask is Serializable only by inheritance.
+    private static final class ConsolidateTask<K, V> extends RecursiveTask<Node<K, V>[]> {
+
+        private final FibonacciHeap<K, V> heap; // Only its key ordering is used.
+        private final Node<K, V>[] roots;
+        private final int start;
+        private final int end;
+        private final int chunk;
+        private final int slots;
+
+        ConsolidateTask(FibonacciHeap<K, V> heap, Node<K, V>[] roots, int start, int end, int chunk, int slots) {
+            this.heap = heap;
+            this.roots = roots;
+            this.start = start;
+            this.end = end;
+            this.chunk = chunk;
+            this.slots = slots;
+        }
+
+        @Override
+        protected Node<K, V>[] compute() {
+            if (end - start <= chunk)
+            {
+                @SuppressWarnings("unchecked")
+                Node<K, V>[] table = (Node<K, V>[]) new Node[slots];
+                for (int i = start; i < end; i++) addToTable(table, roots[i]);
+                return table;
+            }
+
+            int middle = (start + end) >>> 1;
+            ConsolidateTask<K, V> left = new ConsolidateTask<>(heap, roots, start, middle, chunk, slots);
+            left.fork();
+            Node<K, V>[] table = new ConsolidateTask<>(heap, roots, middle, end, chunk, slots).compute();
+            Node<K, V>[] leftTable = left.join();
+            for (Node<K, V> root : leftTable)
+                if (root != null) addToTable(table, root);
+            return table;
+        }
+
+        /**
+         * Puts root in the table, linking it with the table's tree of the same degree, and so on
+         * upwards, as long as there is one.
+         */
+        private void addToTable(Node<K, V>[] table, Node<K, V> root)
+        {
+            int degree = root.rank;
+            while (table[degree] != null)
+            {
+                Node<K, V> other = table[degree];
+                table[degree] = null;
+                root = heap.link(root, other);
+                degree++;
+            }
+            table[degree] = root;
+        }
+    }
+
+    /**
+     * Moves up to linkBudget waiting roots into the degree table, linking on the way, then sets
+     * minRoot to the least of the binary heap's top and the table's roots.
+     * <p>
+     * Runs in worst-case O(linkBudget + log n) time: waiting roots are taken from the end of the
+     * binary heap, which needs no sifting, and the carries past the budget stop at the top degree.
+     */
+    private void consolidateIncrementally()
+    {
+        int maxDegree = (int) (Math.log(size) / LOG_PHI) + 1;
+        if (degreeTable.length <= maxDegree) degreeTable = Arrays.copyOf(degreeTable, maxDegree + 1);
+
+        for (int work = 0; work < linkBudget && pendingCount > 0; work++)
+        {
+            Node<K, V> root = pending[--pendingCount];
+            pending[pendingCount] = null;
+            root.slot = -1;
+            int degree = root.rank;
+            while (degreeTable[degree] != null)
+            {
+                Node<K, V> other = degreeTable[degree];
+                degreeTable[degree] = null;
+                root = merge(root, other);
+                rootCount--;
+                degree++;
+                work++;
+            }
+            degreeTable[degree] = root;
+        }
+
+        minRoot = (pendingCount > 0) ? pending[0] : null;
+        for (Node<K, V> root : degreeTable)
+            if (root != null && (minRoot == null || less(root, minRoot)))
+                minRoot = root;
+    }
+
+    /**
+     * Adds root, which is in the root list but in neither index, to the waiting roots.
+     */
+    private void pushPending(Node<K, V> root)
+    {
+        if (pendingCount == pending.length)
+            pending = Arrays.copyOf(pending, Math.max(16, 2 * pending.length));
+        pending[pendingCount] = root;
+        root.slot = pendingCount++;
+        siftUpPending(root.slot);
+    }
+
+    /**
+     * Takes root, which is about to leave the root list or change degree, out of whichever index
+     * holds it.
+     */
+    private void unindexRoot(Node<K, V> root)
+    {
+        if (root.slot < 0)
+        {
+            degreeTable[root.rank] = null;
+            return;
+        }
+
+        int slot = root.slot;
+        Node<K, V> last = pending[--pendingCount];
+        pending[pendingCount] = null;
+        root.slot = -1;
+        if (last == root) return;
+        pending[slot] = last;
+        last.slot = slot;
+        siftUpPending(slot);
+        siftDownPending(last.slot);
+    }
+
+    private void siftUpPending(int slot)
+    {
+        Node<K, V> node = pending[slot];
+        while (slot > 0)
+        {
+            int parent = (slot - 1) >>> 1;
+            if (!less(node, pending[parent])) break;
+            pending[slot] = pending[parent];
+            pending[slot].slot = slot;
+            slot = parent;
+        }
+        pending[slot] = node;
+        node.slot = slot;
+    }
+
+    private void siftDownPending(int slot)
+    {
+        Node<K, V> node = pending[slot];
+        while (true)
+        {
+            int child = 2 * slot + 1;
+            if (child >= pendingCount) break;
+            if (child + 1 < pendingCount
+                    && less(pending[child + 1], pending[child]))
+                child++;
+            if (!less(pending[child], node)) break;
+            pending[slot] = pending[child];
+            pending[slot].slot = slot;
+            slot = child;
+        }
+        pending[slot] = node;
+        node.slot = slot;
+    }
+
+    /**
+     * Empties both incremental indexes, leaving every root in the root list only.
+     */
+    private void clearIndex()
+    {
+        for (int i = 0; i < pendingCount; i++) pending[i].slot = -1;
+        Arrays.fill(pending, 0, pendingCount, null);
+        pendingCount = 0;
+        Arrays.fill(degreeTable, null);
+    }
+
+    /**
+     * Returns whether first's key orders strictly before second's. With a key extractor, this
+     * compares the cached sort keys only.
+     */
+    private boolean less(Node<K, V> first, Node<K, V> second)
+    {
+        if (keyExtractor != null) return first.sortKey < second.sortKey;
+        return compare(first.entry.key, second.entry.key) < 0;
+    }
+
+    /**
+     * Compares two keys in the heap's ordering.
+     */
+    @SuppressWarnings("unchecked")
+    private int compare(K first, K second)
+    {
+        if (keyExtractor != null)
+            return Long.compare(keyExtractor.applyAsLong(first), keyExtractor.applyAsLong(second));
+        if (comparator != null) return comparator.compare(first, second);
+        return ((Comparable<? super K>) first).compareTo(second);
+    }
+
+    /**
+     * Merge the 2 roots, and return the smaller root.
+     *
+     * @param first
+     * @param second
+     * @return the smaller node (the root of
+     */
+    private Node<K, V> merge(Node<K, V> first, Node<K, V> second)
+    {
+        // MUST BE ROOTS
+        assert (first != null && first.parent == null);
+        assert (second != null && second.parent == null);
+
+        // detach the larger from the root list, then attach it under the smaller
+        Node<K, V> large = less(first, second) ? second : first;
+        large.prevSibling.nextSibling = large.nextSibling;
+        large.nextSibling.prevSibling = large.prevSibling;
+        return link(first, second);
+    }
+
+    /**
+     * Makes the root with the larger key the first child of the other, without touching the list
+     * of roots, and returns the smaller root.
+     */
+    private Node<K, V> link(Node<K, V> first, Node<K, V> second)
+    {
+        // determining the larger/smaller of the bunch
+        Node<K, V> small = less(first, second) ? first : second,
+                large = (first == small) ? second : first;
+
+        // attach large as small's new first child
+        Node<K, V> smallFirstChild = small.child;
+        if (smallFirstChild == null)
+        {
+            large.prevSibling = large;
+            large.nextSibling = large;
+        }
+        else
+        {
+            large.prevSibling = smallFirstChild.prevSibling;
+            large.nextSibling = smallFirstChild;
+            smallFirstChild.prevSibling.nextSibling = large;
+            smallFirstChild.prevSibling = large;
+        }
+        small.child = large;
+        large.parent = small;
+        large.markedForDeletion = false;
+        // small gained one child
+        small.rank++;
+
+        return small;
+    }
+
+    /**
+     * Decreases value of entry's key to newKey.
+     * <p>
+     * Runs in worst-case O(log n) time and amortized O(1) time.
+     *
+     * @param handle Entry for which to update the key.
+     * @param newKey New key for entry.
+     * @throws IllegalArgumentException If entry is not a current member of the Fibonacci heap or if
+     * newKey is greater than entry's current key.
+     */
+    public void decreaseKey(MergeableHeap.Entry<K, V> handle, K newKey) {
+        Node<K, V> node = nodeOf(handle);
+        long newSortKey = (keyExtractor != null) ? keyExtractor.applyAsLong(newKey) : 0;
+        int cmp = (keyExtractor != null) ? Long.compare(newSortKey, node.sortKey) : compare(newKey, node.entry.key);
+        if (cmp > 0) // newKey > key
+            throw new IllegalArgumentException("New entry keys must be lower than or equal to key");
+        lowerKey(node, newKey, newSortKey, cmp);
+    }
+
+    /**
+     * Increases value of entry's key to newKey.
+     * <p>
+     * entry's children are cut into the root list, since their keys may now be less than entry's,
+     * and entry is re-seated as a childless root, with a cascading cut above it, rather than being
+     * removed and inserted again. Only if entry held the least key is the root list consolidated.
+     * <p>
+     * Runs in worst-case O(n) time and amortized O(log n) time, or amortized O(log n) time without
+     * a consolidation when entry does not hold the least key.
+     *
+     * @param handle Entry for which to update the key.
+     * @param newKey New key for entry.
+     * @throws IllegalArgumentException If entry is not a current member of the Fibonacci heap or if
+     * newKey is less than entry's current key.
+     */
+    public void increaseKey(MergeableHeap.Entry<K, V> handle, K newKey) {
+        Node<K, V> node = nodeOf(handle);
+        long newSortKey = (keyExtractor != null) ? keyExtractor.applyAsLong(newKey) : 0;
+        int cmp = (keyExtractor != null) ? Long.compare(newSortKey, node.sortKey) : compare(newKey, node.entry.key);
+        if (cmp < 0) // newKey < key
+            throw new IllegalArgumentException("New entry keys must be greater than or equal to key");
+        raiseKey(node, newKey, newSortKey, cmp);
+    }
+
+    /**
+     * Changes value of entry's key to newKey, which may be less than, equal to or greater than the
+     * current key, as decreaseKey or increaseKey would.
+     * <p>
+     * Runs in amortized O(1) time for a key that is not greater, otherwise as increaseKey does.
+     *
+     * @param handle Entry for which to update the key.
+     * @param newKey New key for entry.
+     * @throws IllegalArgumentException If entry is not a current member of the Fibonacci heap.
+     */
+    public void updateKey(MergeableHeap.Entry<K, V> handle, K newKey) {
+        Node<K, V> node = nodeOf(handle);
+        long newSortKey = (keyExtractor != null) ? keyExtractor.applyAsLong(newKey) : 0;
+        int cmp = (keyExtractor != null) ? Long.compare(newSortKey, node.sortKey) : compare(newKey, node.entry.key);
+        if (cmp > 0) raiseKey(node, newKey, newSortKey, cmp);
+        else lowerKey(node, newKey, newSortKey, cmp);
+    }
+
+    /**
+     * Returns the node of handle, which must be an Entry still in this heap.
+     */
+    private Node<K, V> nodeOf(MergeableHeap.Entry<K, V> handle)
+    {
+        if (!(handle instanceof Entry<K, V> entry) || entry.node == null) // entry not in heap
+            throw new IllegalArgumentException("Entry not found");
+        return entry.node;
+    }
+
+    /**
+     * Sets node's key to newKey, which compares to the current key as cmp <= 0 does, cutting node
+     * from its parent if the heap property no longer holds.
+     */
+    private void lowerKey(Node<K, V> node, K newKey, long newSortKey, int cmp)
+    {
+        Node<K, V> parent = node.parent;
+        if (metrics != null) metrics.decreaseKeys.increment();
+
+        node.entry.key = newKey;
+        node.sortKey = newSortKey;
+        if (cmp == 0) // Nothing moves
+            return;
+
+        // Case: violates heap property, move node to root
+        if (parent != null && less(node, parent))
+        {
+            cut(node);
+            cascadingCut(parent);
+        }
+
+        // A waiting root that was not cut moves up in the binary heap
+        if (node.parent == null && node.slot >= 0) siftUpPending(node.slot);
+
+        // Only node's key changed, so it is the only new candidate for minRoot
+        if (node.parent == null && less(node, minRoot))
+            minRoot = node;
+    }
+
+    /**
+     * Sets node's key to newKey, which compares to the current key as cmp >= 0 does. node's children
+     * become roots, and node becomes a childless root, so no child can order before it.
+     */
+    private void raiseKey(Node<K, V> node, K newKey, long newSortKey, int cmp)
+    {
+        if (metrics != null) metrics.increaseKeys.increment();
+        if (cmp == 0) // Nothing moves
+        {
+            node.entry.key = newKey;
+            node.sortKey = newSortKey;
+            return;
+        }
+
+        // Cut the children under the old key, so the waiting roots' binary heap stays ordered
+        boolean hadChildren = node.child != null;
+        while (node.child != null) cut(node.child);
+
+        node.entry.key = newKey;
+        node.sortKey = newSortKey;
+
+        Node<K, V> parent = node.parent;
+        if (parent != null)
+        {
+            // A childless node still orders after its parent; one that lost children is cut like a
+            // node that lost a second child, to keep the degree bound
+            if (!hadChildren) return;
+            cut(node);
+            cascadingCut(parent);
+        }
+        else if (node.slot >= 0) siftDownPending(node.slot);
+
+        // Cut nodes are no less than minRoot, but minRoot itself may no longer be the least
+        if (node == minRoot)
+        {
+            int roots = rootCount;
+            if (linkBudget > 0) consolidateIncrementally();
+            else consolidate();
+            if (metrics != null) recordConsolidation(roots);
+        }
+    }
+
+    /**
+     * Detaches node from its parent and adds it to the root list unmarked.
+     * <p>
+     * Runs in worst-case O(1) time.
+     *
+     * @param node A non-root node.
+     */
+    private void cut(Node<K, V> node)
+    {
+        assert (node.parent != null);
+
+        Node<K, V> prevSibling = node.prevSibling,
+                nextSibling = node.nextSibling,
+                parent = node.parent;
+
+        // detach node from parent, moving parent's child pointer off node if needed
+        if (parent.child == node) parent.child = (nextSibling == node) ? null : nextSibling;
+        prevSibling.nextSibling = nextSibling;
+        nextSibling.prevSibling = prevSibling;
+
+        // attach node as new root
+        rootCount++;
+        node.prevSibling = sentinelRoot;
+        node.nextSibling = sentinelRoot.nextSibling;
+        sentinelRoot.nextSibling.prevSibling = node;
+        sentinelRoot.nextSibling = node;
+        node.parent = null;
+        node.markedForDeletion = false;
+
+        // parent lost one child; a consolidated root no longer fits its degree slot
+        boolean reindexParent = linkBudget > 0 && parent.parent == null && parent.slot < 0;
+        if (reindexParent) unindexRoot(parent);
+        parent.rank--;
+        if (reindexParent) pushPending(parent);
+        if (linkBudget > 0) pushPending(node);
+        if (metrics != null)
+        {
+            metrics.cuts.increment();
+            metrics.rootListLength = rootCount;
+        }
+    }
+
+    /**
+     * Walks up from node, cutting marked ancestors until reaching an unmarked node, which is then
+     * marked. Roots are never marked or cut.
+     * <p>
+     * Runs in worst-case O(log n) time and amortized O(1) time.
+     *
+     * @param node The parent of a node that was just cut.
+     */
+    private void cascadingCut(Node<K, V> node)
+    {
+        int depth = 0;
+        boolean marked = false;
+        while (node.parent != null)
+        {
+            if (!node.markedForDeletion)
+            {
+                node.markedForDeletion = true;
+                marked = true;
+                break;
+            }
+            Node<K, V> parent = node.parent;
+            cut(node);
+            depth++;
+            node = parent;
+        }
+        if (metrics != null) metrics.cascaded(depth, marked);
+    }
+
+    /**
+     * Removes entry from the Fibonacci heap.
+     * <p>
+     * Runs in worst-case O(n) time and amortized O(log n) time.
+     *
+     * @param handle Entry to remove from heap.
+     * @throws IllegalArgumentException If entry is not a current member of the Fibonacci heap.
+     */
+    public void delete(MergeableHeap.Entry<K, V> handle) {
+        if (!(handle instanceof Entry<K, V> entry) || entry.node == null)
+            throw new IllegalArgumentException("Entry not found");
+        Node<K, V> node = entry.node;
+
+        Node<K, V> parent = node.parent;
+        if (parent != null)
+        {
+            cut(node);
+            cascadingCut(parent);
+        }
+        minRoot = node;
+        removeMin();
+        if (metrics != null)
+        {
+            metrics.deletes.increment();
+            metrics.rootListLength = rootCount;
+        }
+    }
+
+    /**
+     * Merges other Fibonacci heap with current one, emptying the other heap in the process.
+     * <p>
+     * Runs in worst-case O(1) time and amortized O(1) time, plus O(r) time for the r roots of the
+     * other heap if either heap is in incremental mode.
+     *
+     * @param other The other Fibonacci heap from which to merge entries.
+     * @throws IllegalArgumentException If other is null, is this heap, is not a FibonacciHeap, or
+     * was not built with the same Comparator or key extractor instance, if any.
+     */
+    public void merge(MergeableHeap<K, V> otherHeap) {
+        if (otherHeap == null) throw new IllegalArgumentException("other is null");
+        if (otherHeap == this) throw new IllegalArgumentException("other is this heap");
+        if (!(otherHeap instanceof FibonacciHeap<K, V> other))
+            throw new IllegalArgumentException("other is not a FibonacciHeap");
+        if (other.comparator != comparator || other.keyExtractor != keyExtractor)
+            throw new IllegalArgumentException("other orders keys differently");
+        if (other.size == 0) return;
+
+        if (other.linkBudget > 0) other.clearIndex();
+        if (linkBudget > 0)
+        {
+            Node<K, V> otherSentinel = other.sentinelRoot;
+            for (Node<K, V> root = otherSentinel.nextSibling; root != otherSentinel; root = root.nextSibling)
+                pushPending(root);
+        }
+
+        Node<K, V> otherFirst = other.sentinelRoot.nextSibling,
+                otherLast = other.sentinelRoot.prevSibling;
+
+        otherLast.nextSibling = this.sentinelRoot;
+        otherFirst.prevSibling = this.sentinelRoot.prevSibling;
+        this.sentinelRoot.prevSibling.nextSibling = otherFirst;
+        this.sentinelRoot.prevSibling = otherLast;
+
+        size += other.size;
+        rootCount += other.rootCount;
+        if (this.minRoot == this.sentinelRoot
+                || less(other.minRoot, this.minRoot))
+            this.minRoot = other.minRoot;
+
+        // Empty other's heap
+        other.sentinelRoot.nextSibling = other.sentinelRoot;
+        other.sentinelRoot.prevSibling = other.sentinelRoot;
+        other.size = 0;
+        other.rootCount = 0;
+        other.minRoot = other.sentinelRoot;
+        if (metrics != null)
+        {
+            metrics.merges.increment();
+            metrics.rootListLength = rootCount;
+        }
+        if (other.metrics != null) other.metrics.rootListLength = 0;
+    }
+
+    //
+    // ENTRIES AND NODES
+    //
+
+    /**
+     * Entry: containing key, value, and Node.
+     * @param <K>
+     * @param <V>
+     */
+    public static class Entry<K, V> implements MergeableHeap.Entry<K, V> {
+        /**
+         * Instantiates a new entry.
+         * Marked private so only the heap itself can create new entry instances.
+         *
+         * @param key The entry's key.
+         * @param value The entry's value.
+         */
+        private Entry(K key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+
+        /**
+         * Returns whether the entry still exists in the heap.
+         *
+         * @return true if entry has not been deleted from the heap.
+         */
+        public boolean inHeap() {
+            return node != null;
+        }
+
+        /**
+         * Returns key for this entry.
+         *
+         * @return Key for this entry.
+         */
+        public K getKey() {
+            return key;
+        }
+
+        /**
+         * Returns value of this entry.
+         *
+         * @return Value of this entry.
+         */
+        public V getValue() {
+            return value;
+        }
+
+        public void printEntry()
+        {
+            StringBuilder builder = new StringBuilder();
+            builder.append("(");
+            builder.append(getKey());
+            builder.append(", ");
+            builder.append(getValue());
+            builder.append(") ");
+            System.out.print(builder.toString());
+            System.out.printf("(%s)\n", node.markedForDeletion ? "marked" : "not marked");
+        }
+
+        private K key;
+        private V value;
+        private Node<K, V> node; // Node containing this Entry. Becomes null upon removal from heap.
+    }
+
+    /**
+     * A Fibonacci tree node.
+     *
+     * @param <K> The entry's key type.
+     * @param <V> The entry's value type.
+     */
+    private static class Node<K, V> {
+        public Entry<K, V> entry;
+
+        // Each set of children is stored in a circular doubly linked list, and the parent points at
+        // one of them (the "first" child), or null if it has none.
+        // Roots are linked the same way, except that their list also holds the heap's sentinel
+        // root, which is distinguished by a null entry.
+        public Node<K, V> nextSibling;
+        public Node<K, V> prevSibling;
+        public Node<K, V> child;
+        public Node<K, V> parent;
+        public boolean markedForDeletion;
+        public byte rank; // Number of children (degree); below 64 for any int size.
+        public int slot;  // Index in the pending binary heap in incremental mode, or -1.
+        public long sortKey; // The heap's keyExtractor applied to entry.key, if it has one.
+
+        /**
+         * Instantiate a new node.
+         *
+         * @param entry The entry to store in the node.
+         */
+        Node(Entry<K, V> entry) {
+            rank = 0;   // No child
+            slot = -1;
+            this.entry = entry;
+            this.markedForDeletion = false;
+            if (entry != null) entry.node = this;
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package heap;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A thread-safe priority queue that applies operations to one Fibonacci heap by flat combining.
+ * <p>
+ * Each thread publishes its operation in its own publication record and then tries to take the
+ * heap lock. The thread that gets the lock becomes the combiner: it applies the pending operations
+ * of every thread and hands back their results, while the others spin on their records until
+ * served or until the lock frees up. The heap stays in one thread's cache, and a batch of d
+ * deleteMin requests is answered with one FibonacciHeap.drainTo, so one consolidation per batch.
+ * <p>
+ * Every thread that uses the queue keeps a publication record for the queue's lifetime, so the
+ * queue suits a fixed set of worker threads. size() is exact only when the queue is quiescent.
+ *
+ * @param <K> The entries' key type.
+ * @param <V> The entries' value type.
+ */
+public final class FlatCombiningFibonacciHeap <K extends Comparable<? super K>, V> {
+
+    //
+    // PROPERTIES
+    //
+
+    private final FibonacciHeap<K, V> heap;
+    private final ReentrantLock lock;
+    private final AtomicReference<Record<K, V>> records; // Head of the publication list.
+    private final ThreadLocal<Record<K, V>> localRecord;
+    private final LongAdder size;
+
+    // Combiner scratch space, only touched while holding lock
+    private Record<K, V>[] deleters;
+    private FibonacciHeap.Entry<K, V>[] drained;
+
+    private static final int NONE = 0, INSERT = 1, DELETE_MIN = 2;
+    private static final int SPIN_LIMIT = 64; // Busy-wait rounds before yielding.
+
+    //
+    // METHODS
+    //
+
+    /**
+     * Instantiate an empty queue.
+     */
+    public FlatCombiningFibonacciHeap() {
+        heap = new FibonacciHeap<>();
+        lock = new ReentrantLock();
+        records = new AtomicReference<>();
+        localRecord = ThreadLocal.withInitial(this::publish);
+        size = new LongAdder();
+        @SuppressWarnings("unchecked")
+        Record<K, V>[] recordTable = (Record<K, V>[]) new Record[16];
+        deleters = recordTable;
+        @SuppressWarnings("unchecked")
+        FibonacciHeap.Entry<K, V>[] entryTable = (FibonacciHeap.Entry<K, V>[]) new FibonacciHeap.Entry[16];
+        drained = entryTable;
+    }
+
+    /**
+     * Inserts a new key-value pair into the queue.
+     * <p>
+     * Runs in O(t) time for t threads using the queue, plus the wait for a combiner.
+     *
+     * @param key Key for the value being inserted.
+     * @param value The value being inserted.
+     * @return The new entry.
+     */
+    public FibonacciHeap.Entry<K, V> insert(K key, V value) {
+        Record<K, V> record = localRecord.get();
+        record.key = key;
+        record.value = value;
+        await(record, INSERT);
+        size.increment();
+        return takeResult(record);
+    }
+
+    /**
+     * Returns and removes the Entry with the least key.
+     * <p>
+     * Runs in amortized O(t + log n) time for t threads using the queue, plus the wait for a
+     * combiner.
+     *
+     * @return An Entry storing the least key or null if the queue is empty.
+     */
+    public FibonacciHeap.Entry<K, V> deleteMin() {
+        Record<K, V> record = localRecord.get();
+        await(record, DELETE_MIN);
+        FibonacciHeap.Entry<K, V> result = takeResult(record);
+        if (result != null) size.decrement();
+        return result;
+    }
+
+    /**
+     * Returns the number of entries. Exact only when no other thread is modifying the queue.
+     *
+     * @return The number of entries.
+     */
+    public int size() {
+        return (int) Math.max(0, size.sum());
+    }
+
+    /**
+     * Returns whether the queue has no entries. Exact only when no other thread is modifying the
+     * queue.
+     *
+     * @return true if the queue is empty.
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Publishes operation in record and waits until some combiner, possibly this thread, has
+     * applied it.
+     */
+    private void await(Record<K, V> record, int operation)
+    {
+        record.operation = operation;
+        int spins = 0;
+        while (record.operation != NONE)
+        {
+            if (!lock.isLocked() && lock.tryLock())
+            {
+                try
+                {
+                    combine();
+                }
+                finally
+                {
+                    lock.unlock();
+                }
+            }
+            // Back off to the scheduler so an oversubscribed combiner can make progress
+            else if (++spins < SPIN_LIMIT) Thread.onSpinWait();
+            else Thread.yield();
+        }
+    }
+
+    private FibonacciHeap.Entry<K, V> takeResult(Record<K, V> record)
+    {
+        FibonacciHeap.Entry<K, V> result = record.result;
+        record.key = null;
+        record.value = null;
+        record.result = null;
+        return result;
+    }
+
+    /**
+     * Applies every published operation. Inserts are applied first, then all deleteMin requests
+     * are answered by one drainTo. Must hold lock.
+     */
+    private void combine()
+    {
+        int deleteCount = 0;
+        for (Record<K, V> record = records.get(); record != null; record = record.next)
+        {
+            int operation = record.operation;
+            if (operation == INSERT)
+            {
+                record.result = heap.insert(record.key, record.value);
+                record.operation = NONE;
+            }
+            else if (operation == DELETE_MIN)
+            {
+                if (deleteCount == deleters.length)
+                    deleters = Arrays.copyOf(deleters, 2 * deleters.length);
+                deleters[deleteCount++] = record;
+            }
+        }
+        if (deleteCount == 0) return;
+
+        if (drained.length < deleteCount)
+            drained = Arrays.copyOf(drained, Math.max(deleteCount, 2 * drained.length));
+        int removed = heap.drainTo(drained, deleteCount);
+        for (int i = 0; i < deleteCount; i++)
+        {
+            Record<K, V> record = deleters[i];
+            record.result = (i < removed) ? drained[i] : null;
+            record.operation = NONE;
+            deleters[i] = null;
+        }
+        Arrays.fill(drained, 0, removed, null);
+    }
+
+    /**
+     * Creates the calling thread's record and pushes it onto the publication list.
+     */
+    private Record<K, V> publish()
+    {
+        Record<K, V> record = new Record<>();
+        Record<K, V> head;
+        do
+        {
+            head = records.get();
+            record.next = head;
+        }
+        while (!records.compareAndSet(head, record));
+        return record;
+    }
+
+    /**
+     * A thread's publication record.
+     * The owner writes key and value and then the volatile operation; the combiner reads them after
+     * the volatile read of operation and writes result before resetting operation to NONE, so each
+     * side sees the other's plain fields.
+     *
+     * @param <K> The entries' key type.
+     * @param <V> The entries' value type.
+     */
+    private static final class Record<K, V> {
+        volatile int operation;
+        K key;
+        V value;
+        FibonacciHeap.Entry<K, V> result;
+        Record<K, V> next;
+    }
+}
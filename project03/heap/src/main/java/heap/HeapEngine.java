@@ -0,0 +1,55 @@
+package heap;
+
+/**
+ * The MergeableHeap implementations, for choosing one by name, e.g. from configuration:
+ * {@code HeapEngine.valueOf(name).newHeap()}.
+ */
+public enum HeapEngine {
+    FIBONACCI {
+        @Override
+        public <K extends Comparable<? super K>, V> MergeableHeap<K, V> newHeap() {
+            return new FibonacciHeap<>();
+        }
+    },
+    BINOMIAL {
+        @Override
+        public <K extends Comparable<? super K>, V> MergeableHeap<K, V> newHeap() {
+            return new BinomialHeap<>();
+        }
+    },
+    /** A BinomialHeap that defers combining trees to deleteMin. */
+    LAZY_BINOMIAL {
+        @Override
+        public <K extends Comparable<? super K>, V> MergeableHeap<K, V> newHeap() {
+            return new BinomialHeap<>(true);
+        }
+    },
+    PAIRING {
+        @Override
+        public <K extends Comparable<? super K>, V> MergeableHeap<K, V> newHeap() {
+            return new PairingHeap<>();
+        }
+    },
+    RANK_PAIRING {
+        @Override
+        public <K extends Comparable<? super K>, V> MergeableHeap<K, V> newHeap() {
+            return new RankPairingHeap<>();
+        }
+    },
+    /** A 4-ary DaryHeap. */
+    DARY {
+        @Override
+        public <K extends Comparable<? super K>, V> MergeableHeap<K, V> newHeap() {
+            return new DaryHeap<>();
+        }
+    };
+
+    /**
+     * Instantiate an empty heap of this implementation.
+     *
+     * @param <K> The entries' key type.
+     * @param <V> The entries' value type.
+     * @return A new, empty heap.
+     */
+    public abstract <K extends Comparable<? super K>, V> MergeableHeap<K, V> newHeap();
+}
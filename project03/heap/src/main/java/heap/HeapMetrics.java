@@ -0,0 +1,216 @@
+package heap;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Operation counters and shape gauges for a FibonacciHeap or BinomialHeap, attached with the heap's
+ * setMetrics. A heap without metrics only pays a null check per operation.
+ * <p>
+ * Counters are LongAdders, so one HeapMetrics may be shared by several heaps on different threads,
+ * and then sums their operations. The two gauges, root-list length and max degree, are overwritten
+ * by each heap's operations, so with sharing they show whichever heap wrote last. Everything can be read from any thread, through
+ * snapshot() or as a JMX MXBean after register(); values read while the heap is busy may be a few
+ * operations apart from one another.
+ */
+public final class HeapMetrics implements HeapMetricsMXBean {
+
+    //
+    // PROPERTIES
+    //
+
+    final LongAdder inserts = new LongAdder();
+    final LongAdder deleteMins = new LongAdder();
+    final LongAdder decreaseKeys = new LongAdder();
+    final LongAdder increaseKeys = new LongAdder();
+    final LongAdder deletes = new LongAdder();
+    final LongAdder merges = new LongAdder();
+    final LongAdder consolidations = new LongAdder();
+    final LongAdder links = new LongAdder();
+    final LongAccumulator maxLinks = new LongAccumulator(Math::max, 0);
+    final LongAdder cuts = new LongAdder();
+    final LongAdder cascadingCuts = new LongAdder();
+    final LongAccumulator maxCascadeDepth = new LongAccumulator(Math::max, 0);
+    final LongAdder marks = new LongAdder();
+    volatile int rootListLength;
+    volatile int maxDegree;
+
+    //
+    // METHODS
+    //
+
+    /**
+     * Records a consolidation that performed linkCount links and left degree as the greatest
+     * degree among the trees it linked into place.
+     */
+    void consolidated(int linkCount, int degree)
+    {
+        consolidations.increment();
+        links.add(linkCount);
+        maxLinks.accumulate(linkCount);
+        maxDegree = degree;
+    }
+
+    /**
+     * Records a cascading cut that cut depth marked ancestors and, if marked is true, then marked
+     * an unmarked one.
+     */
+    void cascaded(int depth, boolean marked)
+    {
+        if (depth > 0)
+        {
+            cascadingCuts.add(depth);
+            maxCascadeDepth.accumulate(depth);
+        }
+        if (marked) marks.increment();
+    }
+
+    /**
+     * Returns the current values of all counters and gauges.
+     * <p>
+     * Runs in O(t) time for t threads that have updated the counters concurrently.
+     *
+     * @return A new snapshot.
+     */
+    public Snapshot snapshot() {
+        return new Snapshot(inserts.sum(), deleteMins.sum(), decreaseKeys.sum(), increaseKeys.sum(),
+                deletes.sum(), merges.sum(), consolidations.sum(), links.sum(), maxLinks.get(), cuts.sum(),
+                cascadingCuts.sum(), maxCascadeDepth.get(), marks.sum(), rootListLength, maxDegree);
+    }
+
+    /**
+     * Registers these metrics with the platform MBean server as
+     * {@code heap:type=HeapMetrics,name=<name>}, where they show up in JConsole and other JMX
+     * clients.
+     *
+     * @param name Name that tells this heap apart from others, quoted as needed.
+     * @return The name the metrics were registered under, for unregistering them later.
+     * @throws JMException If the name is taken or registration fails.
+     */
+    public ObjectName register(String name) throws JMException {
+        ObjectName objectName = new ObjectName("heap:type=HeapMetrics,name=" + ObjectName.quote(name));
+        ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+        return objectName;
+    }
+
+    public long getInserts() {
+        return inserts.sum();
+    }
+
+    public long getDeleteMins() {
+        return deleteMins.sum();
+    }
+
+    public long getDecreaseKeys() {
+        return decreaseKeys.sum();
+    }
+
+    public long getIncreaseKeys() {
+        return increaseKeys.sum();
+    }
+
+    public long getDeletes() {
+        return deletes.sum();
+    }
+
+    public long getMerges() {
+        return merges.sum();
+    }
+
+    public long getConsolidations() {
+        return consolidations.sum();
+    }
+
+    public long getLinks() {
+        return links.sum();
+    }
+
+    public long getMaxLinksPerConsolidation() {
+        return maxLinks.get();
+    }
+
+    public long getCuts() {
+        return cuts.sum();
+    }
+
+    public long getCascadingCuts() {
+        return cascadingCuts.sum();
+    }
+
+    public long getMaxCascadeDepth() {
+        return maxCascadeDepth.get();
+    }
+
+    public long getMarks() {
+        return marks.sum();
+    }
+
+    public int getRootListLength() {
+        return rootListLength;
+    }
+
+    public int getMaxDegree() {
+        return maxDegree;
+    }
+
+    /**
+     * Sets every counter back to zero. The gauges keep their values.
+     * <p>
+     * Not atomic: operations that run during the reset may be partly lost.
+     */
+    public void reset() {
+        inserts.reset();
+        deleteMins.reset();
+        decreaseKeys.reset();
+        increaseKeys.reset();
+        deletes.reset();
+        merges.reset();
+        consolidations.reset();
+        links.reset();
+        maxLinks.reset();
+        cuts.reset();
+        cascadingCuts.reset();
+        maxCascadeDepth.reset();
+        marks.reset();
+    }
+
+    /**
+     * The values of a HeapMetrics at one point in time.
+     *
+     * @param inserts Entries inserted, by insert or insertAll.
+     * @param deleteMins Entries removed by deleteMin or drainTo.
+     * @param decreaseKeys Calls to decreaseKey, and to updateKey with a key that is not greater.
+     * @param increaseKeys Calls to increaseKey, and to updateKey with a greater key.
+     * @param deletes Entries removed by delete.
+     * @param merges Non-empty heaps merged in.
+     * @param consolidations Consolidations of the root list: after each deleteMin or delete that
+     * leaves entries behind, after each increaseKey of the minimum, and in an eager BinomialHeap
+     * also after each insert and merge.
+     * @param links Trees linked under another by those consolidations.
+     * @param maxLinksPerConsolidation Most links in a single consolidation.
+     * @param cuts Nodes cut from their parent, including by cascading cuts. FibonacciHeap only.
+     * @param cascadingCuts Marked ancestors cut by cascading cuts. FibonacciHeap only.
+     * @param maxCascadeDepth Most ancestors cut by a single cascading cut. FibonacciHeap only.
+     * @param marks Nodes marked for having lost a child. FibonacciHeap only.
+     * @param rootListLength Trees in the root list after the latest operation.
+     * @param maxDegree Greatest degree, or order, among the trees the latest consolidation linked
+     * into place.
+     */
+    public record Snapshot(long inserts, long deleteMins, long decreaseKeys, long increaseKeys, long deletes,
+                           long merges, long consolidations, long links, long maxLinksPerConsolidation,
+                           long cuts, long cascadingCuts, long maxCascadeDepth, long marks,
+                           int rootListLength, int maxDegree) {
+
+        /**
+         * Returns the mean number of links per consolidation, or 0 before the first one.
+         *
+         * @return links / consolidations.
+         */
+        public double linksPerConsolidation() {
+            return (consolidations == 0) ? 0 : (double) links / consolidations;
+        }
+    }
+}
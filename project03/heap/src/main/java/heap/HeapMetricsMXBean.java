@@ -0,0 +1,43 @@
+package heap;
+
+/**
+ * The JMX view of a HeapMetrics, registered through HeapMetrics.register. Every attribute is
+ * read-only; see HeapMetrics.Snapshot for what each one counts.
+ */
+public interface HeapMetricsMXBean {
+
+    long getInserts();
+
+    long getDeleteMins();
+
+    long getDecreaseKeys();
+
+    long getIncreaseKeys();
+
+    long getDeletes();
+
+    long getMerges();
+
+    long getConsolidations();
+
+    long getLinks();
+
+    long getMaxLinksPerConsolidation();
+
+    long getCuts();
+
+    long getCascadingCuts();
+
+    long getMaxCascadeDepth();
+
+    long getMarks();
+
+    int getRootListLength();
+
+    int getMaxDegree();
+
+    /**
+     * Sets every counter back to zero. The gauges keep their values.
+     */
+    void reset();
+}
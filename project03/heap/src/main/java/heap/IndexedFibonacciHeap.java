@@ -0,0 +1,672 @@
+package heap;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.NoSuchElementException;
+import java.util.function.ToLongFunction;
+
+/**
+ * A Fibonacci heap whose entries are named by caller-chosen ids instead of Entry handles, for
+ * callers that would otherwise keep a map from their ids to the handles insert returns.
+ * decreaseKey, delete, contains and keyOf all take the id.
+ * <p>
+ * Node state lives in parallel arrays, as in LongFibonacciHeap. With dense ids, constructed with an
+ * idCount, the id is the array slot itself and no lookup is needed. Otherwise ids may be any long,
+ * and a primitive open-addressing table maps each id in the heap to its slot; that table costs 12
+ * bytes per slot and is at most half full. Either way an entry costs no objects beyond its key.
+ * <p>
+ * The heap holds no values: the id is the entry, and callers look up whatever they keep for it.
+ * Keys are ordered as in FibonacciHeap: naturally, by a Comparator, or by a cached long sort key
+ * from a key extractor. There is no merge, since the two heaps' ids could collide.
+ *
+ * @param <K> The entries' key type.
+ */
+public final class IndexedFibonacciHeap <K> {
+
+    //
+    // PROPERTIES
+    //
+
+    // Sibling lists (including the root list) are circular doubly linked lists through left/right.
+    // A free slot has degree -1; with sparse ids it is chained to the next free slot through right.
+    private Object[] keys;
+    private long[] sortKeys; // keyExtractor's value for each key; null without a keyExtractor.
+    private long[] ids;      // Id of each slot; null with dense ids, where the slot is the id.
+    private int[] parent;
+    private int[] child;
+    private int[] left;
+    private int[] right;
+    private int[] degree;
+    private boolean[] marked;
+
+    private int minRoot;
+    private int size;
+    private int used;     // Sparse ids: slots [0, used) have been handed out at least once.
+    private int freeList; // Sparse ids: most recently freed slot, or NIL.
+    private int[] degreeTable; // Scratch space for consolidate(), always left filled with NIL.
+
+    private final boolean dense;
+    private final Comparator<? super K> comparator; // null: natural ordering, or keyExtractor.
+    private final ToLongFunction<? super K> keyExtractor;
+
+    // Sparse ids: linear-probing table from id to slot, NIL marking an empty bucket.
+    private long[] tableIds;
+    private int[] tableSlots;
+    private int tableShift; // 64 minus log2 of the table's length.
+
+    private static final int NIL = -1;
+    private static final double LOG_PHI = Math.log((1 + Math.sqrt(5)) / 2);
+    private static final long GOLDEN = 0x9E3779B97F4A7C15L;
+
+    //
+    // METHODS
+    //
+
+    /**
+     * Instantiate an empty heap for any long ids, ordering keys by their natural ordering.
+     */
+    public IndexedFibonacciHeap() {
+        this(-1, null, null);
+    }
+
+    /**
+     * Instantiate an empty heap for any long ids, ordering keys by comparator.
+     *
+     * @param comparator Ordering of the keys.
+     * @throws IllegalArgumentException If comparator is null.
+     */
+    public IndexedFibonacciHeap(Comparator<? super K> comparator) {
+        this(-1, comparator, null);
+        if (comparator == null) throw new IllegalArgumentException("comparator is null");
+    }
+
+    /**
+     * Instantiate an empty heap for any long ids, ordering keys by the long keyExtractor maps them
+     * to. Keys with equal sort keys come out in no particular order.
+     *
+     * @param keyExtractor Sort key of each key, called once per insert or decreaseKey.
+     * @throws IllegalArgumentException If keyExtractor is null.
+     */
+    public IndexedFibonacciHeap(ToLongFunction<? super K> keyExtractor) {
+        this(-1, null, keyExtractor);
+        if (keyExtractor == null) throw new IllegalArgumentException("keyExtractor is null");
+    }
+
+    /**
+     * Instantiate an empty heap for the ids 0 to idCount - 1, ordering keys by their natural
+     * ordering. Its arrays are allocated for every id up front.
+     *
+     * @param idCount Number of ids.
+     * @throws IllegalArgumentException If idCount is negative.
+     */
+    public IndexedFibonacciHeap(int idCount) {
+        this(idCount, null, null);
+        if (idCount < 0) throw new IllegalArgumentException("idCount is negative");
+    }
+
+    /**
+     * Instantiate an empty heap for the ids 0 to idCount - 1, ordering keys by comparator.
+     *
+     * @param idCount Number of ids.
+     * @param comparator Ordering of the keys.
+     * @throws IllegalArgumentException If idCount is negative or comparator is null.
+     */
+    public IndexedFibonacciHeap(int idCount, Comparator<? super K> comparator) {
+        this(idCount, comparator, null);
+        if (idCount < 0) throw new IllegalArgumentException("idCount is negative");
+        if (comparator == null) throw new IllegalArgumentException("comparator is null");
+    }
+
+    /**
+     * Instantiate an empty heap for the ids 0 to idCount - 1, ordering keys by the long
+     * keyExtractor maps them to.
+     *
+     * @param idCount Number of ids.
+     * @param keyExtractor Sort key of each key, called once per insert or decreaseKey.
+     * @throws IllegalArgumentException If idCount is negative or keyExtractor is null.
+     */
+    public IndexedFibonacciHeap(int idCount, ToLongFunction<? super K> keyExtractor) {
+        this(idCount, null, keyExtractor);
+        if (idCount < 0) throw new IllegalArgumentException("idCount is negative");
+        if (keyExtractor == null) throw new IllegalArgumentException("keyExtractor is null");
+    }
+
+    /**
+     * @param idCount Number of dense ids, or -1 for sparse ids.
+     */
+    private IndexedFibonacciHeap(int idCount, Comparator<? super K> comparator, ToLongFunction<? super K> keyExtractor)
+    {
+        this.dense = idCount >= 0;
+        this.comparator = comparator;
+        this.keyExtractor = keyExtractor;
+        minRoot = NIL;
+        freeList = NIL;
+        degreeTable = new int[0];
+        if (dense)
+        {
+            allocate(idCount);
+            Arrays.fill(degree, -1);
+        }
+        else
+        {
+            allocate(16);
+            tableIds = new long[32];
+            tableSlots = new int[32];
+            Arrays.fill(tableSlots, NIL);
+            tableShift = 64 - 5;
+        }
+    }
+
+    /**
+     * Returns the number of entries in the heap.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns whether the heap holds no entries.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Inserts an entry named id with the given key.
+     * <p>
+     * Runs in amortized O(1) time, and in worst-case O(1) time with dense ids.
+     *
+     * @param id Id of the new entry.
+     * @param key Key of the new entry.
+     * @throws IllegalArgumentException If id is already in the heap, or outside [0, idCount) with
+     * dense ids.
+     */
+    public void insert(long id, K key) {
+        if (slotOf(id) != NIL) throw new IllegalArgumentException("id is already in the heap");
+        int node = newNode(id);
+        keys[node] = key;
+        if (sortKeys != null) sortKeys[node] = keyExtractor.applyAsLong(key);
+        size++;
+
+        addRoot(node);
+        if (minRoot == NIL || less(node, minRoot)) minRoot = node;
+    }
+
+    /**
+     * Returns whether an entry named id is in the heap.
+     * <p>
+     * Runs in expected O(1) time, and in worst-case O(1) time with dense ids.
+     */
+    public boolean contains(long id) {
+        return slotOf(id) != NIL;
+    }
+
+    /**
+     * Returns the key of the entry named id, or null if there is none.
+     * <p>
+     * Runs in expected O(1) time, and in worst-case O(1) time with dense ids.
+     */
+    @SuppressWarnings("unchecked")
+    public K keyOf(long id) {
+        int node = slotOf(id);
+        return (node == NIL) ? null : (K) keys[node];
+    }
+
+    /**
+     * Returns the id of an entry with the least key.
+     * <p>
+     * Runs in worst-case O(1) time.
+     *
+     * @throws NoSuchElementException If the heap is empty.
+     */
+    public long findMin() {
+        if (size == 0) throw new NoSuchElementException("Heap is empty");
+        return idOf(minRoot);
+    }
+
+    /**
+     * Returns the least key in the heap.
+     * <p>
+     * Runs in worst-case O(1) time.
+     *
+     * @throws NoSuchElementException If the heap is empty.
+     */
+    @SuppressWarnings("unchecked")
+    public K minKey() {
+        if (size == 0) throw new NoSuchElementException("Heap is empty");
+        return (K) keys[minRoot];
+    }
+
+    /**
+     * Removes an entry with the least key from the heap and returns its id.
+     * <p>
+     * Runs in worst-case O(n) time and amortized O(log n) time.
+     *
+     * @return The id of the removed entry.
+     * @throws NoSuchElementException If the heap is empty.
+     */
+    public long deleteMin() {
+        if (size == 0) throw new NoSuchElementException("Heap is empty");
+
+        int node = minRoot;
+        size--;
+
+        // put node's children onto root
+        int firstChild = child[node];
+        if (firstChild != NIL)
+        {
+            int curr = firstChild;
+            do {
+                parent[curr] = NIL;
+                curr = right[curr];
+            } while (curr != firstChild);
+            splice(node, firstChild);
+        }
+
+        // delete node from root
+        if (right[node] == node) minRoot = NIL;
+        else
+        {
+            int next = right[node];
+            right[left[node]] = next;
+            left[next] = left[node];
+            consolidate(next);
+        }
+
+        long id = idOf(node);
+        freeNode(node);
+        return id;
+    }
+
+    /**
+     * Decreases the key of the entry named id to newKey.
+     * <p>
+     * Runs in worst-case O(log n) time and amortized O(1) time, plus the id lookup.
+     *
+     * @param id Id of the entry for which to update the key.
+     * @param newKey New key for the entry.
+     * @throws IllegalArgumentException If id is not in the heap or if newKey is greater than the
+     * entry's current key.
+     */
+    @SuppressWarnings("unchecked")
+    public void decreaseKey(long id, K newKey) {
+        int node = slotOf(id);
+        if (node == NIL) throw new IllegalArgumentException("id not found");
+        long newSortKey = (sortKeys != null) ? keyExtractor.applyAsLong(newKey) : 0;
+        int cmp = (sortKeys != null) ? Long.compare(newSortKey, sortKeys[node]) : compare(newKey, (K) keys[node]);
+        if (cmp > 0) throw new IllegalArgumentException("New entry keys must be lower than or equal to key");
+
+        keys[node] = newKey;
+        if (sortKeys != null) sortKeys[node] = newSortKey;
+        if (cmp == 0) return;
+
+        int p = parent[node];
+        if (p != NIL && less(node, p))
+        {
+            cut(node);
+            cascadingCut(p);
+        }
+        if (less(node, minRoot)) minRoot = node;
+    }
+
+    /**
+     * Removes the entry named id from the heap.
+     * <p>
+     * Runs in worst-case O(n) time and amortized O(log n) time.
+     *
+     * @param id Id of the entry to remove.
+     * @throws IllegalArgumentException If id is not in the heap.
+     */
+    public void delete(long id) {
+        int node = slotOf(id);
+        if (node == NIL) throw new IllegalArgumentException("id not found");
+
+        int p = parent[node];
+        if (p != NIL)
+        {
+            cut(node);
+            cascadingCut(p);
+        }
+        minRoot = node;
+        deleteMin();
+    }
+
+    /**
+     * Returns whether the key in slot a orders strictly before the key in slot b.
+     */
+    private boolean less(int a, int b)
+    {
+        if (sortKeys != null) return sortKeys[a] < sortKeys[b];
+        @SuppressWarnings("unchecked")
+        K first = (K) keys[a], second = (K) keys[b];
+        return compare(first, second) < 0;
+    }
+
+    /**
+     * Compares two keys in the heap's ordering; not used with a keyExtractor.
+     */
+    @SuppressWarnings("unchecked")
+    private int compare(K first, K second)
+    {
+        if (comparator != null) return comparator.compare(first, second);
+        return ((Comparable<? super K>) first).compareTo(second);
+    }
+
+    /**
+     * Links roots of equal degree until every root has a distinct degree, then sets minRoot.
+     *
+     * @param start Any root of the root list.
+     */
+    private void consolidate(int start)
+    {
+        int maxDegree = (int) (Math.log(size) / LOG_PHI) + 1;
+        if (degreeTable.length <= maxDegree)
+        {
+            degreeTable = new int[maxDegree + 1];
+            Arrays.fill(degreeTable, NIL);
+        }
+
+        int roots = 0;
+        int curr = start;
+        do {
+            roots++;
+            curr = right[curr];
+        } while (curr != start);
+
+        int highestDegree = 0;
+        curr = start;
+        while (roots-- > 0)
+        {
+            // link may detach curr, so remember where to continue
+            int next = right[curr];
+            int d = degree[curr];
+            while (degreeTable[d] != NIL)
+            {
+                int other = degreeTable[d];
+                degreeTable[d] = NIL;
+                if (less(other, curr))
+                {
+                    int temp = curr;
+                    curr = other;
+                    other = temp;
+                }
+                link(other, curr);
+                d++;
+            }
+            degreeTable[d] = curr;
+            if (d > highestDegree) highestDegree = d;
+            curr = next;
+        }
+
+        // Set new minRoot, leaving the table empty for the next call
+        minRoot = NIL;
+        for (int d = 0; d <= highestDegree; d++)
+        {
+            int root = degreeTable[d];
+            if (root == NIL) continue;
+            degreeTable[d] = NIL;
+            if (minRoot == NIL || less(root, minRoot)) minRoot = root;
+        }
+    }
+
+    /**
+     * Removes root from the root list and makes it a child of newParent.
+     */
+    private void link(int root, int newParent)
+    {
+        right[left[root]] = right[root];
+        left[right[root]] = left[root];
+
+        int firstChild = child[newParent];
+        if (firstChild == NIL)
+        {
+            child[newParent] = root;
+            left[root] = root;
+            right[root] = root;
+        }
+        else
+        {
+            left[root] = firstChild;
+            right[root] = right[firstChild];
+            left[right[firstChild]] = root;
+            right[firstChild] = root;
+        }
+        parent[root] = newParent;
+        marked[root] = false;
+        degree[newParent]++;
+    }
+
+    /**
+     * Detaches node from its parent and adds it to the root list unmarked.
+     */
+    private void cut(int node)
+    {
+        int p = parent[node];
+        if (right[node] == node) child[p] = NIL;
+        else
+        {
+            right[left[node]] = right[node];
+            left[right[node]] = left[node];
+            if (child[p] == node) child[p] = right[node];
+        }
+        degree[p]--;
+
+        parent[node] = NIL;
+        marked[node] = false;
+        addRoot(node);
+    }
+
+    /**
+     * Walks up from node, cutting marked ancestors until reaching an unmarked node, which is then
+     * marked. Roots are never marked or cut.
+     */
+    private void cascadingCut(int node)
+    {
+        while (parent[node] != NIL)
+        {
+            if (!marked[node])
+            {
+                marked[node] = true;
+                return;
+            }
+            int p = parent[node];
+            cut(node);
+            node = p;
+        }
+    }
+
+    /**
+     * Adds a detached node to the root list, next to minRoot.
+     */
+    private void addRoot(int node)
+    {
+        if (minRoot == NIL)
+        {
+            left[node] = node;
+            right[node] = node;
+        }
+        else
+        {
+            left[node] = minRoot;
+            right[node] = right[minRoot];
+            left[right[minRoot]] = node;
+            right[minRoot] = node;
+        }
+    }
+
+    /**
+     * Joins the circular list containing b into the circular list containing a, right after a.
+     */
+    private void splice(int a, int b)
+    {
+        int aNext = right[a],
+                bPrev = left[b];
+        right[a] = b;
+        left[b] = a;
+        right[bPrev] = aNext;
+        left[aNext] = bPrev;
+    }
+
+    //
+    // ID INDEX
+    //
+
+    /**
+     * Returns the slot of the entry named id, or NIL if it is not in the heap.
+     */
+    private int slotOf(long id)
+    {
+        if (dense) return (id >= 0 && id < degree.length && degree[(int) id] >= 0) ? (int) id : NIL;
+
+        int mask = tableSlots.length - 1;
+        for (int bucket = bucketOf(id); ; bucket = (bucket + 1) & mask)
+        {
+            int slot = tableSlots[bucket];
+            if (slot == NIL || tableIds[bucket] == id) return slot;
+        }
+    }
+
+    private long idOf(int node)
+    {
+        return dense ? node : ids[node];
+    }
+
+    private int bucketOf(long id)
+    {
+        return (int) ((id * GOLDEN) >>> tableShift);
+    }
+
+    /**
+     * Takes a slot for the entry named id, which must not be in the heap, and indexes it.
+     */
+    private int newNode(long id)
+    {
+        int node;
+        if (dense)
+        {
+            if (id < 0 || id >= degree.length) throw new IllegalArgumentException("id is out of range");
+            node = (int) id;
+        }
+        else
+        {
+            if (freeList != NIL)
+            {
+                node = freeList;
+                freeList = right[node];
+            }
+            else
+            {
+                if (used == keys.length) allocate(2 * keys.length);
+                node = used++;
+            }
+            ids[node] = id;
+            putSlot(id, node);
+        }
+        parent[node] = NIL;
+        child[node] = NIL;
+        degree[node] = 0;
+        marked[node] = false;
+        return node;
+    }
+
+    /**
+     * Frees node's slot and drops its id from the index.
+     */
+    private void freeNode(int node)
+    {
+        degree[node] = -1;
+        keys[node] = null;
+        if (dense) return;
+
+        removeSlot(ids[node]);
+        right[node] = freeList;
+        freeList = node;
+    }
+
+    /**
+     * Maps id, which is not in the table, to slot, doubling the table first if it would end up more
+     * than half full.
+     */
+    private void putSlot(long id, int slot)
+    {
+        if (2 * (size + 1) > tableSlots.length) resizeTable(2 * tableSlots.length);
+        int mask = tableSlots.length - 1;
+        int bucket = bucketOf(id);
+        while (tableSlots[bucket] != NIL) bucket = (bucket + 1) & mask;
+        tableIds[bucket] = id;
+        tableSlots[bucket] = slot;
+    }
+
+    /**
+     * Removes id, which is in the table, shifting later entries of its probe run back so that no
+     * lookup needs tombstones.
+     */
+    private void removeSlot(long id)
+    {
+        int mask = tableSlots.length - 1;
+        int hole = bucketOf(id);
+        while (tableIds[hole] != id || tableSlots[hole] == NIL) hole = (hole + 1) & mask;
+
+        for (int bucket = (hole + 1) & mask; tableSlots[bucket] != NIL; bucket = (bucket + 1) & mask)
+        {
+            // An entry may move back into the hole only if its home bucket is not after the hole
+            int home = bucketOf(tableIds[bucket]);
+            if (((bucket - home) & mask) >= ((bucket - hole) & mask))
+            {
+                tableIds[hole] = tableIds[bucket];
+                tableSlots[hole] = tableSlots[bucket];
+                hole = bucket;
+            }
+        }
+        tableSlots[hole] = NIL;
+    }
+
+    private void resizeTable(int capacity)
+    {
+        long[] oldIds = tableIds;
+        int[] oldSlots = tableSlots;
+        tableIds = new long[capacity];
+        tableSlots = new int[capacity];
+        Arrays.fill(tableSlots, NIL);
+        tableShift = 64 - Integer.numberOfTrailingZeros(capacity);
+
+        int mask = capacity - 1;
+        for (int i = 0; i < oldSlots.length; i++)
+        {
+            if (oldSlots[i] == NIL) continue;
+            int bucket = bucketOf(oldIds[i]);
+            while (tableSlots[bucket] != NIL) bucket = (bucket + 1) & mask;
+            tableIds[bucket] = oldIds[i];
+            tableSlots[bucket] = oldSlots[i];
+        }
+    }
+
+    /**
+     * Grows (or creates) every node array to the given capacity.
+     */
+    private void allocate(int capacity)
+    {
+        if (keys == null)
+        {
+            keys = new Object[capacity];
+            if (keyExtractor != null) sortKeys = new long[capacity];
+            if (!dense) ids = new long[capacity];
+            parent = new int[capacity];
+            child = new int[capacity];
+            left = new int[capacity];
+            right = new int[capacity];
+            degree = new int[capacity];
+            marked = new boolean[capacity];
+            return;
+        }
+        keys = Arrays.copyOf(keys, capacity);
+        if (sortKeys != null) sortKeys = Arrays.copyOf(sortKeys, capacity);
+        ids = Arrays.copyOf(ids, capacity);
+        parent = Arrays.copyOf(parent, capacity);
+        child = Arrays.copyOf(child, capacity);
+        left = Arrays.copyOf(left, capacity);
+        right = Arrays.copyOf(right, capacity);
+        degree = Arrays.copyOf(degree, capacity);
+        marked = Arrays.copyOf(marked, capacity);
+    }
+}
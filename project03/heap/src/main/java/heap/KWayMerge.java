@@ -0,0 +1,140 @@
+package heap;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Merges k sorted sources into one sorted iterator, pulling lazily from each, so the sources may be
+ * unbounded and only O(k) elements are held at a time.
+ * <p>
+ * Each source with elements left has a cursor on its next element in a 4-ary DaryHeap. next() takes
+ * the least cursor, advances its source and sifts the cursor back down with replaceMin, or removes
+ * it once the source is done, so each element costs one sift rather than a deleteMin and an insert.
+ * Equal elements come out in the order of their sources, so the merge is stable.
+ * <p>
+ * The sources must be sorted by the same Comparator; this is not checked. They must not be used
+ * elsewhere while merging.
+ *
+ * @param <T> The element type.
+ */
+public final class KWayMerge <T> implements Iterator<T> {
+
+    //
+    // PROPERTIES
+    //
+
+    private final DaryHeap<Cursor<T>, Void> cursors; // Least next element on top.
+
+    //
+    // METHODS
+    //
+
+    /**
+     * Instantiate a merge of sources, which are numbered in iteration order to break ties. The
+     * first element of each is read at once.
+     *
+     * @param sources Iterators, each sorted by comparator.
+     * @param comparator Ordering of the elements.
+     * @throws IllegalArgumentException If sources or comparator is null.
+     */
+    public KWayMerge(Collection<? extends Iterator<? extends T>> sources, Comparator<? super T> comparator) {
+        if (sources == null) throw new IllegalArgumentException("sources is null");
+        if (comparator == null) throw new IllegalArgumentException("comparator is null");
+
+        Comparator<Cursor<T>> byNext = (first, second) -> {
+            int cmp = comparator.compare(first.next, second.next);
+            return (cmp != 0) ? cmp : Integer.compare(first.index, second.index);
+        };
+        cursors = new DaryHeap<>(4, sources.size(), byNext);
+
+        int index = 0;
+        for (Iterator<? extends T> source : sources)
+        {
+            if (source.hasNext()) cursors.insert(new Cursor<>(source, source.next(), index), null);
+            index++;
+        }
+    }
+
+    /**
+     * Returns a merge of sources, as the constructor does for iterators.
+     *
+     * @param sources Spliterators, each sorted by comparator.
+     * @param comparator Ordering of the elements.
+     * @param <T> The element type.
+     * @return A new merge.
+     * @throws IllegalArgumentException If sources or comparator is null.
+     */
+    public static <T> KWayMerge<T> ofSpliterators(Collection<? extends Spliterator<? extends T>> sources,
+                                                  Comparator<? super T> comparator) {
+        if (sources == null) throw new IllegalArgumentException("sources is null");
+        List<Iterator<? extends T>> iterators = new ArrayList<>(sources.size());
+        for (Spliterator<? extends T> source : sources) iterators.add(Spliterators.iterator(source));
+        return new KWayMerge<>(iterators, comparator);
+    }
+
+    /**
+     * Returns a sequential, ordered stream of the remaining merged elements. Like this iterator, it
+     * can be consumed only once.
+     *
+     * @return A stream backed by this merge.
+     */
+    public Stream<T> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED), false);
+    }
+
+    /**
+     * Returns whether any source has elements left.
+     * <p>
+     * Runs in worst-case O(1) time.
+     */
+    public boolean hasNext() {
+        return !cursors.isEmpty();
+    }
+
+    /**
+     * Returns the least next element of all sources and advances that source.
+     * <p>
+     * Runs in worst-case O(log k) time, plus the source's own.
+     *
+     * @return The next element in merged order.
+     * @throws NoSuchElementException If every source is done.
+     */
+    public T next() {
+        if (cursors.isEmpty()) throw new NoSuchElementException("Every source is done");
+
+        Cursor<T> cursor = cursors.findMin().getKey();
+        T element = cursor.next;
+        if (cursor.source.hasNext())
+        {
+            // The cursor is only read by the heap again during the sift down
+            cursor.next = cursor.source.next();
+            cursors.replaceMin(cursor, null);
+        }
+        else cursors.deleteMin();
+        return element;
+    }
+
+    /**
+     * A source and the element it will give next. Only changed while on top of the heap, just
+     * before replaceMin sifts it down.
+     */
+    private static final class Cursor<T> {
+        final Iterator<? extends T> source;
+        final int index;
+        T next;
+
+        Cursor(Iterator<? extends T> source, T next, int index) {
+            this.source = source;
+            this.next = next;
+            this.index = index;
+        }
+    }
+}
@@ -0,0 +1,495 @@
+package heap;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * A Fibonacci heap keyed by primitive longs.
+ * <p>
+ * Node state lives in parallel arrays indexed by an int handle instead of in linked objects, so an
+ * entry costs a few array slots rather than a Node, an Entry and a sentinel. insert returns the
+ * handle, which the other operations take in place of an Entry. A handle stays valid until its
+ * entry leaves the heap; its key and value stay readable until a later insert recycles the slot.
+ *
+ * @param <V> The entries' value type.
+ */
+public final class LongFibonacciHeap<V> {
+
+    /** Handle meaning "no entry", returned by findMin on an empty heap. */
+    public static final int NIL = -1;
+
+    //
+    // PROPERTIES
+    //
+
+    // Sibling lists (including the root list) are circular doubly linked lists through left/right.
+    // A free slot has degree -1 and is chained to the next free slot through right.
+    private long[] keys;
+    private Object[] values;
+    private int[] parent;
+    private int[] child;
+    private int[] left;
+    private int[] right;
+    private int[] degree;
+    private boolean[] marked;
+
+    private int minRoot;
+    private int size;
+    private int used;     // Slots [0, used) have been handed out at least once.
+    private int freeList; // Most recently freed slot, or NIL.
+    private int[] degreeTable; // Scratch space for consolidate(), always left filled with NIL.
+
+    private static final double LOG_PHI = Math.log((1 + Math.sqrt(5)) / 2);
+
+    //
+    // METHODS
+    //
+
+    /**
+     * Instantiate an empty heap.
+     */
+    public LongFibonacciHeap() {
+        this(16);
+    }
+
+    /**
+     * Instantiate an empty heap with room for initialCapacity entries before its arrays grow.
+     *
+     * @param initialCapacity Number of entries to allocate room for.
+     * @throws IllegalArgumentException If initialCapacity is negative.
+     */
+    public LongFibonacciHeap(int initialCapacity) {
+        if (initialCapacity < 0) throw new IllegalArgumentException("initialCapacity is negative");
+        allocate(Math.max(initialCapacity, 1));
+        minRoot = NIL;
+        freeList = NIL;
+        degreeTable = new int[0];
+    }
+
+    /**
+     * Returns the number of entries in the heap.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns whether the heap holds no entries.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Inserts a new key-value pair into the heap.
+     * <p>
+     * Runs in amortized O(1) time.
+     *
+     * @param key Key for the value being inserted.
+     * @param value The value being inserted.
+     * @return The handle of the new entry.
+     */
+    public int insert(long key, V value) {
+        int node = newNode();
+        keys[node] = key;
+        values[node] = value;
+        size++;
+
+        addRoot(node);
+        if (minRoot == NIL || key < keys[minRoot]) minRoot = node;
+        return node;
+    }
+
+    /**
+     * Returns the handle of an entry with the least key, or NIL if the heap is empty.
+     * <p>
+     * Runs in worst-case O(1) time.
+     */
+    public int findMin() {
+        return minRoot;
+    }
+
+    /**
+     * Returns the key of the entry with the given handle.
+     */
+    public long getKey(int handle) {
+        return keys[handle];
+    }
+
+    /**
+     * Returns the value of the entry with the given handle.
+     */
+    @SuppressWarnings("unchecked")
+    public V getValue(int handle) {
+        return (V) values[handle];
+    }
+
+    /**
+     * Returns whether the entry with the given handle is still in the heap.
+     */
+    public boolean inHeap(int handle) {
+        return handle >= 0 && handle < used && degree[handle] >= 0;
+    }
+
+    /**
+     * Removes an entry with the least key from the heap and returns its handle.
+     * The handle's key and value can still be read until the next insert.
+     * <p>
+     * Runs in worst-case O(n) time and amortized O(log n) time.
+     *
+     * @return The handle of the removed entry.
+     * @throws NoSuchElementException If the heap is empty.
+     */
+    public int deleteMin() {
+        if (size == 0) throw new NoSuchElementException("Heap is empty");
+
+        int node = minRoot;
+        size--;
+
+        // put node's children onto root
+        int firstChild = child[node];
+        if (firstChild != NIL)
+        {
+            int curr = firstChild;
+            do {
+                parent[curr] = NIL;
+                curr = right[curr];
+            } while (curr != firstChild);
+            splice(node, firstChild);
+        }
+
+        // delete node from root
+        if (right[node] == node) minRoot = NIL;
+        else
+        {
+            int next = right[node];
+            right[left[node]] = next;
+            left[next] = left[node];
+            consolidate(next);
+        }
+
+        freeNode(node);
+        return node;
+    }
+
+    /**
+     * Decreases the key of the entry with the given handle to newKey.
+     * <p>
+     * Runs in worst-case O(log n) time and amortized O(1) time.
+     *
+     * @param handle Handle of the entry for which to update the key.
+     * @param newKey New key for the entry.
+     * @throws IllegalArgumentException If handle is not a current member of the heap or if newKey is
+     * greater than the entry's current key.
+     */
+    public void decreaseKey(int handle, long newKey) {
+        if (!inHeap(handle)) throw new IllegalArgumentException("Entry not found");
+        if (keys[handle] < newKey)
+            throw new IllegalArgumentException("New entry keys must be lower than or equal to key");
+
+        keys[handle] = newKey;
+        int p = parent[handle];
+        if (p != NIL && newKey < keys[p])
+        {
+            cut(handle);
+            cascadingCut(p);
+        }
+        if (newKey < keys[minRoot]) minRoot = handle;
+    }
+
+    /**
+     * Removes the entry with the given handle from the heap.
+     * <p>
+     * Runs in worst-case O(n) time and amortized O(log n) time.
+     *
+     * @param handle Handle of the entry to remove.
+     * @throws IllegalArgumentException If handle is not a current member of the heap.
+     */
+    public void delete(int handle) {
+        if (!inHeap(handle)) throw new IllegalArgumentException("Entry not found");
+
+        int p = parent[handle];
+        if (p != NIL)
+        {
+            cut(handle);
+            cascadingCut(p);
+        }
+        minRoot = handle;
+        deleteMin();
+    }
+
+    /**
+     * Merges other heap with current one, emptying the other heap in the process.
+     * <p>
+     * other's node arrays are appended to this heap's, so the handle of every entry moved from other
+     * becomes its old handle plus the returned offset. Runs in O(m) time, where m is the number of
+     * slots other has handed out.
+     *
+     * @param other The other heap from which to merge entries.
+     * @return The offset to add to other's handles.
+     * @throws IllegalArgumentException If other is null or is this heap.
+     */
+    public int merge(LongFibonacciHeap<V> other) {
+        if (other == null) throw new IllegalArgumentException("other is null");
+        if (other == this) throw new IllegalArgumentException("other is this heap");
+
+        int base = used;
+        int count = other.used;
+        if (base + count > keys.length) allocate(Math.max(base + count, 2 * keys.length));
+
+        System.arraycopy(other.keys, 0, keys, base, count);
+        System.arraycopy(other.values, 0, values, base, count);
+        System.arraycopy(other.degree, 0, degree, base, count);
+        System.arraycopy(other.marked, 0, marked, base, count);
+        for (int i = 0; i < count; i++) {
+            parent[base + i] = shift(other.parent[i], base);
+            child[base + i] = shift(other.child[i], base);
+            left[base + i] = shift(other.left[i], base);
+            right[base + i] = shift(other.right[i], base);
+        }
+        used += count;
+
+        // other's free slots go in front of ours
+        if (other.freeList != NIL)
+        {
+            int last = other.freeList + base;
+            while (right[last] != NIL) last = right[last];
+            right[last] = freeList;
+            freeList = other.freeList + base;
+        }
+
+        if (other.minRoot != NIL)
+        {
+            int otherMin = other.minRoot + base;
+            if (minRoot == NIL) minRoot = otherMin;
+            else
+            {
+                splice(minRoot, otherMin);
+                if (keys[otherMin] < keys[minRoot]) minRoot = otherMin;
+            }
+        }
+        size += other.size;
+
+        // Empty other's heap
+        Arrays.fill(other.values, 0, count, null);
+        other.size = 0;
+        other.used = 0;
+        other.minRoot = NIL;
+        other.freeList = NIL;
+
+        return base;
+    }
+
+    private static int shift(int handle, int base) {
+        return handle == NIL ? NIL : handle + base;
+    }
+
+    /**
+     * Links roots of equal degree until every root has a distinct degree, then sets minRoot.
+     *
+     * @param start Any root of the root list.
+     */
+    private void consolidate(int start)
+    {
+        int maxDegree = (int) (Math.log(size) / LOG_PHI) + 1;
+        if (degreeTable.length <= maxDegree)
+        {
+            degreeTable = new int[maxDegree + 1];
+            Arrays.fill(degreeTable, NIL);
+        }
+
+        int roots = 0;
+        int curr = start;
+        do {
+            roots++;
+            curr = right[curr];
+        } while (curr != start);
+
+        int highestDegree = 0;
+        curr = start;
+        while (roots-- > 0)
+        {
+            // link may detach curr, so remember where to continue
+            int next = right[curr];
+            int d = degree[curr];
+            while (degreeTable[d] != NIL)
+            {
+                int other = degreeTable[d];
+                degreeTable[d] = NIL;
+                if (keys[other] < keys[curr])
+                {
+                    int temp = curr;
+                    curr = other;
+                    other = temp;
+                }
+                link(other, curr);
+                d++;
+            }
+            degreeTable[d] = curr;
+            if (d > highestDegree) highestDegree = d;
+            curr = next;
+        }
+
+        // Set new minRoot, leaving the table empty for the next call
+        minRoot = NIL;
+        for (int d = 0; d <= highestDegree; d++)
+        {
+            int root = degreeTable[d];
+            if (root == NIL) continue;
+            degreeTable[d] = NIL;
+            if (minRoot == NIL || keys[root] < keys[minRoot]) minRoot = root;
+        }
+    }
+
+    /**
+     * Removes root from the root list and makes it a child of newParent.
+     */
+    private void link(int root, int newParent)
+    {
+        right[left[root]] = right[root];
+        left[right[root]] = left[root];
+
+        int firstChild = child[newParent];
+        if (firstChild == NIL)
+        {
+            child[newParent] = root;
+            left[root] = root;
+            right[root] = root;
+        }
+        else
+        {
+            left[root] = firstChild;
+            right[root] = right[firstChild];
+            left[right[firstChild]] = root;
+            right[firstChild] = root;
+        }
+        parent[root] = newParent;
+        marked[root] = false;
+        degree[newParent]++;
+    }
+
+    /**
+     * Detaches node from its parent and adds it to the root list unmarked.
+     */
+    private void cut(int node)
+    {
+        int p = parent[node];
+        if (right[node] == node) child[p] = NIL;
+        else
+        {
+            right[left[node]] = right[node];
+            left[right[node]] = left[node];
+            if (child[p] == node) child[p] = right[node];
+        }
+        degree[p]--;
+
+        parent[node] = NIL;
+        marked[node] = false;
+        addRoot(node);
+    }
+
+    /**
+     * Walks up from node, cutting marked ancestors until reaching an unmarked node, which is then
+     * marked. Roots are never marked or cut.
+     */
+    private void cascadingCut(int node)
+    {
+        while (parent[node] != NIL)
+        {
+            if (!marked[node])
+            {
+                marked[node] = true;
+                return;
+            }
+            int p = parent[node];
+            cut(node);
+            node = p;
+        }
+    }
+
+    /**
+     * Adds a detached node to the root list, next to minRoot.
+     */
+    private void addRoot(int node)
+    {
+        if (minRoot == NIL)
+        {
+            left[node] = node;
+            right[node] = node;
+        }
+        else
+        {
+            left[node] = minRoot;
+            right[node] = right[minRoot];
+            left[right[minRoot]] = node;
+            right[minRoot] = node;
+        }
+    }
+
+    /**
+     * Joins the circular list containing b into the circular list containing a, right after a.
+     */
+    private void splice(int a, int b)
+    {
+        int aNext = right[a],
+                bPrev = left[b];
+        right[a] = b;
+        left[b] = a;
+        right[bPrev] = aNext;
+        left[aNext] = bPrev;
+    }
+
+    private int newNode()
+    {
+        int node;
+        if (freeList != NIL)
+        {
+            node = freeList;
+            freeList = right[node];
+        }
+        else
+        {
+            if (used == keys.length) allocate(2 * keys.length);
+            node = used++;
+        }
+        parent[node] = NIL;
+        child[node] = NIL;
+        degree[node] = 0;
+        marked[node] = false;
+        return node;
+    }
+
+    private void freeNode(int node)
+    {
+        degree[node] = -1;
+        right[node] = freeList;
+        freeList = node;
+    }
+
+    /**
+     * Grows (or creates) every node array to the given capacity.
+     */
+    private void allocate(int capacity)
+    {
+        if (keys == null)
+        {
+            keys = new long[capacity];
+            values = new Object[capacity];
+            parent = new int[capacity];
+            child = new int[capacity];
+            left = new int[capacity];
+            right = new int[capacity];
+            degree = new int[capacity];
+            marked = new boolean[capacity];
+            return;
+        }
+        keys = Arrays.copyOf(keys, capacity);
+        values = Arrays.copyOf(values, capacity);
+        parent = Arrays.copyOf(parent, capacity);
+        child = Arrays.copyOf(child, capacity);
+        left = Arrays.copyOf(left, capacity);
+        right = Arrays.copyOf(right, capacity);
+        degree = Arrays.copyOf(degree, capacity);
+        marked = Arrays.copyOf(marked, capacity);
+    }
+}
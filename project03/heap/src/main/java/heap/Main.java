@@ -1,3 +1,5 @@
+package heap;
+
 public class Main {
     public static void main(String[] args) {
         // Create a new Fibonacci heap
@@ -0,0 +1,482 @@
+package heap;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.NoSuchElementException;
+import java.util.zip.CRC32C;
+
+/**
+ * A Fibonacci heap whose node records live in a memory-mapped file, so it survives a restart
+ * without re-inserting every entry.
+ * <p>
+ * {@link #create} starts a new file and {@link #open} maps an existing one without reading the
+ * records, so reopening takes time independent of the heap's size. The file holds the heap as of
+ * the last {@link #checkpoint}, and a crash at any point leaves that image intact: the records are
+ * mapped copy-on-write, so updates stay in memory until a checkpoint writes the records in use to
+ * a second region of the file and then switches to it through one of two alternating headers.
+ * open takes whichever header is newest and intact, so it never sees a torn heap.
+ * <p>
+ * Keys are stored through a {@link KeyCodec} as order-preserving longs and values through a
+ * fixed-width {@link ValueCodec}. Handles follow the same rules as {@link LongFibonacciHeap}'s and
+ * remain valid across close and open.
+ *
+ * @param <K> The entries' key type.
+ * @param <V> The entries' value type.
+ */
+public final class MappedFibonacciHeap<K, V> implements AutoCloseable {
+
+    /** Handle meaning "no entry", returned by findMin on an empty heap. */
+    public static final int NIL = OffHeapFibonacciHeap.NIL;
+
+    /** Version of the file format written by this class. */
+    public static final int VERSION = 1;
+
+    //
+    // PROPERTIES
+    //
+
+    private static final int MAGIC = 0x46494248; // "FIBH"
+
+    // Header layout. There are two headers, each on its own page so that writing one cannot tear
+    // the other; a checkpoint overwrites the older. The header checksum covers [0, HEADER_CHECKSUM_AT).
+    private static final int MAGIC_AT = 0;
+    private static final int VERSION_AT = 4;
+    private static final int RECORD_BYTES_AT = 8;
+    private static final int VALUE_WIDTH_AT = 12;
+    private static final int MIN_ROOT_AT = 16;
+    private static final int SIZE_AT = 20;
+    private static final int USED_AT = 24;
+    private static final int FREE_LIST_AT = 28;
+    private static final int CAPACITY_AT = 32;
+    private static final int SEQUENCE_AT = 40;      // Checkpoints taken; the greater wins.
+    private static final int REGION_AT = 48;        // File offset of the records.
+    private static final int DATA_CHECKSUM_AT = 56;
+    private static final int HEADER_CHECKSUM_AT = 64;
+    private static final int HEADER_BYTES = 72;
+    private static final int HEADER_STRIDE = 4096;
+    private static final long FIRST_REGION = 2 * HEADER_STRIDE;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer[] headers;
+    private final KeyCodec<K> keyCodec;
+    private final ValueCodec<V> valueCodec;
+    private final OffHeapFibonacciHeap heap;
+    private long sequence; // Of the last checkpoint.
+    private long region;   // File offset of the last checkpoint's records, which heap maps privately.
+    private boolean dirty; // Whether an update succeeded since the last checkpoint.
+
+    //
+    // METHODS
+    //
+
+    private MappedFibonacciHeap(FileChannel channel, MappedByteBuffer[] headers, KeyCodec<K> keyCodec,
+                                ValueCodec<V> valueCodec, ByteBuffer image) {
+        this.channel = channel;
+        this.headers = headers;
+        this.keyCodec = keyCodec;
+        this.valueCodec = valueCodec;
+
+        // Private mappings keep every update off the file until checkpoint copies the records out
+        OffHeapFibonacciHeap.Storage storage = (position, old, bytes) -> {
+            try {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.PRIVATE, region + position, bytes);
+                buffer.order(ByteOrder.LITTLE_ENDIAN);
+                if (old != null) buffer.put(old.duplicate().clear()).clear();
+                return buffer;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+
+        if (image != null) {
+            sequence = image.getLong(SEQUENCE_AT);
+            region = image.getLong(REGION_AT);
+            heap = new OffHeapFibonacciHeap(storage, valueCodec.width(), image.getInt(CAPACITY_AT),
+                    image.getInt(MIN_ROOT_AT), image.getInt(SIZE_AT), image.getInt(USED_AT),
+                    image.getInt(FREE_LIST_AT));
+        } else {
+            region = FIRST_REGION;
+            heap = new OffHeapFibonacciHeap(storage, valueCodec.width());
+        }
+    }
+
+    /**
+     * Creates an empty heap backed by a new file.
+     *
+     * @param path The file to create. Must not exist.
+     * @param keyCodec Codec for the entries' keys.
+     * @param valueCodec Codec for the entries' values.
+     * @return The new heap, already checkpointed.
+     * @throws IOException If the file exists or cannot be created and mapped.
+     */
+    public static <K, V> MappedFibonacciHeap<K, V> create(Path path, KeyCodec<K> keyCodec,
+                                                          ValueCodec<V> valueCodec) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MappedFibonacciHeap<K, V> heap = new MappedFibonacciHeap<>(channel, mapHeaders(channel),
+                keyCodec, valueCodec, null);
+        heap.checkpoint();
+        return heap;
+    }
+
+    /**
+     * Maps the heap stored in an existing file, as of its last completed checkpoint.
+     *
+     * @param path The file to open.
+     * @param keyCodec Codec for the entries' keys. Must be the codec the file was written with.
+     * @param valueCodec Codec for the entries' values. Must be the codec the file was written with.
+     * @param verify Whether to also check the records against the checksum taken at the last
+     * checkpoint. This reads every record, so it takes time proportional to the heap's size.
+     * @return The heap stored in the file.
+     * @throws IOException If the file cannot be read, has no intact header, has an unknown version,
+     * was written with a different value width, or fails the record checksum.
+     */
+    public static <K, V> MappedFibonacciHeap<K, V> open(Path path, KeyCodec<K> keyCodec,
+                                                        ValueCodec<V> valueCodec, boolean verify)
+            throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            if (channel.size() < FIRST_REGION) throw new IOException(path + " is not a heap file");
+            MappedByteBuffer[] headers = mapHeaders(channel);
+            ByteBuffer image = newestHeader(path, headers);
+            if (image.getInt(VERSION_AT) != VERSION)
+                throw new IOException(path + " has unsupported version " + image.getInt(VERSION_AT));
+            if (image.getInt(VALUE_WIDTH_AT) != valueCodec.width())
+                throw new IOException(path + " was written with a different value codec");
+            MappedFibonacciHeap<K, V> heap = new MappedFibonacciHeap<>(channel, headers, keyCodec,
+                    valueCodec, image);
+            if (image.getInt(RECORD_BYTES_AT) != heap.heap.recordBytes())
+                throw new IOException(path + " has an unsupported record layout");
+            if (verify && image.getLong(DATA_CHECKSUM_AT) != heap.dataChecksum())
+                throw new IOException(path + " has corrupt records");
+            return heap;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private static MappedByteBuffer[] mapHeaders(FileChannel channel) throws IOException {
+        MappedByteBuffer[] headers = new MappedByteBuffer[2];
+        for (int i = 0; i < headers.length; i++) {
+            headers[i] = channel.map(FileChannel.MapMode.READ_WRITE, (long) i * HEADER_STRIDE, HEADER_BYTES);
+            headers[i].order(ByteOrder.LITTLE_ENDIAN);
+        }
+        return headers;
+    }
+
+    /**
+     * Returns the intact header with the greatest sequence number. A header torn by a crash during
+     * checkpoint fails its checksum, leaving the other one.
+     */
+    private static ByteBuffer newestHeader(Path path, MappedByteBuffer[] headers) throws IOException {
+        ByteBuffer newest = null;
+        boolean anyMagic = false;
+        for (MappedByteBuffer header : headers) {
+            if (header.getInt(MAGIC_AT) != MAGIC) continue;
+            anyMagic = true;
+            if (header.getLong(HEADER_CHECKSUM_AT) != headerChecksum(header)) continue;
+            if (newest == null || header.getLong(SEQUENCE_AT) > newest.getLong(SEQUENCE_AT)) newest = header;
+        }
+        if (!anyMagic) throw new IOException(path + " is not a heap file");
+        if (newest == null) throw new IOException(path + " has a corrupt header");
+        return newest;
+    }
+
+    /**
+     * Returns the number of entries in the heap.
+     */
+    public int size() {
+        return heap.size();
+    }
+
+    /**
+     * Returns whether the heap holds no entries.
+     */
+    public boolean isEmpty() {
+        return heap.isEmpty();
+    }
+
+    /**
+     * Inserts a new key-value pair into the heap.
+     * <p>
+     * Runs in amortized O(1) time.
+     *
+     * @param key Key for the value being inserted.
+     * @param value The value being inserted.
+     * @return The handle of the new entry.
+     */
+    public int insert(K key, V value) {
+        ensureOpen();
+        int handle = heap.insert(keyCodec.encode(key), 0);
+        valueCodec.write(heap.chunk(handle), heap.offset(handle) + OffHeapFibonacciHeap.PAYLOAD, value);
+        dirty = true;
+        return handle;
+    }
+
+    /**
+     * Returns the handle of an entry with the least key, or NIL if the heap is empty.
+     * <p>
+     * Runs in worst-case O(1) time.
+     */
+    public int findMin() {
+        return heap.findMin();
+    }
+
+    /**
+     * Returns the key of the entry with the given handle.
+     */
+    public K getKey(int handle) {
+        return keyCodec.decode(heap.getKey(handle));
+    }
+
+    /**
+     * Returns the value of the entry with the given handle.
+     */
+    public V getValue(int handle) {
+        return valueCodec.read(heap.chunk(handle), heap.offset(handle) + OffHeapFibonacciHeap.PAYLOAD);
+    }
+
+    /**
+     * Returns whether the entry with the given handle is still in the heap.
+     */
+    public boolean inHeap(int handle) {
+        return heap.inHeap(handle);
+    }
+
+    /**
+     * Removes an entry with the least key from the heap and returns its handle.
+     * The handle's key and value can still be read until the next insert.
+     * <p>
+     * Runs in worst-case O(n) time and amortized O(log n) time.
+     *
+     * @return The handle of the removed entry.
+     * @throws NoSuchElementException If the heap is empty.
+     */
+    public int deleteMin() {
+        if (heap.isEmpty()) throw new NoSuchElementException("Heap is empty");
+        ensureOpen();
+        int handle = heap.deleteMin();
+        dirty = true;
+        return handle;
+    }
+
+    /**
+     * Decreases the key of the entry with the given handle to newKey.
+     * <p>
+     * Runs in worst-case O(log n) time and amortized O(1) time.
+     *
+     * @param handle Handle of the entry for which to update the key.
+     * @param newKey New key for the entry.
+     * @throws IllegalArgumentException If handle is not a current member of the heap or if newKey is
+     * greater than the entry's current key.
+     */
+    public void decreaseKey(int handle, K newKey) {
+        ensureOpen();
+        heap.decreaseKey(handle, keyCodec.encode(newKey));
+        dirty = true;
+    }
+
+    /**
+     * Removes the entry with the given handle from the heap.
+     * <p>
+     * Runs in worst-case O(n) time and amortized O(log n) time.
+     *
+     * @param handle Handle of the entry to remove.
+     * @throws IllegalArgumentException If handle is not a current member of the heap.
+     */
+    public void delete(int handle) {
+        ensureOpen();
+        heap.delete(handle);
+        dirty = true;
+    }
+
+    /**
+     * Makes the file hold the heap as it is now. The records in use are copied to a part of the
+     * file the previous checkpoint's records do not occupy and flushed, and only then is the older
+     * header rewritten to point at them and flushed. A crash before that leaves the previous
+     * checkpoint in place.
+     * <p>
+     * Runs in O(n) time for the copy and checksum of the records in use.
+     *
+     * @throws UncheckedIOException If the records cannot be written or flushed.
+     */
+    public void checkpoint() {
+        ensureOpen();
+
+        // Go before the current records if the heap fits there, and after everything mapped if not
+        long imageBytes = (long) heap.capacity() * heap.recordBytes();
+        long target = (FIRST_REGION + imageBytes <= region) ? FIRST_REGION : region + imageBytes;
+
+        CRC32C crc = new CRC32C();
+        long remaining = (long) heap.used() * heap.recordBytes();
+        long position = 0;
+        try {
+            for (ByteBuffer chunk : heap.chunks()) {
+                if (remaining == 0) break;
+                int bytes = (int) Math.min(remaining, chunk.capacity());
+                ByteBuffer records = chunk.duplicate().position(0).limit(bytes);
+                crc.update(records.duplicate());
+                MappedByteBuffer copy = channel.map(FileChannel.MapMode.READ_WRITE, target + position, bytes);
+                copy.put(records);
+                copy.force();
+                remaining -= bytes;
+                position += chunk.capacity();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        MappedByteBuffer header = headers[(int) ((sequence + 1) & 1)];
+        header.putInt(MAGIC_AT, MAGIC);
+        header.putInt(VERSION_AT, VERSION);
+        header.putInt(RECORD_BYTES_AT, heap.recordBytes());
+        header.putInt(VALUE_WIDTH_AT, valueCodec.width());
+        header.putInt(MIN_ROOT_AT, heap.findMin());
+        header.putInt(SIZE_AT, heap.size());
+        header.putInt(USED_AT, heap.used());
+        header.putInt(FREE_LIST_AT, heap.freeList());
+        header.putInt(CAPACITY_AT, heap.capacity());
+        header.putLong(SEQUENCE_AT, sequence + 1);
+        header.putLong(REGION_AT, target);
+        header.putLong(DATA_CHECKSUM_AT, crc.getValue());
+        header.putLong(HEADER_CHECKSUM_AT, headerChecksum(header));
+        header.force();
+
+        // The old records may be overwritten from now on, so stop mapping them
+        sequence++;
+        region = target;
+        heap.remapChunks();
+        dirty = false;
+    }
+
+    /**
+     * Checkpoints the heap, unless it is unchanged since the last checkpoint, and closes its file.
+     *
+     * @throws IOException If the file cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        if (!channel.isOpen()) return;
+        if (dirty) checkpoint();
+        channel.close();
+    }
+
+    private void ensureOpen() {
+        if (!channel.isOpen()) throw new IllegalStateException("Heap is closed");
+    }
+
+    private static long headerChecksum(ByteBuffer header) {
+        CRC32C crc = new CRC32C();
+        crc.update(header.duplicate().position(0).limit(HEADER_CHECKSUM_AT));
+        return crc.getValue();
+    }
+
+    private long dataChecksum() {
+        CRC32C crc = new CRC32C();
+        long remaining = (long) heap.used() * heap.recordBytes();
+        for (ByteBuffer chunk : heap.chunks()) {
+            if (remaining == 0) break;
+            int bytes = (int) Math.min(remaining, chunk.capacity());
+            crc.update(chunk.duplicate().position(0).limit(bytes));
+            remaining -= bytes;
+        }
+        return crc.getValue();
+    }
+
+    //
+    // CODECS
+    //
+
+    /**
+     * Converts keys to longs whose signed order matches the keys' order.
+     *
+     * @param <K> The key type.
+     */
+    public interface KeyCodec<K> {
+        KeyCodec<Long> LONG = new KeyCodec<>() {
+            @Override
+            public long encode(Long key) {
+                return key;
+            }
+
+            @Override
+            public Long decode(long encoded) {
+                return encoded;
+            }
+        };
+
+        /** Orders doubles as Double.compare does. NaN is not supported. */
+        KeyCodec<Double> DOUBLE = new KeyCodec<>() {
+            @Override
+            public long encode(Double key) {
+                return DoubleFibonacciHeap.encode(key);
+            }
+
+            @Override
+            public Double decode(long encoded) {
+                return DoubleFibonacciHeap.decode(encoded);
+            }
+        };
+
+        long encode(K key);
+
+        K decode(long encoded);
+    }
+
+    /**
+     * Reads and writes values of a fixed number of bytes at an absolute buffer offset.
+     *
+     * @param <V> The value type.
+     */
+    public interface ValueCodec<V> {
+        ValueCodec<Long> LONG = new ValueCodec<>() {
+            @Override
+            public int width() {
+                return Long.BYTES;
+            }
+
+            @Override
+            public void write(ByteBuffer buffer, int offset, Long value) {
+                buffer.putLong(offset, value);
+            }
+
+            @Override
+            public Long read(ByteBuffer buffer, int offset) {
+                return buffer.getLong(offset);
+            }
+        };
+
+        ValueCodec<Integer> INT = new ValueCodec<>() {
+            @Override
+            public int width() {
+                return Integer.BYTES;
+            }
+
+            @Override
+            public void write(ByteBuffer buffer, int offset, Integer value) {
+                buffer.putInt(offset, value);
+            }
+
+            @Override
+            public Integer read(ByteBuffer buffer, int offset) {
+                return buffer.getInt(offset);
+            }
+        };
+
+        /**
+         * Returns the number of bytes every value occupies.
+         */
+        int width();
+
+        void write(ByteBuffer buffer, int offset, V value);
+
+        V read(ByteBuffer buffer, int offset);
+    }
+}
@@ -0,0 +1,114 @@
+package heap;
+
+/**
+ * A priority queue of key-value entries that supports decreaseKey and delete through entry handles,
+ * and merging with another heap of the same implementation.
+ * <p>
+ * Implemented by FibonacciHeap, BinomialHeap, PairingHeap, RankPairingHeap and DaryHeap; HeapEngine
+ * creates any of them by name. Handles are only valid on the heap that returned them, or on the
+ * heap that heap was merged into.
+ * <p>
+ * K is not bounded here because FibonacciHeap, BinomialHeap and DaryHeap can also order keys by a
+ * Comparator, and the first two by a long key extractor; the other implementations require
+ * Comparable keys.
+ *
+ * @param <K> The entries' key type.
+ * @param <V> The entries' value type.
+ */
+public interface MergeableHeap <K, V> {
+
+    /**
+     * Inserts a new key-value pair. Keys and values equal to ones already present are allowed.
+     *
+     * @param key Key for the value being inserted.
+     * @param value The value being inserted.
+     * @return The new entry.
+     */
+    Entry<K, V> insert(K key, V value);
+
+    /**
+     * Returns an Entry with the least key without removing it.
+     *
+     * @return An Entry storing the least key or null if the heap is empty.
+     */
+    Entry<K, V> findMin();
+
+    /**
+     * Returns and removes an Entry with the least key.
+     *
+     * @return An Entry storing the least key.
+     * @throws java.util.NoSuchElementException If the heap is empty.
+     */
+    Entry<K, V> deleteMin();
+
+    /**
+     * Decreases the key of entry to newKey.
+     *
+     * @param handle Entry for which to update the key.
+     * @param newKey New key for entry.
+     * @throws IllegalArgumentException If entry is not a current member of the heap or if newKey is
+     * greater than entry's current key.
+     */
+    void decreaseKey(Entry<K, V> handle, K newKey);
+
+    /**
+     * Removes entry from the heap.
+     *
+     * @param handle Entry to remove from heap.
+     * @throws IllegalArgumentException If entry is not a current member of the heap.
+     */
+    void delete(Entry<K, V> handle);
+
+    /**
+     * Moves every entry of other into this heap, leaving other empty. Handles from other stay valid
+     * and now belong to this heap.
+     *
+     * @param other A heap of the same implementation.
+     * @throws IllegalArgumentException If other is null, this heap, or of another implementation.
+     */
+    void merge(MergeableHeap<K, V> other);
+
+    /**
+     * Returns the number of entries.
+     *
+     * @return The number of entries.
+     */
+    int size();
+
+    /**
+     * Returns whether the heap has no entries.
+     *
+     * @return true if the heap is empty.
+     */
+    boolean isEmpty();
+
+    /**
+     * A key-value pair stored in a heap, and the handle for changing it.
+     *
+     * @param <K> The key type.
+     * @param <V> The value type.
+     */
+    interface Entry<K, V> {
+
+        /**
+         * Returns whether the entry still exists in the heap.
+         *
+         * @return true if entry has not been deleted from the heap.
+         */
+        boolean inHeap();
+
+        /**
+         * Returns key for this entry.
+         *
+         * @return Key for this entry.
+         */
+        K getKey();
+
+        /**
+         * Returns value of this entry.
+         *
+         * @return Value of this entry.
+         */
+        V getValue();
+    }
+}
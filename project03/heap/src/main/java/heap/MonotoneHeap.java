@@ -0,0 +1,114 @@
+package heap;
+
+/**
+ * A monotone priority queue of entries with non-negative long keys: no key may be inserted, or
+ * decreased to, below the key most recently removed by deleteMin. Dijkstra's algorithm with
+ * non-negative edge weights satisfies this, and in exchange implementations can place keys by their
+ * bits instead of comparing them.
+ * <p>
+ * The handle API follows MergeableHeap, without merge. Implemented by RadixHeap and BucketQueue.
+ *
+ * @param <V> The entries' value type.
+ */
+public interface MonotoneHeap <V> {
+
+    /**
+     * Inserts a new key-value pair.
+     *
+     * @param key Key for the value being inserted.
+     * @param value The value being inserted.
+     * @return The new entry.
+     * @throws IllegalArgumentException If key is below lastMin(), or outside the queue's range.
+     */
+    Entry<V> insert(long key, V value);
+
+    /**
+     * Returns an Entry with the least key without removing it.
+     *
+     * @return An Entry storing the least key or null if the queue is empty.
+     */
+    Entry<V> findMin();
+
+    /**
+     * Returns and removes an Entry with the least key, which becomes the new lastMin().
+     *
+     * @return An Entry storing the least key.
+     * @throws java.util.NoSuchElementException If the queue is empty.
+     */
+    Entry<V> deleteMin();
+
+    /**
+     * Decreases the key of entry to newKey.
+     *
+     * @param entry Entry for which to update the key.
+     * @param newKey New key for entry.
+     * @throws IllegalArgumentException If entry is not a current member of the queue, if newKey is
+     * greater than entry's current key, or if newKey is below lastMin().
+     */
+    void decreaseKey(Entry<V> entry, long newKey);
+
+    /**
+     * Removes entry from the queue.
+     *
+     * @param entry Entry to remove from the queue.
+     * @throws IllegalArgumentException If entry is not a current member of the queue.
+     */
+    void delete(Entry<V> entry);
+
+    /**
+     * Returns the key most recently removed by deleteMin, or 0 if there was none. No key below it
+     * is accepted.
+     *
+     * @return The lower bound on keys.
+     */
+    long lastMin();
+
+    /**
+     * Removes every entry and sets lastMin() back to 0, keeping the storage the queue has grown
+     * so that it can be reused without allocating.
+     */
+    void clear();
+
+    /**
+     * Returns the number of entries.
+     *
+     * @return The number of entries.
+     */
+    int size();
+
+    /**
+     * Returns whether the queue has no entries.
+     *
+     * @return true if the queue is empty.
+     */
+    boolean isEmpty();
+
+    /**
+     * A key-value pair stored in a monotone queue, and the handle for changing it.
+     *
+     * @param <V> The value type.
+     */
+    interface Entry<V> {
+
+        /**
+         * Returns whether the entry still exists in the queue.
+         *
+         * @return true if entry has not been deleted from the queue.
+         */
+        boolean inHeap();
+
+        /**
+         * Returns key for this entry.
+         *
+         * @return Key for this entry.
+         */
+        long getKey();
+
+        /**
+         * Returns value of this entry.
+         *
+         * @return Value of this entry.
+         */
+        V getValue();
+    }
+}
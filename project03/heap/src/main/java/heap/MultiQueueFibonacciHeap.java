@@ -0,0 +1,174 @@
+package heap;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A relaxed, thread-safe priority queue made of m independent Fibonacci heaps (a MultiQueue).
+ * <p>
+ * insert locks a random sub-heap. deleteMin samples two random sub-heaps, compares their published
+ * minimum keys, and removes the minimum of the smaller one. Locks are only ever tried, never waited
+ * on: a thread that finds a sub-heap busy samples again. No lock is shared by all threads, so
+ * throughput grows with the number of threads as long as m is a few times larger.
+ * <p>
+ * deleteMin is approximate. The entry it returns is not always the least one, but its rank (the
+ * number of entries with smaller keys) is O(m) in expectation and O(m log m) with high
+ * probability. heap.bench.RankErrorMeasurement reports the observed rank error for several m.
+ * deleteMin returns null only after finding every sub-heap empty, which may race with concurrent
+ * inserts.
+ *
+ * @param <K> The entries' key type.
+ * @param <V> The entries' value type.
+ */
+public final class MultiQueueFibonacciHeap <K extends Comparable<? super K>, V> {
+
+    //
+    // PROPERTIES
+    //
+
+    private final SubHeap<K, V>[] queues;
+    private final LongAdder size;
+
+    //
+    // METHODS
+    //
+
+    /**
+     * Instantiate an empty queue with two sub-heaps per available processor.
+     */
+    public MultiQueueFibonacciHeap() {
+        this(2 * Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Instantiate an empty queue.
+     *
+     * @param queueCount Number of sub-heaps m. The rank error grows linearly with m.
+     * @throws IllegalArgumentException If queueCount is not positive.
+     */
+    public MultiQueueFibonacciHeap(int queueCount) {
+        if (queueCount <= 0) throw new IllegalArgumentException("queueCount is not positive");
+        @SuppressWarnings("unchecked")
+        SubHeap<K, V>[] array = (SubHeap<K, V>[]) new SubHeap[queueCount];
+        for (int i = 0; i < queueCount; i++) array[i] = new SubHeap<>();
+        queues = array;
+        size = new LongAdder();
+    }
+
+    /**
+     * Inserts a new key-value pair into a random sub-heap.
+     * <p>
+     * Runs in worst-case O(1) time, plus retries while sampled sub-heaps are busy.
+     *
+     * @param key Key for the value being inserted.
+     * @param value The value being inserted.
+     * @return The new entry.
+     */
+    public FibonacciHeap.Entry<K, V> insert(K key, V value) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (true)
+        {
+            SubHeap<K, V> queue = queues[random.nextInt(queues.length)];
+            if (!queue.lock.tryLock()) continue;
+            try
+            {
+                FibonacciHeap.Entry<K, V> entry = queue.heap.insert(key, value);
+                queue.publishMin();
+                size.increment();
+                return entry;
+            }
+            finally
+            {
+                queue.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Returns and removes an Entry with a small key: the minimum of the better of two random
+     * sub-heaps.
+     * <p>
+     * Runs in amortized O(log n) time, plus retries while sampled sub-heaps are busy or empty.
+     *
+     * @return An Entry storing a key of expected rank O(m), or null if the queue is empty.
+     */
+    public FibonacciHeap.Entry<K, V> deleteMin() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (true)
+        {
+            SubHeap<K, V> first = queues[random.nextInt(queues.length)],
+                    second = queues[random.nextInt(queues.length)];
+            K firstKey = first.minKey,
+                    secondKey = second.minKey;
+            if (firstKey == null && secondKey == null)
+            {
+                if (allEmpty()) return null;
+                continue;
+            }
+
+            SubHeap<K, V> queue = (secondKey == null || (firstKey != null && firstKey.compareTo(secondKey) <= 0))
+                    ? first : second;
+            if (!queue.lock.tryLock()) continue;
+            try
+            {
+                // The sub-heap may have been emptied since its key was read
+                if (queue.heap.isEmpty()) continue;
+                FibonacciHeap.Entry<K, V> entry = queue.heap.deleteMin();
+                queue.publishMin();
+                size.decrement();
+                return entry;
+            }
+            finally
+            {
+                queue.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Returns the number of entries. Exact only when no other thread is modifying the queue.
+     *
+     * @return The number of entries.
+     */
+    public int size() {
+        return (int) Math.max(0, size.sum());
+    }
+
+    /**
+     * Returns whether the queue has no entries. Exact only when no other thread is modifying the
+     * queue.
+     *
+     * @return true if the queue is empty.
+     */
+    public boolean isEmpty() {
+        return allEmpty();
+    }
+
+    private boolean allEmpty()
+    {
+        for (SubHeap<K, V> queue : queues)
+            if (queue.minKey != null) return false;
+        return true;
+    }
+
+    /**
+     * A sub-heap, its lock, and its minimum key published for lock-free sampling.
+     *
+     * @param <K> The entries' key type.
+     * @param <V> The entries' value type.
+     */
+    private static final class SubHeap<K extends Comparable<? super K>, V> {
+        final FibonacciHeap<K, V> heap = new FibonacciHeap<>();
+        final ReentrantLock lock = new ReentrantLock();
+        volatile K minKey; // Key of heap's minimum, or null if heap is empty.
+
+        /**
+         * Republishes minKey after a change to heap. Must hold lock.
+         */
+        void publishMin() {
+            FibonacciHeap.Entry<K, V> min = heap.findMin();
+            minKey = (min == null) ? null : min.getKey();
+        }
+    }
+}
@@ -0,0 +1,682 @@
+package heap;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * A Fibonacci heap with long keys and long values whose node records live outside the Java heap.
+ * <p>
+ * Records are stored in direct buffers of up to 2^24 records each and link to each other by int
+ * handles rather than references, so the garbage collector sees a handful of buffers no matter how
+ * many entries the heap holds. Freed records are recycled through a free list.
+ * The operations and handle rules are the same as {@link LongFibonacciHeap}'s.
+ */
+public final class OffHeapFibonacciHeap {
+
+    /** Handle meaning "no entry", returned by findMin on an empty heap. */
+    public static final int NIL = -1;
+
+    //
+    // PROPERTIES
+    //
+
+    // Record layout. Sibling lists (including the root list) are circular doubly linked lists
+    // through LEFT/RIGHT. A free record has DEGREE -1 and is chained to the next free one by RIGHT.
+    private static final int KEY = 0;
+    private static final int VALUE = 8;
+    private static final int PARENT = 16;
+    private static final int CHILD = 20;
+    private static final int LEFT = 24;
+    private static final int RIGHT = 28;
+    private static final int DEGREE = 32;
+    private static final int MARKED = 36;
+    static final int PAYLOAD = 40; // Start of the bytes reserved by the storage's owner, if any.
+
+    private static final int MAX_CHUNK_BYTES = 1 << 30;
+
+    private final Storage storage;
+    private final int recordBytes;
+    private final int chunkRecords; // Records per full chunk, a power of two.
+    private final int chunkShift;
+    private ByteBuffer[] chunks;
+    private int capacity; // Records available across all chunks.
+
+    private int minRoot;
+    private int size;
+    private int used;     // Records [0, used) have been handed out at least once.
+    private int freeList; // Most recently freed record, or NIL.
+    private int[] degreeTable; // Scratch space for consolidate(), always left filled with NIL.
+
+    private static final double LOG_PHI = Math.log((1 + Math.sqrt(5)) / 2);
+
+    //
+    // METHODS
+    //
+
+    /**
+     * Instantiate an empty heap.
+     */
+    public OffHeapFibonacciHeap() {
+        this(1024);
+    }
+
+    /**
+     * Instantiate an empty heap with room for initialCapacity entries before it allocates more
+     * memory.
+     *
+     * @param initialCapacity Number of entries to allocate room for.
+     * @throws IllegalArgumentException If initialCapacity is negative.
+     */
+    public OffHeapFibonacciHeap(int initialCapacity) {
+        this(DIRECT, 0);
+        if (initialCapacity < 0) throw new IllegalArgumentException("initialCapacity is negative");
+        ensureCapacity(Math.max(initialCapacity, 1));
+    }
+
+    /**
+     * Instantiate an empty heap whose records come from storage and carry payloadBytes extra bytes
+     * at offset PAYLOAD.
+     */
+    OffHeapFibonacciHeap(Storage storage, int payloadBytes) {
+        this.storage = storage;
+        recordBytes = (PAYLOAD + payloadBytes + 7) & ~7;
+        chunkRecords = Integer.highestOneBit(Math.min(1 << 24, MAX_CHUNK_BYTES / recordBytes));
+        chunkShift = Integer.numberOfTrailingZeros(chunkRecords);
+        chunks = new ByteBuffer[0];
+        minRoot = NIL;
+        freeList = NIL;
+        degreeTable = new int[0];
+    }
+
+    /**
+     * Reattach a heap to the records a heap with the same storage and payloadBytes left in storage.
+     */
+    OffHeapFibonacciHeap(Storage storage, int payloadBytes, int capacity,
+                         int minRoot, int size, int used, int freeList) {
+        this(storage, payloadBytes);
+        ensureCapacity(capacity);
+        this.minRoot = minRoot;
+        this.size = size;
+        this.used = used;
+        this.freeList = freeList;
+    }
+
+    /**
+     * Returns the number of entries in the heap.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns whether the heap holds no entries.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Inserts a new key-value pair into the heap.
+     * <p>
+     * Runs in amortized O(1) time.
+     *
+     * @param key Key for the value being inserted.
+     * @param value The value being inserted.
+     * @return The handle of the new entry.
+     */
+    public int insert(long key, long value) {
+        int node = newNode();
+        setKey(node, key);
+        chunk(node).putLong(offset(node) + VALUE, value);
+        size++;
+
+        addRoot(node);
+        if (minRoot == NIL || key < key(minRoot)) minRoot = node;
+        return node;
+    }
+
+    /**
+     * Returns the handle of an entry with the least key, or NIL if the heap is empty.
+     * <p>
+     * Runs in worst-case O(1) time.
+     */
+    public int findMin() {
+        return minRoot;
+    }
+
+    /**
+     * Returns the key of the entry with the given handle.
+     */
+    public long getKey(int handle) {
+        return key(handle);
+    }
+
+    /**
+     * Returns the value of the entry with the given handle.
+     */
+    public long getValue(int handle) {
+        return chunk(handle).getLong(offset(handle) + VALUE);
+    }
+
+    /**
+     * Returns whether the entry with the given handle is still in the heap.
+     */
+    public boolean inHeap(int handle) {
+        return handle >= 0 && handle < used && degree(handle) >= 0;
+    }
+
+    /**
+     * Removes an entry with the least key from the heap and returns its handle.
+     * The handle's key and value can still be read until the next insert.
+     * <p>
+     * Runs in worst-case O(n) time and amortized O(log n) time.
+     *
+     * @return The handle of the removed entry.
+     * @throws NoSuchElementException If the heap is empty.
+     */
+    public int deleteMin() {
+        if (size == 0) throw new NoSuchElementException("Heap is empty");
+
+        int node = minRoot;
+        size--;
+
+        // put node's children onto root
+        int firstChild = child(node);
+        if (firstChild != NIL)
+        {
+            int curr = firstChild;
+            do {
+                setParent(curr, NIL);
+                curr = right(curr);
+            } while (curr != firstChild);
+            splice(node, firstChild);
+        }
+
+        // delete node from root
+        if (right(node) == node) minRoot = NIL;
+        else
+        {
+            int next = right(node);
+            setRight(left(node), next);
+            setLeft(next, left(node));
+            consolidate(next);
+        }
+
+        freeNode(node);
+        return node;
+    }
+
+    /**
+     * Decreases the key of the entry with the given handle to newKey.
+     * <p>
+     * Runs in worst-case O(log n) time and amortized O(1) time.
+     *
+     * @param handle Handle of the entry for which to update the key.
+     * @param newKey New key for the entry.
+     * @throws IllegalArgumentException If handle is not a current member of the heap or if newKey is
+     * greater than the entry's current key.
+     */
+    public void decreaseKey(int handle, long newKey) {
+        if (!inHeap(handle)) throw new IllegalArgumentException("Entry not found");
+        if (key(handle) < newKey)
+            throw new IllegalArgumentException("New entry keys must be lower than or equal to key");
+
+        setKey(handle, newKey);
+        int p = parent(handle);
+        if (p != NIL && newKey < key(p))
+        {
+            cut(handle);
+            cascadingCut(p);
+        }
+        if (newKey < key(minRoot)) minRoot = handle;
+    }
+
+    /**
+     * Removes the entry with the given handle from the heap.
+     * <p>
+     * Runs in worst-case O(n) time and amortized O(log n) time.
+     *
+     * @param handle Handle of the entry to remove.
+     * @throws IllegalArgumentException If handle is not a current member of the heap.
+     */
+    public void delete(int handle) {
+        if (!inHeap(handle)) throw new IllegalArgumentException("Entry not found");
+
+        int p = parent(handle);
+        if (p != NIL)
+        {
+            cut(handle);
+            cascadingCut(p);
+        }
+        minRoot = handle;
+        deleteMin();
+    }
+
+    /**
+     * Merges other heap with current one, emptying the other heap in the process.
+     * <p>
+     * other's records are copied after this heap's, so the handle of every entry moved from other
+     * becomes its old handle plus the returned offset. Runs in O(m) time, where m is the number of
+     * records other has handed out.
+     *
+     * @param other The other heap from which to merge entries.
+     * @return The offset to add to other's handles.
+     * @throws IllegalArgumentException If other is null or is this heap.
+     */
+    public int merge(OffHeapFibonacciHeap other) {
+        if (other == null) throw new IllegalArgumentException("other is null");
+        if (other == this) throw new IllegalArgumentException("other is this heap");
+        if (other.recordBytes != recordBytes)
+            throw new IllegalArgumentException("other has a different record layout");
+
+        int base = used;
+        int count = other.used;
+        ensureCapacity(base + count);
+
+        for (int i = 0; i < count; i++) {
+            int node = base + i;
+            ByteBuffer from = other.chunk(i);
+            int at = offset(i);
+            setKey(node, from.getLong(at + KEY));
+            chunk(node).putLong(offset(node) + VALUE, from.getLong(at + VALUE));
+            setParent(node, shift(from.getInt(at + PARENT), base));
+            setChild(node, shift(from.getInt(at + CHILD), base));
+            setLeft(node, shift(from.getInt(at + LEFT), base));
+            setRight(node, shift(from.getInt(at + RIGHT), base));
+            setDegree(node, from.getInt(at + DEGREE));
+            setMarked(node, from.get(at + MARKED) != 0);
+        }
+        used += count;
+
+        // other's free records go in front of ours
+        if (other.freeList != NIL)
+        {
+            int last = other.freeList + base;
+            while (right(last) != NIL) last = right(last);
+            setRight(last, freeList);
+            freeList = other.freeList + base;
+        }
+
+        if (other.minRoot != NIL)
+        {
+            int otherMin = other.minRoot + base;
+            if (minRoot == NIL) minRoot = otherMin;
+            else
+            {
+                splice(minRoot, otherMin);
+                if (key(otherMin) < key(minRoot)) minRoot = otherMin;
+            }
+        }
+        size += other.size;
+
+        // Empty other's heap
+        other.size = 0;
+        other.used = 0;
+        other.minRoot = NIL;
+        other.freeList = NIL;
+
+        return base;
+    }
+
+    private static int shift(int handle, int base) {
+        return handle == NIL ? NIL : handle + base;
+    }
+
+    /**
+     * Links roots of equal degree until every root has a distinct degree, then sets minRoot.
+     *
+     * @param start Any root of the root list.
+     */
+    private void consolidate(int start)
+    {
+        int maxDegree = (int) (Math.log(size) / LOG_PHI) + 1;
+        if (degreeTable.length <= maxDegree)
+        {
+            degreeTable = new int[maxDegree + 1];
+            Arrays.fill(degreeTable, NIL);
+        }
+
+        int roots = 0;
+        int curr = start;
+        do {
+            roots++;
+            curr = right(curr);
+        } while (curr != start);
+
+        int highestDegree = 0;
+        curr = start;
+        while (roots-- > 0)
+        {
+            // link may detach curr, so remember where to continue
+            int next = right(curr);
+            int d = degree(curr);
+            while (degreeTable[d] != NIL)
+            {
+                int other = degreeTable[d];
+                degreeTable[d] = NIL;
+                if (key(other) < key(curr))
+                {
+                    int temp = curr;
+                    curr = other;
+                    other = temp;
+                }
+                link(other, curr);
+                d++;
+            }
+            degreeTable[d] = curr;
+            if (d > highestDegree) highestDegree = d;
+            curr = next;
+        }
+
+        // Set new minRoot, leaving the table empty for the next call
+        minRoot = NIL;
+        for (int d = 0; d <= highestDegree; d++)
+        {
+            int root = degreeTable[d];
+            if (root == NIL) continue;
+            degreeTable[d] = NIL;
+            if (minRoot == NIL || key(root) < key(minRoot)) minRoot = root;
+        }
+    }
+
+    /**
+     * Removes root from the root list and makes it a child of newParent.
+     */
+    private void link(int root, int newParent)
+    {
+        setRight(left(root), right(root));
+        setLeft(right(root), left(root));
+
+        int firstChild = child(newParent);
+        if (firstChild == NIL)
+        {
+            setChild(newParent, root);
+            setLeft(root, root);
+            setRight(root, root);
+        }
+        else
+        {
+            setLeft(root, firstChild);
+            setRight(root, right(firstChild));
+            setLeft(right(firstChild), root);
+            setRight(firstChild, root);
+        }
+        setParent(root, newParent);
+        setMarked(root, false);
+        setDegree(newParent, degree(newParent) + 1);
+    }
+
+    /**
+     * Detaches node from its parent and adds it to the root list unmarked.
+     */
+    private void cut(int node)
+    {
+        int p = parent(node);
+        if (right(node) == node) setChild(p, NIL);
+        else
+        {
+            setRight(left(node), right(node));
+            setLeft(right(node), left(node));
+            if (child(p) == node) setChild(p, right(node));
+        }
+        setDegree(p, degree(p) - 1);
+
+        setParent(node, NIL);
+        setMarked(node, false);
+        addRoot(node);
+    }
+
+    /**
+     * Walks up from node, cutting marked ancestors until reaching an unmarked node, which is then
+     * marked. Roots are never marked or cut.
+     */
+    private void cascadingCut(int node)
+    {
+        while (parent(node) != NIL)
+        {
+            if (!marked(node))
+            {
+                setMarked(node, true);
+                return;
+            }
+            int p = parent(node);
+            cut(node);
+            node = p;
+        }
+    }
+
+    /**
+     * Adds a detached node to the root list, next to minRoot.
+     */
+    private void addRoot(int node)
+    {
+        if (minRoot == NIL)
+        {
+            setLeft(node, node);
+            setRight(node, node);
+        }
+        else
+        {
+            setLeft(node, minRoot);
+            setRight(node, right(minRoot));
+            setLeft(right(minRoot), node);
+            setRight(minRoot, node);
+        }
+    }
+
+    /**
+     * Joins the circular list containing b into the circular list containing a, right after a.
+     */
+    private void splice(int a, int b)
+    {
+        int aNext = right(a),
+                bPrev = left(b);
+        setRight(a, b);
+        setLeft(b, a);
+        setRight(bPrev, aNext);
+        setLeft(aNext, bPrev);
+    }
+
+    private int newNode()
+    {
+        int node;
+        if (freeList != NIL)
+        {
+            node = freeList;
+            freeList = right(node);
+        }
+        else
+        {
+            if (used == capacity) ensureCapacity(used + 1);
+            node = used++;
+        }
+        setParent(node, NIL);
+        setChild(node, NIL);
+        setDegree(node, 0);
+        setMarked(node, false);
+        return node;
+    }
+
+    private void freeNode(int node)
+    {
+        setDegree(node, -1);
+        setRight(node, freeList);
+        freeList = node;
+    }
+
+    /**
+     * Requests buffers from storage until at least required records fit. Partial chunks are doubled
+     * in size until they are full, so small heaps do not reserve a full chunk.
+     */
+    private void ensureCapacity(int required)
+    {
+        if (required < 0) throw new IllegalStateException("Heap is full");
+        while (capacity < required)
+        {
+            int last = chunks.length - 1;
+            if (last >= 0 && chunks[last].capacity() < chunkRecords * recordBytes)
+            {
+                // Grow the partial last chunk.
+                int records = chunks[last].capacity() / recordBytes;
+                int grown = Math.min(chunkRecords, Math.max(2 * records, required - last * chunkRecords));
+                chunks[last] = storage.resize(position(last), chunks[last], grown * recordBytes);
+                capacity += grown - records;
+            }
+            else
+            {
+                int records = Math.min(chunkRecords, required - capacity);
+                chunks = Arrays.copyOf(chunks, chunks.length + 1);
+                chunks[last + 1] = storage.resize(position(last + 1), null, records * recordBytes);
+                capacity += records;
+            }
+        }
+    }
+
+    //
+    // STORAGE
+    //
+
+    /**
+     * Source of the buffers that hold a heap's records.
+     */
+    interface Storage {
+        /**
+         * Returns a buffer of the given size for the chunk starting position bytes into the record
+         * area. If old is not null, the returned buffer must start with old's contents; otherwise it
+         * holds whatever the storage already has at that position.
+         */
+        ByteBuffer resize(long position, ByteBuffer old, int bytes);
+    }
+
+    private static final Storage DIRECT = (position, old, bytes) -> {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bytes).order(ByteOrder.nativeOrder());
+        if (old != null) buffer.put(old.duplicate().clear());
+        return buffer.clear();
+    };
+
+    private long position(int chunk)
+    {
+        return (long) chunk * chunkRecords * recordBytes;
+    }
+
+    ByteBuffer[] chunks()
+    {
+        return chunks;
+    }
+
+    /**
+     * Asks storage for every chunk afresh, for a storage whose records have moved. The new buffers
+     * must already hold the records.
+     */
+    void remapChunks()
+    {
+        for (int i = 0; i < chunks.length; i++)
+            chunks[i] = storage.resize(position(i), null, chunks[i].capacity());
+    }
+
+    int capacity()
+    {
+        return capacity;
+    }
+
+    int used()
+    {
+        return used;
+    }
+
+    int freeList()
+    {
+        return freeList;
+    }
+
+    int recordBytes()
+    {
+        return recordBytes;
+    }
+
+    //
+    // RECORD ACCESS
+    //
+
+    ByteBuffer chunk(int node)
+    {
+        return chunks[node >>> chunkShift];
+    }
+
+    int offset(int node)
+    {
+        return (node & (chunkRecords - 1)) * recordBytes;
+    }
+
+    private long key(int node)
+    {
+        return chunk(node).getLong(offset(node) + KEY);
+    }
+
+    private void setKey(int node, long key)
+    {
+        chunk(node).putLong(offset(node) + KEY, key);
+    }
+
+    private int parent(int node)
+    {
+        return chunk(node).getInt(offset(node) + PARENT);
+    }
+
+    private void setParent(int node, int parent)
+    {
+        chunk(node).putInt(offset(node) + PARENT, parent);
+    }
+
+    private int child(int node)
+    {
+        return chunk(node).getInt(offset(node) + CHILD);
+    }
+
+    private void setChild(int node, int child)
+    {
+        chunk(node).putInt(offset(node) + CHILD, child);
+    }
+
+    private int left(int node)
+    {
+        return chunk(node).getInt(offset(node) + LEFT);
+    }
+
+    private void setLeft(int node, int left)
+    {
+        chunk(node).putInt(offset(node) + LEFT, left);
+    }
+
+    private int right(int node)
+    {
+        return chunk(node).getInt(offset(node) + RIGHT);
+    }
+
+    private void setRight(int node, int right)
+    {
+        chunk(node).putInt(offset(node) + RIGHT, right);
+    }
+
+    private int degree(int node)
+    {
+        return chunk(node).getInt(offset(node) + DEGREE);
+    }
+
+    private void setDegree(int node, int degree)
+    {
+        chunk(node).putInt(offset(node) + DEGREE, degree);
+    }
+
+    private boolean marked(int node)
+    {
+        return chunk(node).get(offset(node) + MARKED) != 0;
+    }
+
+    private void setMarked(int node, boolean marked)
+    {
+        chunk(node).put(offset(node) + MARKED, (byte) (marked ? 1 : 0));
+    }
+}
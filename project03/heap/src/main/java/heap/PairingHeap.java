@@ -0,0 +1,313 @@
+package heap;
+
+import java.util.NoSuchElementException;
+
+/**
+ * A pairing heap: a single heap-ordered multiway tree, restructured only by deleteMin.
+ * <p>
+ * Each node points at its leftmost child and at its right sibling, and back at its left sibling,
+ * or at its parent if it is the leftmost child. deleteMin uses the standard two-pass pairing:
+ * the children of the root are linked in pairs from left to right, then the pairs are linked from
+ * right to left. decreaseKey cuts the node's subtree and links it with the root, so it runs in
+ * O(1) worst-case time and o(log n) amortized time; in practice pairing heaps usually beat
+ * Fibonacci heaps on decreaseKey-heavy workloads.
+ *
+ * @param <K> The entries' key type.
+ * @param <V> The entries' value type.
+ */
+public final class PairingHeap <K extends Comparable<? super K>, V> implements MergeableHeap<K, V> {
+
+    //
+    // PROPERTIES
+    //
+
+    private Entry<K, V> root;
+    private int size;
+
+    //
+    // METHODS
+    //
+
+    /**
+     * Instantiate an empty pairing heap.
+     */
+    public PairingHeap() {
+        root = null;
+        size = 0;
+    }
+
+    /**
+     * Inserts a new key-value pair into the pairing heap.
+     * <p>
+     * Runs in worst-case O(1) time.
+     *
+     * @param key Key for the value being inserted.
+     * @param value The value being inserted.
+     * @return The new entry.
+     */
+    public Entry<K, V> insert(K key, V value) {
+        Entry<K, V> entry = new Entry<>(key, value);
+        root = (root == null) ? entry : link(root, entry);
+        size++;
+        return entry;
+    }
+
+    /**
+     * Returns an Entry with the least key in the pairing heap.
+     * <p>
+     * Runs in worst-case O(1) time.
+     *
+     * @return An Entry storing the least key or null if the heap is empty.
+     */
+    public Entry<K, V> findMin() {
+        return root;
+    }
+
+    /**
+     * Returns and removes Entry with the least key from the pairing heap.
+     * <p>
+     * Runs in worst-case O(n) time and amortized O(log n) time.
+     *
+     * @return An Entry storing the least key.
+     * @throws NoSuchElementException If the pairing heap is empty.
+     */
+    public Entry<K, V> deleteMin() {
+        if (size == 0) throw new NoSuchElementException("Heap is empty");
+
+        Entry<K, V> min = root;
+        root = (min.child == null) ? null : pairChildren(min.child);
+        min.child = null;
+        min.inHeap = false;
+        size--;
+        return min;
+    }
+
+    /**
+     * Decreases value of entry's key to newKey.
+     * <p>
+     * Runs in worst-case O(1) time.
+     *
+     * @param handle Entry for which to update the key.
+     * @param newKey New key for entry.
+     * @throws IllegalArgumentException If entry is not a current member of the pairing heap or if
+     * newKey is greater than entry's current key.
+     */
+    public void decreaseKey(MergeableHeap.Entry<K, V> handle, K newKey) {
+        if (!(handle instanceof Entry<K, V> entry) || !entry.inHeap)
+            throw new IllegalArgumentException("Entry not found");
+        if (entry.key.compareTo(newKey) < 0)
+            throw new IllegalArgumentException("New entry keys must be lower than or equal to key");
+
+        entry.key = newKey;
+        if (entry == root) return;
+        cut(entry);
+        root = link(root, entry);
+    }
+
+    /**
+     * Removes entry from the pairing heap.
+     * <p>
+     * Runs in worst-case O(n) time and amortized O(log n) time.
+     *
+     * @param handle Entry to remove from heap.
+     * @throws IllegalArgumentException If entry is not a current member of the pairing heap.
+     */
+    public void delete(MergeableHeap.Entry<K, V> handle) {
+        if (!(handle instanceof Entry<K, V> entry) || !entry.inHeap)
+            throw new IllegalArgumentException("Entry not found");
+
+        if (entry == root)
+        {
+            deleteMin();
+            return;
+        }
+
+        // Detach entry's subtree, then put its children back as one tree
+        cut(entry);
+        if (entry.child != null)
+        {
+            root = link(root, pairChildren(entry.child));
+            entry.child = null;
+        }
+        entry.inHeap = false;
+        size--;
+    }
+
+    /**
+     * Merges other pairing heap with current one, emptying the other heap in the process.
+     * <p>
+     * Runs in worst-case O(1) time.
+     *
+     * @param otherHeap The other pairing heap from which to merge entries.
+     * @throws IllegalArgumentException If other is null, is this heap, or is not a PairingHeap.
+     */
+    public void merge(MergeableHeap<K, V> otherHeap) {
+        if (otherHeap == null) throw new IllegalArgumentException("other is null");
+        if (otherHeap == this) throw new IllegalArgumentException("other is this heap");
+        if (!(otherHeap instanceof PairingHeap<K, V> other))
+            throw new IllegalArgumentException("other is not a PairingHeap");
+        if (other.root == null) return;
+
+        root = (root == null) ? other.root : link(root, other.root);
+        size += other.size;
+        other.root = null;
+        other.size = 0;
+    }
+
+    /**
+     * Returns the number of entries in the pairing heap.
+     * <p>
+     * Runs in worst-case O(1) time.
+     *
+     * @return The number of entries.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns whether the pairing heap has no entries.
+     * <p>
+     * Runs in worst-case O(1) time.
+     *
+     * @return true if the heap is empty.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Links two trees, making the root with the greater key the leftmost child of the other.
+     * Both must be detached (no siblings, no parent).
+     *
+     * @return The root of the linked tree.
+     */
+    private Entry<K, V> link(Entry<K, V> first, Entry<K, V> second)
+    {
+        Entry<K, V> small = (second.key.compareTo(first.key) < 0) ? second : first,
+                large = (small == first) ? second : first;
+
+        large.next = small.child;
+        if (small.child != null) small.child.prev = large;
+        large.prev = small;
+        small.child = large;
+        return small;
+    }
+
+    /**
+     * Detaches entry, with its subtree, from its parent and siblings.
+     */
+    private void cut(Entry<K, V> entry)
+    {
+        Entry<K, V> prev = entry.prev,
+                next = entry.next;
+        if (prev.child == entry) prev.child = next; // entry is the leftmost child of prev
+        else prev.next = next;
+        if (next != null) next.prev = prev;
+        entry.prev = null;
+        entry.next = null;
+    }
+
+    /**
+     * Links a list of siblings into one tree by two-pass pairing.
+     *
+     * @param first The leftmost sibling.
+     * @return The root of the resulting tree.
+     */
+    private Entry<K, V> pairChildren(Entry<K, V> first)
+    {
+        // First pass: link pairs left to right, stacking the results through next
+        Entry<K, V> pairs = null,
+                curr = first;
+        while (curr != null)
+        {
+            Entry<K, V> second = curr.next;
+            Entry<K, V> rest = (second == null) ? null : second.next;
+            curr.prev = null;
+            curr.next = null;
+            Entry<K, V> pair = curr;
+            if (second != null)
+            {
+                second.prev = null;
+                second.next = null;
+                pair = link(curr, second);
+            }
+            pair.next = pairs;
+            pairs = pair;
+            curr = rest;
+        }
+
+        // Second pass: link the pairs right to left, i.e. in stack order
+        Entry<K, V> result = pairs;
+        pairs = pairs.next;
+        result.next = null;
+        while (pairs != null)
+        {
+            Entry<K, V> nextPair = pairs.next;
+            pairs.next = null;
+            result = link(pairs, result);
+            pairs = nextPair;
+        }
+        return result;
+    }
+
+    //
+    // ENTRIES
+    //
+
+    /**
+     * Entry: a key-value pair, which is also the tree node holding it.
+     *
+     * @param <K> The key type.
+     * @param <V> The value type.
+     */
+    public static final class Entry<K, V> implements MergeableHeap.Entry<K, V> {
+        /**
+         * Instantiates a new entry.
+         * Marked private so only the heap itself can create new entry instances.
+         *
+         * @param key The entry's key.
+         * @param value The entry's value.
+         */
+        private Entry(K key, V value) {
+            this.key = key;
+            this.value = value;
+            this.inHeap = true;
+        }
+
+        /**
+         * Returns whether the entry still exists in the heap.
+         *
+         * @return true if entry has not been deleted from the heap.
+         */
+        public boolean inHeap() {
+            return inHeap;
+        }
+
+        /**
+         * Returns key for this entry.
+         *
+         * @return Key for this entry.
+         */
+        public K getKey() {
+            return key;
+        }
+
+        /**
+         * Returns value of this entry.
+         *
+         * @return Value of this entry.
+         */
+        public V getValue() {
+            return value;
+        }
+
+        private K key;
+        private final V value;
+        private boolean inHeap;
+
+        private Entry<K, V> child; // Leftmost child.
+        private Entry<K, V> next; // Right sibling.
+        private Entry<K, V> prev; // Left sibling, or parent for the leftmost child; null for roots.
+    }
+}
@@ -0,0 +1,381 @@
+package heap;
+
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * An immutable skew binomial heap (Okasaki, "Purely Functional Data Structures", section 9.3).
+ * insert, deleteMin and merge leave the heap they are called on untouched and return a new version,
+ * which shares all but O(log n) of its nodes with the old one.
+ * <p>
+ * Keeping a version is therefore an O(1) snapshot: a writer can publish each new version through a
+ * volatile field or an AtomicReference, and readers on other threads take the current one and
+ * query, iterate or even deleteMin from it without locks while the writer moves on. Every field is
+ * final, so a published version is safely visible with its whole structure.
+ * <p>
+ * A skew binomial tree of rank r holds a root, up to r further entries that are no less than the
+ * root, and r children of decreasing rank. The heap is a list of trees in increasing rank, where
+ * only the first two may share a rank, so insert is a single skew link in the worst case. The least
+ * root is cached, making findMin O(1).
+ * <p>
+ * Keys are ordered by their natural ordering or by a Comparator. Without a Comparator, keys must
+ * be Comparable. There are no handles, so no decreaseKey or delete.
+ *
+ * @param <K> The entries' key type.
+ * @param <V> The entries' value type.
+ */
+public final class PersistentHeap <K, V> implements Iterable<PersistentHeap.Entry<K, V>> {
+
+    //
+    // PROPERTIES
+    //
+
+    private final Link<Tree<K, V>> trees; // Increasing rank; only the first two may share one.
+    private final Entry<K, V> min;        // Root of the first tree whose root is least; null if empty.
+    private final int size;
+    private final Comparator<? super K> comparator; // null: natural ordering.
+
+    //
+    // METHODS
+    //
+
+    /**
+     * Instantiate an empty persistent heap that orders keys by their natural ordering.
+     */
+    public PersistentHeap() {
+        this(null, null, null, 0);
+    }
+
+    /**
+     * Instantiate an empty persistent heap that orders keys by comparator.
+     *
+     * @param comparator Ordering of the keys.
+     * @throws IllegalArgumentException If comparator is null.
+     */
+    public PersistentHeap(Comparator<? super K> comparator) {
+        this(comparator, null, null, 0);
+        if (comparator == null) throw new IllegalArgumentException("comparator is null");
+    }
+
+    private PersistentHeap(Comparator<? super K> comparator, Link<Tree<K, V>> trees, Entry<K, V> min, int size)
+    {
+        this.comparator = comparator;
+        this.trees = trees;
+        this.min = min;
+        this.size = size;
+    }
+
+    /**
+     * Returns the number of entries in this version.
+     *
+     * @return The number of entries.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns whether this version has no entries.
+     *
+     * @return true if the heap is empty.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns a version that also holds a new key-value pair. Keys and values equal to ones
+     * already present are allowed.
+     * <p>
+     * Runs in worst-case O(1) time.
+     *
+     * @param key Key for the value being inserted.
+     * @param value The value being inserted.
+     * @return The new version.
+     */
+    public PersistentHeap<K, V> insert(K key, V value) {
+        Entry<K, V> entry = new Entry<>(key, value);
+        // entry ends up the root of the first tree whenever it is no greater than min
+        Entry<K, V> newMin = (min == null || !less(min, entry)) ? entry : min;
+        return new PersistentHeap<>(comparator, insert(entry, trees), newMin, size + 1);
+    }
+
+    /**
+     * Returns an Entry with the least key, or null if this version is empty.
+     * <p>
+     * Runs in worst-case O(1) time.
+     *
+     * @return An Entry storing the least key or null if the heap is empty.
+     */
+    public Entry<K, V> findMin() {
+        return min;
+    }
+
+    /**
+     * Returns a version without the Entry that findMin returns.
+     * <p>
+     * Runs in worst-case O(log n) time.
+     *
+     * @return The new version.
+     * @throws NoSuchElementException If this version is empty.
+     */
+    public PersistentHeap<K, V> deleteMin() {
+        if (size == 0) throw new NoSuchElementException("Heap is empty");
+
+        // Copy the trees before min's, then share the rest
+        Link<Tree<K, V>> before = null;
+        Link<Tree<K, V>> after = trees;
+        while (after.head.root != min)
+        {
+            before = new Link<>(after.head, before);
+            after = after.next;
+        }
+        Tree<K, V> minTree = after.head;
+        Link<Tree<K, V>> rest = after.next;
+        for (; before != null; before = before.next) rest = new Link<>(before.head, rest);
+
+        // Children come in decreasing rank, so reversed they form a heap of their own
+        Link<Tree<K, V>> children = null;
+        for (Link<Tree<K, V>> child = minTree.children; child != null; child = child.next)
+            children = new Link<>(child.head, children);
+        Link<Tree<K, V>> merged = merge(children, rest);
+        for (Link<Entry<K, V>> extra = minTree.extras; extra != null; extra = extra.next)
+            merged = insert(extra.head, merged);
+
+        return new PersistentHeap<>(comparator, merged, leastRoot(merged), size - 1);
+    }
+
+    /**
+     * Returns a version holding the entries of both this version and other, which are left as they
+     * were.
+     * <p>
+     * Runs in worst-case O(log n) time for two heaps of size at most n.
+     *
+     * @param other The other heap from which to take entries.
+     * @return The new version.
+     * @throws IllegalArgumentException If other is null or was not built with the same Comparator
+     * instance, if any.
+     */
+    public PersistentHeap<K, V> merge(PersistentHeap<K, V> other) {
+        if (other == null) throw new IllegalArgumentException("other is null");
+        if (other.comparator != comparator) throw new IllegalArgumentException("other orders keys differently");
+        if (other.size == 0) return this;
+        if (size == 0) return other;
+
+        Link<Tree<K, V>> merged = merge(trees, other.trees);
+        return new PersistentHeap<>(comparator, merged, leastRoot(merged), size + other.size);
+    }
+
+    /**
+     * Returns an iterator over the entries of this version in no particular order. Repeated
+     * findMin and deleteMin give them in key order instead.
+     * <p>
+     * Runs in O(n) time over the whole iteration.
+     *
+     * @return An iterator that does not support remove.
+     */
+    public Iterator<Entry<K, V>> iterator() {
+        return new Iterator<>() {
+            // Sibling lists of trees still to visit, and the extras of the latest tree visited
+            private final ArrayDeque<Link<Tree<K, V>>> pendingTrees = new ArrayDeque<>();
+            private Link<Entry<K, V>> pendingExtras;
+
+            {
+                if (trees != null) pendingTrees.push(trees);
+            }
+
+            @Override
+            public boolean hasNext() {
+                return pendingExtras != null || !pendingTrees.isEmpty();
+            }
+
+            @Override
+            public Entry<K, V> next() {
+                if (pendingExtras != null)
+                {
+                    Entry<K, V> extra = pendingExtras.head;
+                    pendingExtras = pendingExtras.next;
+                    return extra;
+                }
+                if (pendingTrees.isEmpty()) throw new NoSuchElementException();
+
+                Link<Tree<K, V>> list = pendingTrees.pop();
+                Tree<K, V> tree = list.head;
+                if (list.next != null) pendingTrees.push(list.next);
+                if (tree.children != null) pendingTrees.push(tree.children);
+                pendingExtras = tree.extras;
+                return tree.root;
+            }
+        };
+    }
+
+    /**
+     * Returns whether first's key orders strictly before second's.
+     */
+    @SuppressWarnings("unchecked")
+    private boolean less(Entry<K, V> first, Entry<K, V> second)
+    {
+        if (comparator != null) return comparator.compare(first.key, second.key) < 0;
+        return ((Comparable<? super K>) first.key).compareTo(second.key) < 0;
+    }
+
+    /**
+     * Returns the root of the first tree whose root is least, or null for no trees.
+     * <p>
+     * Runs in O(log n) time.
+     */
+    private Entry<K, V> leastRoot(Link<Tree<K, V>> list)
+    {
+        Entry<K, V> least = null;
+        for (; list != null; list = list.next)
+            if (least == null || less(list.head.root, least)) least = list.head.root;
+        return least;
+    }
+
+    /**
+     * Adds entry to the front of list, skew linking it with the first two trees if they share a
+     * rank, and otherwise as a tree of rank 0.
+     * <p>
+     * Runs in worst-case O(1) time.
+     */
+    private Link<Tree<K, V>> insert(Entry<K, V> entry, Link<Tree<K, V>> list)
+    {
+        if (list != null && list.next != null && list.head.rank == list.next.head.rank)
+            return new Link<>(skewLink(entry, list.head, list.next.head), list.next.next);
+        return new Link<>(new Tree<>(0, entry, null, null), list);
+    }
+
+    /**
+     * Links two trees of the same rank into one of the next rank, entry becoming its root if it is
+     * no greater than both roots and an extra entry otherwise.
+     */
+    private Tree<K, V> skewLink(Entry<K, V> entry, Tree<K, V> first, Tree<K, V> second)
+    {
+        Tree<K, V> linked = link(first, second);
+        if (!less(linked.root, entry))
+            return new Tree<>(linked.rank, entry, new Link<>(linked.root, linked.extras), linked.children);
+        return new Tree<>(linked.rank, linked.root, new Link<>(entry, linked.extras), linked.children);
+    }
+
+    /**
+     * Makes the tree with the greater root the first child of the other, which keeps first on equal
+     * roots, in a new tree of the next rank.
+     */
+    private Tree<K, V> link(Tree<K, V> first, Tree<K, V> second)
+    {
+        if (less(second.root, first.root)) return new Tree<>(second.rank + 1, second.root, second.extras, new Link<>(first, second.children));
+        return new Tree<>(first.rank + 1, first.root, first.extras, new Link<>(second, first.children));
+    }
+
+    /**
+     * Merges two lists of trees into one in increasing rank where no two trees share a rank.
+     * <p>
+     * Runs in O(log n) time, recursing once per tree.
+     */
+    private Link<Tree<K, V>> merge(Link<Tree<K, V>> first, Link<Tree<K, V>> second)
+    {
+        return mergeUnique(uniqueRanks(first), uniqueRanks(second));
+    }
+
+    private Link<Tree<K, V>> mergeUnique(Link<Tree<K, V>> first, Link<Tree<K, V>> second)
+    {
+        if (first == null) return second;
+        if (second == null) return first;
+        if (first.head.rank < second.head.rank) return new Link<>(first.head, mergeUnique(first.next, second));
+        if (second.head.rank < first.head.rank) return new Link<>(second.head, mergeUnique(first, second.next));
+        return insertTree(link(first.head, second.head), mergeUnique(first.next, second.next));
+    }
+
+    /**
+     * Links the first two trees of list if they share a rank, the only place a heap may repeat one.
+     */
+    private Link<Tree<K, V>> uniqueRanks(Link<Tree<K, V>> list)
+    {
+        return (list == null) ? null : insertTree(list.head, list.next);
+    }
+
+    /**
+     * Adds tree, of rank no greater than any in list, to the front of list, linking it with trees
+     * of the same rank as a carry would.
+     */
+    private Link<Tree<K, V>> insertTree(Tree<K, V> tree, Link<Tree<K, V>> list)
+    {
+        while (list != null && tree.rank >= list.head.rank)
+        {
+            tree = link(tree, list.head);
+            list = list.next;
+        }
+        return new Link<>(tree, list);
+    }
+
+    //
+    // ENTRIES, TREES AND LISTS
+    //
+
+    /**
+     * An immutable key-value pair, shared by every version that holds it.
+     *
+     * @param <K> The key type.
+     * @param <V> The value type.
+     */
+    public static final class Entry<K, V> {
+
+        private final K key;
+        private final V value;
+
+        private Entry(K key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+
+        /**
+         * Returns key for this entry.
+         *
+         * @return Key for this entry.
+         */
+        public K getKey() {
+            return key;
+        }
+
+        /**
+         * Returns value of this entry.
+         *
+         * @return Value of this entry.
+         */
+        public V getValue() {
+            return value;
+        }
+    }
+
+    /**
+     * A skew binomial tree. Trees are never modified once built; linking builds a new root.
+     */
+    private static final class Tree<K, V> {
+        final int rank;
+        final Entry<K, V> root;
+        final Link<Entry<K, V>> extras;     // Up to rank entries, each no less than root.
+        final Link<Tree<K, V>> children;    // Decreasing rank.
+
+        Tree(int rank, Entry<K, V> root, Link<Entry<K, V>> extras, Link<Tree<K, V>> children) {
+            this.rank = rank;
+            this.root = root;
+            this.extras = extras;
+            this.children = children;
+        }
+    }
+
+    /**
+     * A cell of an immutable singly linked list, null being the empty list.
+     */
+    private static final class Link<T> {
+        final T head;
+        final Link<T> next;
+
+        Link(T head, Link<T> next) {
+            this.head = head;
+            this.next = next;
+        }
+    }
+}
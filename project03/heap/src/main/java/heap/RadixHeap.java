@@ -0,0 +1,307 @@
+package heap;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * A radix heap: a monotone priority queue over non-negative long keys that places each entry by
+ * the highest bit in which its key differs from lastMin().
+ * <p>
+ * Bucket 0 holds keys equal to lastMin(), and bucket i (1 to 64) holds keys whose highest bit
+ * differing from lastMin() is bit i-1. When bucket 0 runs empty, deleteMin takes the lowest
+ * non-empty bucket, makes its least key the new lastMin(), and redistributes the bucket; every
+ * entry moves to a strictly lower bucket. So an entry moves at most 64 times over its lifetime,
+ * and the only key comparisons are the scans for a bucket's minimum.
+ * <p>
+ * Each bucket is an array, and every entry knows its bucket and slot, so decreaseKey and delete
+ * remove it in O(1) by moving the bucket's last entry into its slot.
+ *
+ * @param <V> The entries' value type.
+ */
+public final class RadixHeap <V> implements MonotoneHeap<V> {
+
+    //
+    // PROPERTIES
+    //
+
+    private final Entry<V>[][] buckets;
+    private final int[] counts;
+    private long lastMin;
+    private int size;
+
+    private static final int BUCKETS = Long.SIZE + 1;
+
+    //
+    // METHODS
+    //
+
+    /**
+     * Instantiate an empty radix heap.
+     */
+    public RadixHeap() {
+        @SuppressWarnings("unchecked")
+        Entry<V>[][] array = (Entry<V>[][]) new Entry[BUCKETS][];
+        for (int i = 0; i < BUCKETS; i++) {
+            @SuppressWarnings("unchecked")
+            Entry<V>[] bucket = (Entry<V>[]) new Entry[4];
+            array[i] = bucket;
+        }
+        buckets = array;
+        counts = new int[BUCKETS];
+        lastMin = 0;
+        size = 0;
+    }
+
+    /**
+     * Inserts a new key-value pair into the radix heap.
+     * <p>
+     * Runs in worst-case O(1) time, amortized over bucket growth.
+     *
+     * @param key Key for the value being inserted.
+     * @param value The value being inserted.
+     * @return The new entry.
+     * @throws IllegalArgumentException If key is below lastMin().
+     */
+    public Entry<V> insert(long key, V value) {
+        if (key < lastMin) throw new IllegalArgumentException("key is below the last minimum");
+        Entry<V> entry = new Entry<>(key, value);
+        add(entry);
+        size++;
+        return entry;
+    }
+
+    /**
+     * Returns an Entry with the least key in the radix heap, without moving any entry.
+     * <p>
+     * Runs in O(1) time if an entry has key lastMin(), otherwise in O(b) time for the b entries of
+     * the lowest non-empty bucket.
+     *
+     * @return An Entry storing the least key or null if the heap is empty.
+     */
+    public Entry<V> findMin() {
+        if (size == 0) return null;
+        if (counts[0] > 0) return buckets[0][0];
+        int index = lowestNonEmptyBucket();
+        return buckets[index][minSlot(index)];
+    }
+
+    /**
+     * Returns and removes Entry with the least key from the radix heap.
+     * <p>
+     * Runs in amortized O(1) time per entry moved, and an entry moves at most 64 times.
+     *
+     * @return An Entry storing the least key.
+     * @throws NoSuchElementException If the radix heap is empty.
+     */
+    public Entry<V> deleteMin() {
+        if (size == 0) throw new NoSuchElementException("Heap is empty");
+
+        if (counts[0] == 0)
+        {
+            int index = lowestNonEmptyBucket();
+            Entry<V>[] bucket = buckets[index];
+            int count = counts[index];
+            lastMin = bucket[minSlot(index)].key;
+
+            // Every entry of the bucket now lands in a lower bucket
+            counts[index] = 0;
+            for (int slot = 0; slot < count; slot++)
+            {
+                Entry<V> entry = bucket[slot];
+                bucket[slot] = null;
+                add(entry);
+            }
+        }
+
+        Entry<V> min = buckets[0][counts[0] - 1];
+        remove(min);
+        size--;
+        return min;
+    }
+
+    /**
+     * Decreases value of entry's key to newKey, moving it to a lower or the same bucket.
+     * <p>
+     * Runs in worst-case O(1) time, amortized over bucket growth.
+     *
+     * @param handle Entry for which to update the key.
+     * @param newKey New key for entry.
+     * @throws IllegalArgumentException If entry is not a current member of the radix heap, if newKey
+     * is greater than entry's current key, or if newKey is below lastMin().
+     */
+    public void decreaseKey(MonotoneHeap.Entry<V> handle, long newKey) {
+        if (!(handle instanceof Entry<V> entry) || entry.bucket < 0)
+            throw new IllegalArgumentException("Entry not found");
+        if (entry.key < newKey)
+            throw new IllegalArgumentException("New entry keys must be lower than or equal to key");
+        if (newKey < lastMin) throw new IllegalArgumentException("key is below the last minimum");
+
+        remove(entry);
+        entry.key = newKey;
+        add(entry);
+    }
+
+    /**
+     * Removes entry from the radix heap.
+     * <p>
+     * Runs in worst-case O(1) time.
+     *
+     * @param handle Entry to remove from heap.
+     * @throws IllegalArgumentException If entry is not a current member of the radix heap.
+     */
+    public void delete(MonotoneHeap.Entry<V> handle) {
+        if (!(handle instanceof Entry<V> entry) || entry.bucket < 0)
+            throw new IllegalArgumentException("Entry not found");
+        remove(entry);
+        size--;
+    }
+
+    /**
+     * Returns the key most recently removed by deleteMin, or 0 if there was none.
+     *
+     * @return The lower bound on keys.
+     */
+    public long lastMin() {
+        return lastMin;
+    }
+
+    /**
+     * Removes every entry and sets lastMin() back to 0. The buckets keep their arrays.
+     * <p>
+     * Runs in O(n) time.
+     */
+    public void clear() {
+        for (int index = 0; index < BUCKETS; index++)
+        {
+            Entry<V>[] bucket = buckets[index];
+            for (int slot = 0; slot < counts[index]; slot++)
+            {
+                bucket[slot].bucket = -1;
+                bucket[slot] = null;
+            }
+            counts[index] = 0;
+        }
+        lastMin = 0;
+        size = 0;
+    }
+
+    /**
+     * Returns the number of entries in the radix heap.
+     *
+     * @return The number of entries.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns whether the radix heap has no entries.
+     *
+     * @return true if the heap is empty.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Appends entry to the bucket its key belongs in relative to lastMin.
+     */
+    private void add(Entry<V> entry)
+    {
+        long diff = entry.key ^ lastMin;
+        int index = (diff == 0) ? 0 : Long.SIZE - Long.numberOfLeadingZeros(diff);
+        Entry<V>[] bucket = buckets[index];
+        int count = counts[index];
+        if (count == bucket.length) buckets[index] = bucket = Arrays.copyOf(bucket, 2 * count);
+        bucket[count] = entry;
+        entry.bucket = index;
+        entry.slot = count;
+        counts[index] = count + 1;
+    }
+
+    /**
+     * Takes entry out of its bucket, moving the bucket's last entry into its slot.
+     */
+    private void remove(Entry<V> entry)
+    {
+        Entry<V>[] bucket = buckets[entry.bucket];
+        int last = --counts[entry.bucket];
+        Entry<V> moved = bucket[last];
+        bucket[entry.slot] = moved;
+        moved.slot = entry.slot;
+        bucket[last] = null;
+        entry.bucket = -1;
+    }
+
+    private int lowestNonEmptyBucket()
+    {
+        int index = 1;
+        while (counts[index] == 0) index++;
+        return index;
+    }
+
+    private int minSlot(int index)
+    {
+        Entry<V>[] bucket = buckets[index];
+        int min = 0;
+        for (int slot = 1; slot < counts[index]; slot++)
+            if (bucket[slot].key < bucket[min].key) min = slot;
+        return min;
+    }
+
+    //
+    // ENTRIES
+    //
+
+    /**
+     * Entry: a key-value pair and the bucket slot it occupies.
+     *
+     * @param <V> The value type.
+     */
+    public static final class Entry<V> implements MonotoneHeap.Entry<V> {
+        /**
+         * Instantiates a new entry.
+         * Marked private so only the heap itself can create new entry instances.
+         *
+         * @param key The entry's key.
+         * @param value The entry's value.
+         */
+        private Entry(long key, V value) {
+            this.key = key;
+            this.value = value;
+            this.bucket = -1;
+        }
+
+        /**
+         * Returns whether the entry still exists in the heap.
+         *
+         * @return true if entry has not been deleted from the heap.
+         */
+        public boolean inHeap() {
+            return bucket >= 0;
+        }
+
+        /**
+         * Returns key for this entry.
+         *
+         * @return Key for this entry.
+         */
+        public long getKey() {
+            return key;
+        }
+
+        /**
+         * Returns value of this entry.
+         *
+         * @return Value of this entry.
+         */
+        public V getValue() {
+            return value;
+        }
+
+        private long key;
+        private final V value;
+        private int bucket; // Index of the bucket holding this entry, or -1 once removed.
+        private int slot; // Position within the bucket.
+    }
+}
@@ -0,0 +1,379 @@
+package heap;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * A rank-pairing heap (Haeupler, Sen and Tarjan), type 2, with one-pass linking.
+ * <p>
+ * The heap is a circular list of half trees: binary trees whose root has only a left child, ordered
+ * so that every node's key is at most the keys in its left subtree. A node's left child and right
+ * child stand for its first child and next sibling in the equivalent multiway tree. Roots are
+ * linked through their unused right pointers, and minRoot points into that list.
+ * <p>
+ * insert and merge add to the root list. deleteMin breaks the minimum's left spine into half trees,
+ * then makes one pass over them and the old roots, linking two half trees whenever it meets a
+ * second one of the same rank. decreaseKey cuts the node with its left subtree into a new half tree
+ * and lowers ranks along the path above it. Ranks follow the type-2 rule: the children of a
+ * non-root differ in rank from it by 1 and 1, 1 and 2, or 0 and any amount.
+ * <p>
+ * Bounds match the Fibonacci heap: O(1) insert, merge and decreaseKey and O(log n) deleteMin, all
+ * amortized. Unlike a Fibonacci heap, decreaseKey never cascades cuts, so it tends to be faster in
+ * practice.
+ *
+ * @param <K> The entries' key type.
+ * @param <V> The entries' value type.
+ */
+public final class RankPairingHeap <K extends Comparable<? super K>, V> implements MergeableHeap<K, V> {
+
+    //
+    // PROPERTIES
+    //
+
+    private Entry<K, V> minRoot;
+    private int size;
+    private Entry<K, V>[] rankTable; // Scratch space for deleteMin(), always left empty.
+
+    //
+    // METHODS
+    //
+
+    /**
+     * Instantiate an empty rank-pairing heap.
+     */
+    public RankPairingHeap() {
+        minRoot = null;
+        size = 0;
+        @SuppressWarnings("unchecked")
+        Entry<K, V>[] table = (Entry<K, V>[]) new Entry[16];
+        rankTable = table;
+    }
+
+    /**
+     * Inserts a new key-value pair into the rank-pairing heap as a half tree of rank 0.
+     * <p>
+     * Runs in worst-case O(1) time.
+     *
+     * @param key Key for the value being inserted.
+     * @param value The value being inserted.
+     * @return The new entry.
+     */
+    public Entry<K, V> insert(K key, V value) {
+        Entry<K, V> entry = new Entry<>(key, value);
+        addRoot(entry);
+        size++;
+        return entry;
+    }
+
+    /**
+     * Returns an Entry with the least key in the rank-pairing heap.
+     * <p>
+     * Runs in worst-case O(1) time.
+     *
+     * @return An Entry storing the least key or null if the heap is empty.
+     */
+    public Entry<K, V> findMin() {
+        return minRoot;
+    }
+
+    /**
+     * Returns and removes Entry with the least key from the rank-pairing heap.
+     * <p>
+     * Runs in worst-case O(n) time and amortized O(log n) time.
+     *
+     * @return An Entry storing the least key.
+     * @throws NoSuchElementException If the rank-pairing heap is empty.
+     */
+    public Entry<K, V> deleteMin() {
+        if (size == 0) throw new NoSuchElementException("Heap is empty");
+
+        Entry<K, V> min = minRoot;
+        size--;
+        min.inHeap = false;
+
+        Entry<K, V> oldRoots = min.right;
+        Entry<K, V> spine = min.left;
+        min.left = null;
+        min.right = null;
+        minRoot = null;
+        if (size == 0) return min;
+
+        // The right spine of min's left child becomes a list of half trees
+        while (spine != null)
+        {
+            Entry<K, V> next = spine.right;
+            spine.parent = null;
+            spine.right = null;
+            spine.rank = rank(spine.left) + 1;
+            offer(spine);
+            spine = next;
+        }
+
+        // Then every other old root
+        while (oldRoots != min)
+        {
+            Entry<K, V> next = oldRoots.right;
+            oldRoots.right = null;
+            offer(oldRoots);
+            oldRoots = next;
+        }
+
+        // Unmatched half trees join the new root list, leaving the table empty for the next call
+        for (int rank = 0; rank < rankTable.length; rank++)
+        {
+            Entry<K, V> root = rankTable[rank];
+            if (root == null) continue;
+            rankTable[rank] = null;
+            addRoot(root);
+        }
+        return min;
+    }
+
+    /**
+     * Decreases value of entry's key to newKey.
+     * <p>
+     * Runs in worst-case O(log n) time and amortized O(1) time.
+     *
+     * @param handle Entry for which to update the key.
+     * @param newKey New key for entry.
+     * @throws IllegalArgumentException If entry is not a current member of the rank-pairing heap or
+     * if newKey is greater than entry's current key.
+     */
+    public void decreaseKey(MergeableHeap.Entry<K, V> handle, K newKey) {
+        if (!(handle instanceof Entry<K, V> entry) || !entry.inHeap)
+            throw new IllegalArgumentException("Entry not found");
+        if (entry.key.compareTo(newKey) < 0)
+            throw new IllegalArgumentException("New entry keys must be lower than or equal to key");
+
+        entry.key = newKey;
+        if (entry.parent == null)
+        {
+            if (newKey.compareTo(minRoot.key) < 0) minRoot = entry;
+            return;
+        }
+        cut(entry);
+    }
+
+    /**
+     * Removes entry from the rank-pairing heap.
+     * <p>
+     * Runs in worst-case O(n) time and amortized O(log n) time.
+     *
+     * @param handle Entry to remove from heap.
+     * @throws IllegalArgumentException If entry is not a current member of the rank-pairing heap.
+     */
+    public void delete(MergeableHeap.Entry<K, V> handle) {
+        if (!(handle instanceof Entry<K, V> entry) || !entry.inHeap)
+            throw new IllegalArgumentException("Entry not found");
+
+        if (entry.parent != null) cut(entry);
+        // deleteMin removes minRoot whatever its key, and recomputes the minimum from scratch
+        minRoot = entry;
+        deleteMin();
+    }
+
+    /**
+     * Merges other rank-pairing heap with current one, emptying the other heap in the process.
+     * <p>
+     * Runs in worst-case O(1) time.
+     *
+     * @param otherHeap The other rank-pairing heap from which to merge entries.
+     * @throws IllegalArgumentException If other is null, is this heap, or is not a RankPairingHeap.
+     */
+    public void merge(MergeableHeap<K, V> otherHeap) {
+        if (otherHeap == null) throw new IllegalArgumentException("other is null");
+        if (otherHeap == this) throw new IllegalArgumentException("other is this heap");
+        if (!(otherHeap instanceof RankPairingHeap<K, V> other))
+            throw new IllegalArgumentException("other is not a RankPairingHeap");
+        if (other.minRoot == null) return;
+
+        if (minRoot == null) minRoot = other.minRoot;
+        else
+        {
+            // Splice the two circular lists together by swapping successors
+            Entry<K, V> next = minRoot.right;
+            minRoot.right = other.minRoot.right;
+            other.minRoot.right = next;
+            if (other.minRoot.key.compareTo(minRoot.key) < 0) minRoot = other.minRoot;
+        }
+        size += other.size;
+        other.minRoot = null;
+        other.size = 0;
+    }
+
+    /**
+     * Returns the number of entries in the rank-pairing heap.
+     * <p>
+     * Runs in worst-case O(1) time.
+     *
+     * @return The number of entries.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns whether the rank-pairing heap has no entries.
+     * <p>
+     * Runs in worst-case O(1) time.
+     *
+     * @return true if the heap is empty.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Adds a half tree to the root list and updates minRoot.
+     */
+    private void addRoot(Entry<K, V> root)
+    {
+        if (minRoot == null)
+        {
+            root.right = root;
+            minRoot = root;
+            return;
+        }
+        root.right = minRoot.right;
+        minRoot.right = root;
+        if (root.key.compareTo(minRoot.key) < 0) minRoot = root;
+    }
+
+    /**
+     * One step of one-pass linking: links root with the waiting half tree of the same rank and adds
+     * the result to the root list, or leaves root waiting if there is none.
+     */
+    private void offer(Entry<K, V> root)
+    {
+        int rank = root.rank;
+        if (rank >= rankTable.length) rankTable = Arrays.copyOf(rankTable, 2 * rank);
+        Entry<K, V> other = rankTable[rank];
+        if (other == null)
+        {
+            rankTable[rank] = root;
+            return;
+        }
+        rankTable[rank] = null;
+        addRoot(link(root, other));
+    }
+
+    /**
+     * Links two half trees of equal rank: the root with the greater key becomes the left child of
+     * the other, taking the other's old left subtree as its right subtree.
+     *
+     * @return The root of the linked half tree, one rank higher.
+     */
+    private Entry<K, V> link(Entry<K, V> first, Entry<K, V> second)
+    {
+        Entry<K, V> small = (second.key.compareTo(first.key) < 0) ? second : first,
+                large = (small == first) ? second : first;
+
+        large.right = small.left;
+        if (large.right != null) large.right.parent = large;
+        large.parent = small;
+        small.left = large;
+        small.rank++;
+        return small;
+    }
+
+    /**
+     * Makes a non-root entry and its left subtree a new half tree, then restores the rank rule on
+     * the path above it.
+     */
+    private void cut(Entry<K, V> entry)
+    {
+        Entry<K, V> parent = entry.parent,
+                replacement = entry.right;
+        if (parent.left == entry) parent.left = replacement;
+        else parent.right = replacement;
+        if (replacement != null) replacement.parent = parent;
+
+        entry.parent = null;
+        entry.right = null;
+        entry.rank = rank(entry.left) + 1;
+        addRoot(entry);
+
+        // Ranks only fall; stop at the first node whose rank is already consistent
+        for (Entry<K, V> node = parent; ; node = node.parent)
+        {
+            if (node.parent == null)
+            {
+                node.rank = rank(node.left) + 1;
+                return;
+            }
+            int leftRank = rank(node.left),
+                    rightRank = rank(node.right);
+            int newRank = (Math.abs(leftRank - rightRank) > 1)
+                    ? Math.max(leftRank, rightRank)
+                    : Math.max(leftRank, rightRank) + 1;
+            if (newRank >= node.rank) return;
+            node.rank = newRank;
+        }
+    }
+
+    private static int rank(Entry<?, ?> node)
+    {
+        return (node == null) ? -1 : node.rank;
+    }
+
+    //
+    // ENTRIES
+    //
+
+    /**
+     * Entry: a key-value pair, which is also the half-tree node holding it.
+     *
+     * @param <K> The key type.
+     * @param <V> The value type.
+     */
+    public static final class Entry<K, V> implements MergeableHeap.Entry<K, V> {
+        /**
+         * Instantiates a new entry.
+         * Marked private so only the heap itself can create new entry instances.
+         *
+         * @param key The entry's key.
+         * @param value The entry's value.
+         */
+        private Entry(K key, V value) {
+            this.key = key;
+            this.value = value;
+            this.inHeap = true;
+        }
+
+        /**
+         * Returns whether the entry still exists in the heap.
+         *
+         * @return true if entry has not been deleted from the heap.
+         */
+        public boolean inHeap() {
+            return inHeap;
+        }
+
+        /**
+         * Returns key for this entry.
+         *
+         * @return Key for this entry.
+         */
+        public K getKey() {
+            return key;
+        }
+
+        /**
+         * Returns value of this entry.
+         *
+         * @return Value of this entry.
+         */
+        public V getValue() {
+            return value;
+        }
+
+        private K key;
+        private final V value;
+        private boolean inHeap;
+
+        private Entry<K, V> left; // First child in the multiway view.
+        private Entry<K, V> right; // Next sibling, or next root for roots.
+        private Entry<K, V> parent; // Binary-tree parent; null for roots.
+        private int rank;
+    }
+}
@@ -0,0 +1,154 @@
+package heap;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.Collector;
+
+/**
+ * Keeps the k greatest elements seen so far of a stream of any length, in O(k) memory. Pass a
+ * reversed Comparator to keep the k least instead.
+ * <p>
+ * The kept elements sit in a 4-ary DaryHeap ordered by the Comparator, so its minimum is the
+ * weakest kept element: once k elements are kept, a new one must beat it to get in, and then
+ * evicts it in a single replaceMin. DaryHeap is used for its Comparator and its single-sift
+ * replaceMin, not for raw speed: most elements of a long stream are turned away by one comparison
+ * with a cached copy of the minimum, so the heap only matters for the few evictions.
+ * <p>
+ * An element equal to the weakest kept one is turned away. When several kept elements tie for
+ * weakest, which of them is evicted first is unspecified, so among equal elements it is not
+ * necessarily the earliest that are kept. collector() wraps a TopK as a java.util.stream Collector.
+ *
+ * @param <T> The element type.
+ */
+public final class TopK <T> {
+
+    //
+    // PROPERTIES
+    //
+
+    private final int k;
+    private final Comparator<? super T> comparator;
+    private final DaryHeap<T, Void> kept; // Weakest kept element on top, evicted next.
+    private T weakest; // The top of kept once k elements are kept, so turning one away reads no heap.
+
+    //
+    // METHODS
+    //
+
+    /**
+     * Instantiate an empty top-k collector.
+     *
+     * @param k Number of elements to keep.
+     * @param comparator Ordering of the elements; the greatest are kept.
+     * @throws IllegalArgumentException If k is negative or comparator is null.
+     */
+    public TopK(int k, Comparator<? super T> comparator) {
+        if (k < 0) throw new IllegalArgumentException("k is negative");
+        if (comparator == null) throw new IllegalArgumentException("comparator is null");
+        this.k = k;
+        this.comparator = comparator;
+        kept = new DaryHeap<>(4, k, comparator);
+    }
+
+    /**
+     * Returns a Collector that gathers the k greatest elements of a stream, greatest first. It
+     * works on parallel streams, each part keeping its own k before they are combined.
+     *
+     * @param k Number of elements to keep.
+     * @param comparator Ordering of the elements; the greatest are kept.
+     * @param <T> The element type.
+     * @return A Collector whose result is a list of at most k elements.
+     * @throws IllegalArgumentException If k is negative or comparator is null.
+     */
+    public static <T> Collector<T, ?, List<T>> collector(int k, Comparator<? super T> comparator) {
+        if (k < 0) throw new IllegalArgumentException("k is negative");
+        if (comparator == null) throw new IllegalArgumentException("comparator is null");
+        return Collector.of(() -> new TopK<T>(k, comparator), TopK::offer, TopK::combine, TopK::toList);
+    }
+
+    /**
+     * Offers element, keeping it if fewer than k elements are kept or if it is greater than the
+     * weakest kept element, which it then evicts.
+     * <p>
+     * Runs in worst-case O(1) time if element is turned away, and otherwise in O(log k) time.
+     *
+     * @param element The element to offer.
+     * @return true if element is now kept.
+     */
+    public boolean offer(T element) {
+        if (kept.size() < k)
+        {
+            kept.insert(element, null);
+            if (kept.size() == k) weakest = kept.findMin().getKey();
+            return true;
+        }
+        if (k == 0 || comparator.compare(element, weakest) <= 0) return false;
+
+        kept.replaceMin(element, null);
+        weakest = kept.findMin().getKey();
+        return true;
+    }
+
+    /**
+     * Offers every element that other keeps, as a parallel stream's parts are combined. other is
+     * left as it was.
+     * <p>
+     * Runs in O(k log k) time.
+     *
+     * @param other Another TopK, of any k and ordering.
+     * @return This TopK.
+     */
+    public TopK<T> combine(TopK<T> other) {
+        for (T element : other.toList()) offer(element);
+        return this;
+    }
+
+    /**
+     * Returns the weakest kept element: the one the next accepted element evicts once k are kept.
+     * <p>
+     * Runs in worst-case O(1) time.
+     *
+     * @return The least kept element.
+     * @throws NoSuchElementException If no element is kept.
+     */
+    public T threshold() {
+        if (kept.isEmpty()) throw new NoSuchElementException("No element is kept");
+        return kept.findMin().getKey();
+    }
+
+    /**
+     * Returns the kept elements, greatest first. The elements stay kept.
+     * <p>
+     * Runs in O(k log k) time.
+     *
+     * @return A new list of the kept elements.
+     */
+    public List<T> toList() {
+        // Drain in increasing order from the back of the array, then put everything back
+        @SuppressWarnings("unchecked")
+        T[] elements = (T[]) new Object[kept.size()];
+        for (int i = elements.length - 1; i >= 0; i--) elements[i] = kept.deleteMin().getKey();
+        for (T element : elements) kept.insert(element, null);
+        return Arrays.asList(elements);
+    }
+
+    /**
+     * Returns the number of kept elements, at most k.
+     *
+     * @return The number of kept elements.
+     */
+    public int size() {
+        return kept.size();
+    }
+
+    /**
+     * Returns the greatest number of elements kept at once.
+     *
+     * @return k.
+     */
+    public int k() {
+        return k;
+    }
+}